@@ -0,0 +1,273 @@
+package com.intellilib.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load test for the headless API started with {@code ServerApp}.
+ * <p>
+ * Each virtual user sends one request at a time, picking a catalogue search, a book lookup or
+ * the dashboard at random. With a member id, members also check a random book out and return it
+ * again, and read their fine summary. Reports throughput and latency percentiles per endpoint;
+ * a refused checkout (409, no copy left) is counted as refused, not as an error.
+ * <p>
+ * Build with {@code mvn -Pjmh compile}, then run with
+ * {@code java -cp <app classpath> com.intellilib.benchmark.ApiLoadTest [baseUrl] [users] [seconds] [memberId]},
+ * defaults are http://127.0.0.1:8080, 64 users and 30 seconds. The API key is read from the
+ * INTELLILIB_API_KEY environment variable. Exits with status 1 if any request failed.
+ */
+public class ApiLoadTest {
+
+    private static final String API_KEY_HEADER = "X-Api-Key";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final String apiKey;
+    private final Long memberId;
+    private final HttpClient client;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+
+    private List<Long> bookIds;
+    private List<String> searchTerms;
+
+    private ApiLoadTest(String baseUrl, String apiKey, Long memberId, ExecutorService executor) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.apiKey = apiKey;
+        this.memberId = memberId;
+        this.client = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://127.0.0.1:8080";
+        int users = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        Long memberId = args.length > 3 ? Long.valueOf(args[3]) : null;
+
+        boolean passed;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            ApiLoadTest test = new ApiLoadTest(baseUrl, System.getenv("INTELLILIB_API_KEY"), memberId, executor);
+            test.loadCatalogue();
+            passed = test.run(executor, users, seconds);
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private void loadCatalogue() throws Exception {
+        HttpResponse<String> response = client.send(get("/api/books?size=200"), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Cannot list books: HTTP " + response.statusCode() + " " + response.body());
+        }
+
+        bookIds = new ArrayList<>();
+        searchTerms = new ArrayList<>();
+        for (JsonNode book : mapper.readTree(response.body())) {
+            bookIds.add(book.get("id").asLong());
+            String title = book.path("title").asText("");
+            if (title.length() >= 3) {
+                searchTerms.add(title.substring(0, 3));
+            }
+        }
+        if (bookIds.isEmpty()) {
+            throw new IllegalStateException("The catalogue is empty, seed some books first");
+        }
+        if (searchTerms.isEmpty()) {
+            searchTerms.add("a");
+        }
+        System.out.printf("Catalogue sample: %d books%n", bookIds.size());
+    }
+
+    private boolean run(ExecutorService executor, int users, int seconds) throws InterruptedException {
+        System.out.printf("Load: %d users for %ds against %s%s%n", users, seconds, baseUrl,
+                memberId != null ? ", checking out as member " + memberId : "");
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Thread> workers = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            workers.add(Thread.ofVirtual().start(() -> {
+                while (System.nanoTime() < deadline) {
+                    nextRequest();
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return report(seconds);
+    }
+
+    private void nextRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int roll = random.nextInt(memberId != null ? 100 : 80);
+        if (roll < 40) {
+            String term = searchTerms.get(random.nextInt(searchTerms.size()));
+            call("GET /api/books?q", get("/api/books?q=" + URLEncoder.encode(term, StandardCharsets.UTF_8)), 200);
+        } else if (roll < 60) {
+            call("GET /api/books/{id}", get("/api/books/" + randomBook()), 200);
+        } else if (roll < 80) {
+            call("GET /api/dashboard", get("/api/dashboard"), 200);
+        } else if (roll < 90) {
+            call("GET /api/members/{id}/fines", get("/api/members/" + memberId + "/fines"), 200);
+        } else {
+            borrowAndReturn();
+        }
+    }
+
+    private void borrowAndReturn() {
+        String body = "{\"bookId\":" + randomBook() + ",\"memberId\":" + memberId + "}";
+        HttpResponse<String> borrowed = call("POST /api/borrows", post("/api/borrows", body), 201);
+        if (borrowed == null || borrowed.statusCode() != 201) {
+            return;
+        }
+        try {
+            long borrowId = mapper.readTree(borrowed.body()).get("id").asLong();
+            call("POST /api/borrows/{id}/return", post("/api/borrows/" + borrowId + "/return", ""), 200);
+        } catch (Exception e) {
+            recorder("POST /api/borrows/{id}/return").error();
+        }
+    }
+
+    /**
+     * Send one request and record its latency; 409 is a refusal, anything else unexpected an error
+     */
+    private HttpResponse<String> call(String name, HttpRequest request, int expectedStatus) {
+        Recorder recorder = recorder(name);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            long elapsed = System.nanoTime() - start;
+            if (response.statusCode() == expectedStatus) {
+                recorder.success(elapsed);
+            } else if (response.statusCode() == 409) {
+                recorder.refused(elapsed);
+            } else {
+                recorder.error();
+            }
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            recorder.error();
+        } catch (Exception e) {
+            recorder.error();
+        }
+        return null;
+    }
+
+    private boolean report(int seconds) {
+        long errors = 0;
+        System.out.printf("%n%-32s %9s %8s %7s %9s %9s %9s %9s%n",
+                "endpoint", "ok", "refused", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms");
+        for (Map.Entry<String, Recorder> entry : new TreeMap<>(recorders).entrySet()) {
+            Recorder.Snapshot s = entry.getValue().snapshot();
+            errors += s.errors();
+            System.out.printf("%-32s %9d %8d %7d %9.1f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), s.ok(), s.refused(), s.errors(),
+                    (double) (s.ok() + s.refused()) / seconds,
+                    s.percentileMillis(50), s.percentileMillis(95), s.percentileMillis(99));
+        }
+
+        boolean passed = errors == 0;
+        System.out.printf("%n%s: %d failed requests%n", passed ? "PASSED" : "FAILED", errors);
+        return passed;
+    }
+
+    private long randomBook() {
+        return bookIds.get(ThreadLocalRandom.current().nextInt(bookIds.size()));
+    }
+
+    private Recorder recorder(String name) {
+        return recorders.computeIfAbsent(name, key -> new Recorder());
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (apiKey != null && !apiKey.isBlank()) {
+            builder.header(API_KEY_HEADER, apiKey);
+        }
+        return builder;
+    }
+
+    /**
+     * Latencies of answered requests for one endpoint, kept in full for exact percentiles
+     */
+    private static final class Recorder {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long ok;
+        private long refused;
+        private long errors;
+
+        synchronized void success(long nanos) {
+            add(nanos);
+            ok++;
+        }
+
+        synchronized void refused(long nanos) {
+            add(nanos);
+            refused++;
+        }
+
+        synchronized void error() {
+            errors++;
+        }
+
+        synchronized Snapshot snapshot() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Snapshot(ok, refused, errors, sorted);
+        }
+
+        private void add(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        record Snapshot(long ok, long refused, long errors, long[] sorted) {
+
+            double percentileMillis(int percentile) {
+                if (sorted.length == 0) {
+                    return 0;
+                }
+                int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+                return sorted[Math.max(index, 0)] / 1_000_000.0;
+            }
+        }
+    }
+}
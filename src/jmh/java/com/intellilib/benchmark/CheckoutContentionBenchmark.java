@@ -0,0 +1,241 @@
+package com.intellilib.benchmark;
+
+import com.intellilib.app.MainApp;
+import com.intellilib.models.Book;
+import com.intellilib.models.Member;
+import com.intellilib.repositories.BookRepository;
+import com.intellilib.repositories.BorrowRepository;
+import com.intellilib.repositories.MemberRepository;
+import com.intellilib.services.BorrowService;
+import com.intellilib.services.NoCopyAvailableException;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Checkout contention benchmark against a throw-away copy of the synthetic data fixture, so
+ * the conditional updates run against realistically sized tables.
+ * <p>
+ * Phase 1 releases all threads at once on a title with a few copies, round after round, and
+ * checks that each round has exactly as many winners as copies. Phase 2 has every thread borrow
+ * and return random titles for a fixed time and reports throughput. Both phases end with a
+ * consistency check: for every book, copies on the shelf plus open borrows equal the quantity,
+ * and the available flag is set exactly when a copy is on the shelf.
+ * <p>
+ * Lives with the JMH sources so it stays out of the application jar: build with
+ * {@code mvn -Pjmh compile}, then run with
+ * {@code java -cp <app classpath> com.intellilib.benchmark.CheckoutContentionBenchmark [threads] [seconds]},
+ * defaults are 32 threads and 20 seconds. Exits with status 1 if a check fails.
+ */
+public class CheckoutContentionBenchmark {
+
+    private static final int HOT_ROUNDS = 200;
+    private static final int HOT_COPIES = 3;
+    private static final int BOOKS = 64;
+    private static final int MEMBERS = 256;
+    private static final int FIXTURE_BOOKS = 10_000;
+
+    private final int threads;
+    private final BorrowService borrowService;
+    private final BookRepository bookRepository;
+    private final BorrowRepository borrowRepository;
+    private final MemberRepository memberRepository;
+
+    private CheckoutContentionBenchmark(int threads, ConfigurableApplicationContext context) {
+        this.threads = threads;
+        this.borrowService = context.getBean(BorrowService.class);
+        this.bookRepository = context.getBean(BookRepository.class);
+        this.borrowRepository = context.getBean(BorrowRepository.class);
+        this.memberRepository = context.getBean(MemberRepository.class);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        Path database = Files.createTempFile("intellilib-contention", ".db");
+        Files.copy(SyntheticDataGenerator.fixture(FIXTURE_BOOKS), database, StandardCopyOption.REPLACE_EXISTING);
+        boolean passed;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MainApp.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:sqlite:" + database + "?busy_timeout=30000",
+                        "spring.datasource.hikari.maximum-pool-size=" + threads,
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        // Only the beans used here, no schedulers or UI controllers
+                        "spring.main.lazy-initialization=true",
+                        "logging.level.root=WARN")
+                .run(args)) {
+            CheckoutContentionBenchmark benchmark = new CheckoutContentionBenchmark(threads, context);
+            passed = benchmark.runHotCopy() & benchmark.runThroughput(seconds);
+        } finally {
+            Files.deleteIfExists(database);
+        }
+
+        System.out.println(passed ? "PASSED" : "FAILED");
+        System.exit(passed ? 0 : 1);
+    }
+
+    /**
+     * All threads race for a few copies per round, exactly that many may win
+     */
+    private boolean runHotCopy() throws InterruptedException {
+        List<Member> members = seedMembers("hot");
+        List<Book> books = seedBooks("hot", HOT_ROUNDS, HOT_COPIES);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        int badRounds = 0;
+        long errors = 0;
+        long start = System.nanoTime();
+        try {
+            for (Book book : books) {
+                CountDownLatch go = new CountDownLatch(1);
+                CountDownLatch done = new CountDownLatch(threads);
+                AtomicInteger winners = new AtomicInteger();
+                LongAdder roundErrors = new LongAdder();
+
+                for (int t = 0; t < threads; t++) {
+                    Member member = members.get(t % members.size());
+                    pool.execute(() -> {
+                        try {
+                            go.await();
+                            borrowService.borrowBook(book.getId(), member.getId(), LocalDate.now().plusDays(14));
+                            winners.incrementAndGet();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } catch (NoCopyAvailableException e) {
+                            // Lost the race, expected
+                        } catch (RuntimeException e) {
+                            roundErrors.increment();
+                        } finally {
+                            done.countDown();
+                        }
+                    });
+                }
+                go.countDown();
+                done.await();
+
+                if (winners.get() != Math.min(HOT_COPIES, threads)) {
+                    badRounds++;
+                }
+                errors += roundErrors.sum();
+            }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        boolean consistent = checkConsistency();
+        System.out.printf("Hot title: %d threads x %d rounds on %d copies in %.0f ms, rounds with the wrong number of winners: %d, errors: %d%n",
+                threads, HOT_ROUNDS, HOT_COPIES, elapsedMs, badRounds, errors);
+        return badRounds == 0 && errors == 0 && consistent;
+    }
+
+    /**
+     * Borrow and immediately return random copies for a fixed time
+     */
+    private boolean runThroughput(int seconds) throws InterruptedException {
+        List<Member> members = seedMembers("load");
+        List<Book> books = seedBooks("load", BOOKS, 1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        LongAdder checkouts = new LongAdder();
+        LongAdder returns = new LongAdder();
+        LongAdder conflicts = new LongAdder();
+        LongAdder errors = new LongAdder();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long start = System.nanoTime();
+
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    Book book = books.get(random.nextInt(books.size()));
+                    Member member = members.get(random.nextInt(members.size()));
+                    try {
+                        Long borrowId = borrowService.borrowBook(book.getId(), member.getId(),
+                                LocalDate.now().plusDays(14)).getId();
+                        checkouts.increment();
+                        if (borrowService.returnBook(borrowId)) {
+                            returns.increment();
+                        } else {
+                            errors.increment();
+                        }
+                    } catch (NoCopyAvailableException e) {
+                        conflicts.increment();
+                    } catch (RuntimeException e) {
+                        errors.increment();
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        boolean consistent = checkConsistency();
+        System.out.printf("Throughput: %d threads on %d books for %.1f s, %d checkouts (%.0f/s), %d returns, %d conflicts, %d errors%n",
+                threads, BOOKS, elapsedSeconds, checkouts.sum(), checkouts.sum() / elapsedSeconds,
+                returns.sum(), conflicts.sum(), errors.sum());
+        return errors.sum() == 0 && checkouts.sum() == returns.sum() && consistent;
+    }
+
+    private boolean checkConsistency() {
+        Map<Long, Long> openBorrows = borrowRepository.findByReturnedFalse().stream()
+                .collect(Collectors.groupingBy(borrow -> borrow.getBook().getId(), Collectors.counting()));
+        Map<Long, Book> books = bookRepository.findAll().stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        long miscounted = books.values().stream()
+                .filter(book -> book.getAvailableCount() < 0 || book.getAvailableCount()
+                        + openBorrows.getOrDefault(book.getId(), 0L) != book.getQuantity())
+                .count();
+        long mismatched = books.values().stream()
+                .filter(book -> book.isAvailable() != book.getAvailableCount() > 0)
+                .count();
+
+        if (miscounted > 0 || mismatched > 0) {
+            System.out.printf("Inconsistent state: %d books with a wrong copy count, %d books with a wrong availability flag%n",
+                    miscounted, mismatched);
+            return false;
+        }
+        return true;
+    }
+
+    private List<Book> seedBooks(String prefix, int count, int copies) {
+        List<Book> books = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Book book = new Book(prefix + " title " + i, "Benchmark", prefix + "-" + i);
+            book.setQuantity(copies);
+            book.setAvailableCount(copies);
+            books.add(book);
+        }
+        return bookRepository.saveAll(books);
+    }
+
+    private List<Member> seedMembers(String prefix) {
+        List<Member> members = new ArrayList<>(MEMBERS);
+        for (int i = 0; i < MEMBERS; i++) {
+            members.add(new Member(prefix + " member " + i, prefix + i + "@bench.local", null));
+        }
+        return memberRepository.saveAll(members);
+    }
+}
@@ -0,0 +1,151 @@
+package com.intellilib.benchmark;
+
+import com.intellilib.app.MainApp;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cold start comparison of the repackaged jar with the launcher built by the cds profile.
+ * <p>
+ * Every variant is started as a fresh JVM that exits on its own once startup is done: with
+ * mode "context" (default) when the Spring context is up, which needs no display, or with mode
+ * "login" when the login screen is shown. The wall time from process start to exit is
+ * measured; variants are interleaved round by round so disk cache and CPU frequency drift hit
+ * them alike, and one warm-up round is discarded.
+ * <p>
+ * Build with {@code mvn -Pcds verify}, compile the harness with {@code mvn -Pjmh compile}
+ * (it lives with the JMH sources so it stays out of the jars it measures), then run with
+ * {@code java -cp target/classes com.intellilib.benchmark.StartupBenchmark [runs] [mode] [targetDir]},
+ * defaults are 10 runs, context and ./target.
+ */
+public class StartupBenchmark {
+
+    private static final long RUN_TIMEOUT_SECONDS = 120;
+
+    private final Path targetDir;
+    private final String mode;
+    private final String datasource;
+
+    private StartupBenchmark(Path targetDir, String mode) {
+        this.targetDir = targetDir.toAbsolutePath();
+        this.mode = mode;
+        this.datasource = "--spring.datasource.url=jdbc:sqlite:" + this.targetDir.resolve("startup-benchmark.db");
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        String mode = args.length > 1 ? args[1] : "context";
+        Path targetDir = Path.of(args.length > 2 ? args[2] : "target");
+
+        new StartupBenchmark(targetDir, mode).run(runs);
+    }
+
+    private void run(int runs) throws Exception {
+        Map<String, Variant> variants = variants();
+        Map<String, long[]> results = new LinkedHashMap<>();
+        variants.keySet().forEach(name -> results.put(name, new long[runs]));
+
+        System.out.printf("Startup until %s, %d runs per variant%n", mode, runs);
+        for (int round = -1; round < runs; round++) {
+            for (Map.Entry<String, Variant> entry : variants.entrySet()) {
+                long millis = entry.getValue().start();
+                if (round >= 0) {
+                    results.get(entry.getKey())[round] = millis;
+                }
+            }
+        }
+        report(results);
+    }
+
+    private Map<String, Variant> variants() throws IOException {
+        String version = readVersion();
+        Path fatJar = targetDir.resolve("intellilib-" + version + ".jar");
+        Path appDir = targetDir.resolve("app");
+        String launcherJar = "intellilib-" + version + "-launcher.jar";
+        String archive = "intellilib.jsa";
+
+        require(fatJar);
+        require(appDir.resolve(launcherJar));
+        require(appDir.resolve(archive));
+
+        String exit = "-D" + MainApp.EXIT_PROPERTY + "=" + mode;
+        Map<String, Variant> variants = new LinkedHashMap<>();
+        variants.put("repackaged jar", new Variant(targetDir, List.of(exit, "-jar", fatJar.toString(), datasource)));
+        variants.put("launcher", new Variant(appDir, List.of(exit, "-jar", launcherJar, datasource)));
+        variants.put("launcher + AOT", new Variant(appDir,
+                List.of("-Dspring.aot.enabled=true", exit, "-jar", launcherJar, datasource)));
+        variants.put("launcher + AOT + CDS", new Variant(appDir,
+                List.of("-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true", exit, "-jar", launcherJar, datasource)));
+        return variants;
+    }
+
+    // The launcher jar name carries the version; the repackaged jar sits next to it
+    private String readVersion() throws IOException {
+        try (Stream<Path> files = Files.list(targetDir.resolve("app"))) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith("intellilib-") && name.endsWith("-launcher.jar"))
+                    .map(name -> name.substring("intellilib-".length(), name.length() - "-launcher.jar".length()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No launcher jar in " + targetDir.resolve("app")
+                            + ", build with mvn -Pcds verify"));
+        }
+    }
+
+    private static void require(Path path) {
+        if (!Files.exists(path)) {
+            throw new IllegalStateException(path + " not found, build with mvn -Pcds verify");
+        }
+    }
+
+    private static void report(Map<String, long[]> results) {
+        long baseline = 0;
+        System.out.printf("%n%-24s %9s %9s %9s %9s%n", "variant", "min ms", "median ms", "mean ms", "speedup");
+        for (Map.Entry<String, long[]> entry : results.entrySet()) {
+            long[] sorted = entry.getValue().clone();
+            Arrays.sort(sorted);
+            long median = sorted[sorted.length / 2];
+            if (baseline == 0) {
+                baseline = median;
+            }
+            System.out.printf("%-24s %9d %9d %9.0f %8.2fx%n", entry.getKey(), sorted[0], median,
+                    Arrays.stream(sorted).average().orElse(0), (double) baseline / median);
+        }
+    }
+
+    private record Variant(Path workingDirectory, List<String> jvmArguments) {
+
+        /**
+         * Start the JVM and wait for it to exit on its own; returns the wall time in milliseconds
+         */
+        long start() throws IOException, InterruptedException {
+            List<String> command = new ArrayList<>();
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(jvmArguments);
+
+            long begin = System.nanoTime();
+            Process process = new ProcessBuilder(command)
+                    .directory(workingDirectory.toFile())
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            if (!process.waitFor(RUN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IllegalStateException("Startup did not finish within " + RUN_TIMEOUT_SECONDS + "s: " + command);
+            }
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+            if (process.exitValue() != 0) {
+                throw new IllegalStateException("Exit status " + process.exitValue() + ": " + command);
+            }
+            return millis;
+        }
+    }
+}
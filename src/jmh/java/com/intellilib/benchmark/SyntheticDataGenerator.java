@@ -0,0 +1,648 @@
+package com.intellilib.benchmark;
+
+import com.intellilib.app.MainApp;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Deterministic synthetic library data for load and scale tests: categories, members, staff and
+ * member accounts, books, a year of borrows with their fines and fine transactions, and the
+ * activity log. The same seed, volumes and generation day always give the same database.
+ * <p>
+ * Borrows follow a Zipfian book popularity and a skewed member activity. Most loans come back
+ * on time, a quarter come back late with a geometric delay, a few are never returned; late
+ * fines are mostly paid, sometimes waived, and members owing too long are banned. Copy counts,
+ * member fine totals and the available flags are consistent with the generated borrows.
+ * <p>
+ * Rows are generated in parallel in fixed-size chunks, each chunk with its own random stream
+ * derived from the seed and its position, so the output does not depend on the core count.
+ * They are written in order through one connection as batched JDBC inserts: SQLite has a
+ * single writer, so more connections would only queue on its lock.
+ * <p>
+ * Build with {@code mvn -Pjmh compile}, then run with
+ * {@code java -cp <app classpath> com.intellilib.benchmark.SyntheticDataGenerator <new database file> [books] [seed]},
+ * defaults are 100000 books and seed 42. Every account's password is {@value #PASSWORD}.
+ */
+public class SyntheticDataGenerator {
+
+    public static final long DEFAULT_SEED = 42L;
+    public static final String PASSWORD = "password";
+    public static final String ADMIN_USERNAME = "staff1";
+
+    public static final List<String> TITLE_WORDS = List.of(
+            "silent", "river", "empire", "garden", "shadow", "winter", "secret", "journey",
+            "ocean", "mountain", "history", "machine", "letters", "night", "island", "kingdom",
+            "science", "stone", "memory", "city", "forest", "light", "war", "dream",
+            "modern", "ancient", "house", "storm", "algorithm", "theory", "art", "voyage");
+
+    public static final List<String> SURNAMES = List.of(
+            "Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard", "Petit", "Durand",
+            "Leroy", "Moreau", "Simon", "Laurent", "Lefebvre", "Michel", "Garcia", "David",
+            "Bertrand", "Roux", "Vincent", "Fournier", "Morel", "Girard", "Andre", "Mercier");
+
+    private static final List<String> FIRST_NAMES = List.of(
+            "Camille", "Louis", "Lea", "Hugo", "Chloe", "Lucas", "Manon", "Jules", "Ines", "Adam",
+            "Sarah", "Nathan", "Emma", "Yanis", "Amina", "Leo", "Zoe", "Karim", "Alice", "Omar");
+
+    private static final List<String> CATEGORIES = List.of(
+            "Fiction", "Science Fiction", "Fantasy", "Mystery", "Thriller", "Romance", "History",
+            "Biography", "Science", "Mathematics", "Computer Science", "Philosophy", "Poetry",
+            "Art", "Travel", "Cooking", "Children", "Young Adult", "Economics", "Law");
+
+    private static final List<String> PUBLISHERS = List.of(
+            "Gallimard", "Hachette", "Flammarion", "Seuil", "Albin Michel", "Dunod", "Penguin", "O'Reilly");
+
+    // Activity mix, weights in per mille
+    private static final String[] ACTIONS = {
+            "LOGIN", "LOGOUT", "BOOK_BORROWED", "BOOK_RETURNED", "BOOK_ADDED", "BOOK_UPDATED",
+            "MEMBER_ADDED", "FINE_PAID", "FINE_WAIVED", "SETTINGS_UPDATED"};
+    private static final int[] ACTION_WEIGHTS = {250, 200, 200, 180, 50, 50, 30, 30, 5, 5};
+
+    private static final String[] PAYMENT_METHODS = {"CASH", "CREDIT_CARD", "DEBIT_CARD", "ONLINE", "BANK_TRANSFER"};
+    private static final int[] PAYMENT_WEIGHTS = {400, 250, 200, 100, 50};
+
+    private static final int CHUNK = 10_000;
+    private static final int HISTORY_DAYS = 365;
+    private static final int LOAN_DAYS = 14;
+    private static final double FINE_PER_DAY = 2.0;
+    private static final int MAX_OVERDUE_DAYS = 30;
+    private static final double CREDIT_LIMIT = 50.0;
+    private static final double BOOK_POPULARITY_EXPONENT = 1.0;
+    private static final double MEMBER_ACTIVITY_EXPONENT = 0.6;
+    private static final DateTimeFormatter RECEIPT_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    /**
+     * Row counts; the borrow table also gets one fine transaction per settled late return
+     */
+    public record Volumes(int books, int members, int staff, int borrows, int activities) {
+
+        /**
+         * The standard fixture shape: as many borrows and activity records as books,
+         * one member per ten books
+         */
+        public static Volumes forBooks(int books) {
+            return new Volumes(books, Math.max(100, books / 10), 50, books, books);
+        }
+    }
+
+    private final long seed;
+    private final Volumes volumes;
+    private final LocalDate today;
+    private final ZipfSampler books;
+    private final ZipfSampler members;
+    private final ZipfSampler staff;
+
+    // Totals derived from the borrows, applied to books and members once they are written
+    private final int[] openByBook;
+    private final double[] pendingByMember;
+    private final double[] paidByMember;
+    private final int[] overdueByMember;
+    private final int[] worstOverdueByMember;
+
+    private int memberAccounts;
+    private int fineTransactions;
+
+    public SyntheticDataGenerator(long seed, Volumes volumes, LocalDate today) {
+        this.seed = seed;
+        this.volumes = volumes;
+        this.today = today;
+        this.books = new ZipfSampler(volumes.books(), BOOK_POPULARITY_EXPONENT, seed);
+        this.members = new ZipfSampler(volumes.members(), MEMBER_ACTIVITY_EXPONENT, seed + 1);
+        this.staff = new ZipfSampler(volumes.staff(), 1.0, seed + 2);
+        this.openByBook = new int[volumes.books() + 1];
+        this.pendingByMember = new double[volumes.members() + 1];
+        this.paidByMember = new double[volumes.members() + 1];
+        this.overdueByMember = new int[volumes.members() + 1];
+        this.worstOverdueByMember = new int[volumes.members() + 1];
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: SyntheticDataGenerator <new database file> [books] [seed]");
+            System.exit(2);
+        }
+        Path database = Path.of(args[0]);
+        int bookCount = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        if (Files.exists(database)) {
+            System.err.println(database + " already exists, the generator only writes new databases");
+            System.exit(2);
+        }
+
+        Volumes volumes = Volumes.forBooks(bookCount);
+        long start = System.nanoTime();
+        createSchema(database);
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database)) {
+            new SyntheticDataGenerator(seed, volumes, LocalDate.now()).generate(connection);
+        }
+        System.out.printf("Generated %s into %s in %.1fs%n", volumes, database, (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * The shared test fixture for {@code books}: generated with the default seed on first use
+     * and kept under target/fixtures (or -Dintellilib.fixtures=...). Dates are relative to the
+     * generation day, which is part of the file name. Callers work on a copy.
+     */
+    public static synchronized Path fixture(int books) throws Exception {
+        Path directory = Path.of(System.getProperty("intellilib.fixtures", "target/fixtures"));
+        LocalDate today = LocalDate.now();
+        Path fixture = directory.resolve(String.format("intellilib-%d-%d-%s.db",
+                books, DEFAULT_SEED, today.format(RECEIPT_DATE)));
+        if (Files.exists(fixture)) {
+            return fixture;
+        }
+
+        Files.createDirectories(directory);
+        Path building = Files.createTempFile(directory, "building-", ".db");
+        long start = System.nanoTime();
+        createSchema(building);
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + building)) {
+            new SyntheticDataGenerator(DEFAULT_SEED, Volumes.forBooks(books), today).generate(connection);
+        }
+        Files.move(building, fixture, StandardCopyOption.ATOMIC_MOVE);
+        System.out.printf("# Generated fixture %s in %.1fs%n", fixture.getFileName(), (System.nanoTime() - start) / 1e9);
+        return fixture;
+    }
+
+    /**
+     * The application's own schema, as Hibernate creates it
+     */
+    public static void createSchema(Path database) {
+        try (ConfigurableApplicationContext ignored = new SpringApplicationBuilder(MainApp.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:sqlite:" + database,
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.main.lazy-initialization=true",
+                        "logging.level.root=WARN")
+                .run()) {
+            // Schema only
+        }
+    }
+
+    /**
+     * Write the whole data set into an empty schema, in one transaction
+     */
+    public void generate(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet existing = statement.executeQuery("SELECT COUNT(*) FROM books")) {
+            if (existing.next() && existing.getLong(1) > 0) {
+                throw new IllegalStateException("The database already has books, refusing to generate into it");
+            }
+            // Only ever run on a file that is thrown away if this fails
+            statement.execute("PRAGMA journal_mode=OFF");
+            statement.execute("PRAGMA synchronous=OFF");
+        }
+        connection.setAutoCommit(false);
+
+        insertCategories(connection);
+        insertMembers(connection);
+        insertUsers(connection);
+        insertBooks(connection);
+        insertBorrows(connection);
+        applyBookTotals(connection);
+        applyMemberTotals(connection);
+        insertActivities(connection);
+        connection.commit();
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+
+    private void insertCategories(Connection connection) throws SQLException {
+        try (Batch batch = new Batch(connection, "INSERT INTO categories (id, name, description) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < CATEGORIES.size(); i++) {
+                batch.add(i + 1, CATEGORIES.get(i), CATEGORIES.get(i) + " titles");
+            }
+        }
+    }
+
+    private void insertMembers(Connection connection) throws SQLException {
+        try (Batch batch = new Batch(connection,
+                "INSERT INTO members (id, full_name, email, phone, membership_date, membership_expiry, active, " +
+                "total_fines_paid, current_fines_due, overdue_books_count, is_banned, total_ban_count, warning_count, " +
+                "max_allowed_overdue_days, credit_limit) VALUES (?, ?, ?, ?, ?, ?, ?, 0, 0, 0, 0, 0, 0, ?, ?)")) {
+            generate(volumes.members(), 1, (index, random) -> {
+                int id = index + 1;
+                String first = pick(FIRST_NAMES, random);
+                String last = pick(SURNAMES, random);
+                LocalDate joined = today.minusDays(random.nextInt(HISTORY_DAYS * 4));
+                return new Object[]{id, first + " " + last,
+                        (first + "." + last + "." + id + "@example.org").toLowerCase(),
+                        String.format("06%08d", id), Date.valueOf(joined),
+                        Date.valueOf(today.plusDays(1 + random.nextInt(HISTORY_DAYS))),
+                        random.nextInt(100) < 95, MAX_OVERDUE_DAYS, CREDIT_LIMIT};
+            }, batch::add);
+        }
+    }
+
+    /**
+     * Staff accounts first, then an account for roughly a third of the members
+     */
+    private void insertUsers(Connection connection) throws SQLException {
+        String hash = passwordHash();
+        Timestamp created = Timestamp.valueOf(today.minusDays(HISTORY_DAYS).atTime(9, 0));
+        try (Batch batch = new Batch(connection,
+                "INSERT INTO users (id, username, password, email, role, active, created_at, member_id) " +
+                "VALUES (?, ?, ?, ?, ?, 1, ?, ?)")) {
+            int id = 0;
+            for (int i = 1; i <= volumes.staff(); i++) {
+                batch.add(++id, "staff" + i, hash, "staff" + i + "@library.example.org",
+                        i == 1 ? "ADMIN" : "LIBRARIAN", created, null);
+            }
+            for (int member = 3; member <= volumes.members(); member += 3) {
+                batch.add(++id, "member" + member, hash, "member" + member + "@example.org", "MEMBER", created, member);
+                memberAccounts++;
+            }
+        }
+    }
+
+    private void insertBooks(Connection connection) throws SQLException {
+        try (Batch batch = new Batch(connection,
+                "INSERT INTO books (id, title, author, isbn, publication_year, publisher, quantity, available_count, " +
+                "category_id, available, added_date, file_type) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 1, ?, 'pdf')")) {
+            generate(volumes.books(), 2, (index, random) -> {
+                int id = index + 1;
+                // Libraries buy more copies of the titles people actually borrow
+                double rank = (double) books.rankOf(id) / volumes.books();
+                int quantity = rank < 0.01 ? 3 + random.nextInt(4) : rank < 0.1 ? 2 + random.nextInt(2) : 1 + random.nextInt(2);
+                int words = 2 + random.nextInt(3);
+                StringBuilder title = new StringBuilder(capitalize(pick(TITLE_WORDS, random)));
+                for (int w = 1; w < words; w++) {
+                    title.append(' ').append(pick(TITLE_WORDS, random));
+                }
+                int year = Math.max(1900, today.getYear() - geometric(random, 15));
+                return new Object[]{id, title.toString(), pick(FIRST_NAMES, random) + " " + pick(SURNAMES, random),
+                        String.format("978%010d", id), year, pick(PUBLISHERS, random), quantity, quantity,
+                        1 + random.nextInt(CATEGORIES.size()), Date.valueOf(today.minusDays(random.nextInt(HISTORY_DAYS * 10)))};
+            }, batch::add);
+        }
+    }
+
+    private void insertBorrows(Connection connection) throws SQLException {
+        try (Batch borrows = new Batch(connection,
+                "INSERT INTO borrows (id, book_id, member_id, borrow_date, due_date, return_date, returned, fine_amount, " +
+                "fine_per_day, days_overdue, fine_updated_date, max_overdue_days, fine_status, last_fine_calculation_date, " +
+                "is_fine_exempt, fine_exemption_reason) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             Batch payments = new Batch(connection,
+                "INSERT INTO fine_transactions (id, member_id, borrow_id, amount, payment_method, transaction_date, " +
+                "payment_reference, status, notes, processed_by, receipt_number) VALUES (?, ?, ?, ?, ?, ?, ?, 'COMPLETED', ?, ?, ?)")) {
+            generate(volumes.borrows(), 3, this::borrow, loan -> {
+                borrows.add(loan.id(), loan.bookId(), loan.memberId(), Date.valueOf(loan.borrowDate()),
+                        Date.valueOf(loan.dueDate()), date(loan.returnDate()), loan.returnDate() != null,
+                        loan.fine(), FINE_PER_DAY, loan.daysOverdue(), date(loan.fineDate()), MAX_OVERDUE_DAYS,
+                        loan.fineStatus(), date(loan.fineDate()), loan.exempt(), loan.exempt() ? "Staff loan" : null);
+                if (loan.settledAt() != null) {
+                    writePayment(payments, loan);
+                }
+                countTotals(loan);
+            });
+        }
+    }
+
+    private Loan borrow(int index, SplittableRandom random) {
+        int id = index + 1;
+        int bookId = books.sample(random);
+        int memberId = members.sample(random);
+        LocalDate borrowed = today.minusDays(random.nextInt(HISTORY_DAYS));
+        LocalDate due = borrowed.plusDays(LOAN_DAYS);
+
+        if (random.nextInt(200) == 0) {
+            return new Loan(id, bookId, memberId, borrowed, due, returnOrOpen(borrowed, 1 + random.nextInt(LOAN_DAYS)),
+                    0, 0.0, "NONE", null, null, null, 0, true);
+        }
+
+        // Three loans in four come back within the loan period, one in a hundred never does
+        int late = random.nextInt(4) == 0 ? geometric(random, 7) : 0;
+        boolean lost = random.nextInt(100) == 0;
+        LocalDate returned = lost ? null : returnOrOpen(borrowed, late > 0 ? LOAN_DAYS + late : 1 + random.nextInt(LOAN_DAYS));
+
+        if (returned == null) {
+            int overdue = (int) Math.max(0, ChronoUnit.DAYS.between(due, today));
+            return overdue == 0
+                    ? new Loan(id, bookId, memberId, borrowed, due, null, 0, 0.0, "NONE", null, null, null, 0, false)
+                    : new Loan(id, bookId, memberId, borrowed, due, null, overdue, overdue * FINE_PER_DAY,
+                            "PENDING", today, null, null, 0, false);
+        }
+        if (late == 0) {
+            return new Loan(id, bookId, memberId, borrowed, due, returned, 0, 0.0, "NONE", null, null, null, 0, false);
+        }
+
+        // Late returns: most fines are paid within a couple of weeks, some waived, the rest owed
+        int outcome = random.nextInt(100);
+        String status = outcome < 65 ? "PAID" : outcome < 70 ? "WAIVED" : "PENDING";
+        LocalDate settled = null;
+        if (!"PENDING".equals(status)) {
+            settled = returned.plusDays(random.nextInt(15));
+            if (settled.isAfter(today)) {
+                settled = today;
+            }
+        }
+        return new Loan(id, bookId, memberId, borrowed, due, returned, late, late * FINE_PER_DAY, status, returned,
+                settled, "PAID".equals(status) ? weighted(PAYMENT_METHODS, PAYMENT_WEIGHTS, random) : "WAIVED",
+                staff.sample(random), false);
+    }
+
+    // The return date, or null when it is still in the future
+    private LocalDate returnOrOpen(LocalDate borrowed, int days) {
+        LocalDate returned = borrowed.plusDays(days);
+        return returned.isAfter(today) ? null : returned;
+    }
+
+    private void writePayment(Batch payments, Loan loan) throws SQLException {
+        int id = ++fineTransactions;
+        boolean waived = "WAIVED".equals(loan.fineStatus());
+        payments.add(id, loan.memberId(), loan.id(), loan.fine(), loan.paymentMethod(),
+                Timestamp.valueOf(loan.settledAt().atTime(10 + (id % 8), (id * 7) % 60)),
+                waived ? null : "REF-" + id, waived ? "Waived at the desk" : null, loan.processedBy(),
+                "FINE-" + loan.settledAt().format(RECEIPT_DATE) + "-" + String.format("%06d", id));
+    }
+
+    private void countTotals(Loan loan) {
+        if (loan.returnDate() == null) {
+            openByBook[loan.bookId()]++;
+            if (loan.daysOverdue() > 0) {
+                overdueByMember[loan.memberId()]++;
+                worstOverdueByMember[loan.memberId()] = Math.max(worstOverdueByMember[loan.memberId()], loan.daysOverdue());
+            }
+        }
+        if ("PENDING".equals(loan.fineStatus())) {
+            pendingByMember[loan.memberId()] += loan.fine();
+        } else if ("PAID".equals(loan.fineStatus())) {
+            paidByMember[loan.memberId()] += loan.fine();
+        }
+    }
+
+    /**
+     * Copies out on open loans leave the shelf; a title lent out more often than it has copies
+     * gets the extra copies, as the library would have had them
+     */
+    private void applyBookTotals(Connection connection) throws SQLException {
+        try (Batch batch = new Batch(connection,
+                "UPDATE books SET quantity = MAX(quantity, ?), available_count = MAX(quantity, ?) - ?, " +
+                "available = MAX(quantity, ?) > ? WHERE id = ?")) {
+            for (int bookId = 1; bookId <= volumes.books(); bookId++) {
+                int open = openByBook[bookId];
+                if (open > 0) {
+                    batch.add(open, open, open, open, open, bookId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fine totals and overdue counts per member; owing a book for longer than the limit
+     * earns a ban, as the nightly ban job would have given
+     */
+    private void applyMemberTotals(Connection connection) throws SQLException {
+        try (Batch batch = new Batch(connection,
+                "UPDATE members SET current_fines_due = ?, total_fines_paid = ?, overdue_books_count = ?, " +
+                "is_banned = ?, ban_reason = ?, ban_start_date = ?, ban_end_date = ?, total_ban_count = ? WHERE id = ?")) {
+            for (int memberId = 1; memberId <= volumes.members(); memberId++) {
+                if (pendingByMember[memberId] == 0 && paidByMember[memberId] == 0 && overdueByMember[memberId] == 0) {
+                    continue;
+                }
+                boolean banned = worstOverdueByMember[memberId] > MAX_OVERDUE_DAYS;
+                LocalDate banStart = banned
+                        ? today.minusDays(Math.min(worstOverdueByMember[memberId] - MAX_OVERDUE_DAYS, MAX_OVERDUE_DAYS - 1))
+                        : null;
+                batch.add(pendingByMember[memberId], paidByMember[memberId], overdueByMember[memberId], banned,
+                        banned ? "Excessive overdue: " + worstOverdueByMember[memberId] + " days" : null,
+                        date(banStart), banned ? Date.valueOf(banStart.plusDays(30)) : null, banned ? 1 : 0, memberId);
+            }
+        }
+    }
+
+    private void insertActivities(Connection connection) throws SQLException {
+        try (Batch batch = new Batch(connection,
+                "INSERT INTO activities (id, user_id, action, description, created_at, ip_address) VALUES (?, ?, ?, ?, ?, ?)")) {
+            generate(volumes.activities(), 4, (index, random) -> {
+                // Staff do most of the work, members mostly log in and out
+                int userId = memberAccounts > 0 && random.nextInt(5) == 0
+                        ? volumes.staff() + 1 + random.nextInt(memberAccounts)
+                        : staff.sample(random);
+                String action = userId > volumes.staff() && random.nextBoolean()
+                        ? (random.nextBoolean() ? "LOGIN" : "LOGOUT")
+                        : weighted(ACTIONS, ACTION_WEIGHTS, random);
+                LocalDateTime at = today.minusDays(random.nextInt(HISTORY_DAYS))
+                        .atTime(9 + random.nextInt(10), random.nextInt(60), random.nextInt(60));
+                return new Object[]{index + 1, userId, action, describe(action, random),
+                        Timestamp.valueOf(at).getTime(), "192.168.1." + (1 + random.nextInt(254))};
+            }, batch::add);
+        }
+    }
+
+    private String describe(String action, SplittableRandom random) {
+        return switch (action) {
+            case "BOOK_BORROWED", "BOOK_RETURNED" -> String.format("%s book #%d for member #%d",
+                    action.equals("BOOK_BORROWED") ? "Borrowed" : "Returned", books.sample(random), members.sample(random));
+            case "BOOK_ADDED", "BOOK_UPDATED" -> String.format("%s book #%d",
+                    action.equals("BOOK_ADDED") ? "Added" : "Updated", 1 + random.nextInt(volumes.books()));
+            case "MEMBER_ADDED" -> "Added member #" + (1 + random.nextInt(volumes.members()));
+            case "FINE_PAID", "FINE_WAIVED" -> String.format("Fine %s for member #%d",
+                    action.equals("FINE_PAID") ? "paid" : "waived", members.sample(random));
+            case "SETTINGS_UPDATED" -> "Updated system settings";
+            default -> action.equals("LOGIN") ? "Logged in" : "Logged out";
+        };
+    }
+
+    /**
+     * Generate {@code count} rows in parallel, a window of chunks at a time, and hand them to
+     * {@code sink} in order on the calling thread
+     */
+    private <R> void generate(int count, int table, RowSource<R> source, RowSink<R> sink) throws SQLException {
+        int chunks = (count + CHUNK - 1) / CHUNK;
+        int window = Math.max(2, Runtime.getRuntime().availableProcessors()) * 2;
+        for (int first = 0; first < chunks; first += window) {
+            List<List<R>> generated = IntStream.range(first, Math.min(chunks, first + window))
+                    .parallel()
+                    .mapToObj(chunk -> chunk(count, table, chunk, source))
+                    .toList();
+            for (List<R> rows : generated) {
+                for (R row : rows) {
+                    sink.accept(row);
+                }
+            }
+        }
+    }
+
+    private <R> List<R> chunk(int count, int table, int chunk, RowSource<R> source) {
+        SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + table * 0xBF58476D1CE4E5B9L + chunk);
+        int from = chunk * CHUNK;
+        int to = Math.min(count, from + CHUNK);
+        List<R> rows = new ArrayList<>(to - from);
+        for (int index = from; index < to; index++) {
+            rows.add(source.row(index, random));
+        }
+        return rows;
+    }
+
+    // One hash for every account, salted from the seed so the output stays reproducible
+    private String passwordHash() {
+        try {
+            SecureRandom salt = SecureRandom.getInstance("SHA1PRNG");
+            salt.setSeed(seed);
+            return BCrypt.hashpw(PASSWORD, BCrypt.gensalt(10, salt));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Date date(LocalDate date) {
+        return date != null ? Date.valueOf(date) : null;
+    }
+
+    private static String pick(List<String> values, SplittableRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String weighted(String[] values, int[] weights, SplittableRandom random) {
+        int roll = random.nextInt(1000);
+        for (int i = 0; i < values.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+
+    // At least 1, with the given mean
+    private static int geometric(SplittableRandom random, double mean) {
+        double p = 1.0 / mean;
+        return 1 + (int) (Math.log(1.0 - random.nextDouble()) / Math.log(1.0 - p));
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    @FunctionalInterface
+    private interface RowSource<R> {
+        R row(int index, SplittableRandom random);
+    }
+
+    @FunctionalInterface
+    private interface RowSink<R> {
+        void accept(R row) throws SQLException;
+    }
+
+    private record Loan(int id, int bookId, int memberId, LocalDate borrowDate, LocalDate dueDate,
+                        LocalDate returnDate, int daysOverdue, double fine, String fineStatus, LocalDate fineDate,
+                        LocalDate settledAt, String paymentMethod, int processedBy, boolean exempt) {
+    }
+
+    /**
+     * Zipf(s) over 1..n: rank r is drawn with weight 1/r^s, and ranks map to ids through a
+     * seeded shuffle, so the most popular rows are spread over the table
+     */
+    private static final class ZipfSampler {
+
+        private final double[] cumulative;
+        private final int[] idByRank;
+        private final int[] rankById;
+
+        ZipfSampler(int n, double exponent, long seed) {
+            cumulative = new double[n];
+            double total = 0;
+            for (int rank = 0; rank < n; rank++) {
+                total += 1.0 / Math.pow(rank + 1, exponent);
+                cumulative[rank] = total;
+            }
+            for (int rank = 0; rank < n; rank++) {
+                cumulative[rank] /= total;
+            }
+
+            idByRank = new int[n];
+            for (int rank = 0; rank < n; rank++) {
+                idByRank[rank] = rank + 1;
+            }
+            SplittableRandom shuffle = new SplittableRandom(seed);
+            for (int i = n - 1; i > 0; i--) {
+                int j = shuffle.nextInt(i + 1);
+                int swap = idByRank[i];
+                idByRank[i] = idByRank[j];
+                idByRank[j] = swap;
+            }
+            rankById = new int[n + 1];
+            for (int rank = 0; rank < n; rank++) {
+                rankById[idByRank[rank]] = rank;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+            if (rank < 0) {
+                rank = -rank - 1;
+            }
+            return idByRank[Math.min(rank, idByRank.length - 1)];
+        }
+
+        int rankOf(int id) {
+            return rankById[id];
+        }
+    }
+
+    /**
+     * A prepared statement sent to the database every few thousand rows
+     */
+    private static final class Batch implements AutoCloseable {
+
+        private static final int SIZE = 5_000;
+
+        private final PreparedStatement statement;
+        private int pending;
+
+        Batch(Connection connection, String sql) throws SQLException {
+            this.statement = connection.prepareStatement(sql);
+        }
+
+        void add(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+            if (++pending == SIZE) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+            } finally {
+                statement.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.intellilib.benchmark.jmh;
+
+import com.intellilib.benchmark.SyntheticDataGenerator;
+import com.intellilib.models.User;
+import com.intellilib.services.ActivityService;
+import com.intellilib.services.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Activity logging, called on most user actions, and the admin dashboard activity chart
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ActivityBenchmarks {
+
+    private ActivityService activityService;
+    private User user;
+
+    @Setup(Level.Trial)
+    public void load(SeededDatabase database) {
+        activityService = database.bean(ActivityService.class);
+        user = database.bean(UserService.class).findByUsername(SyntheticDataGenerator.ADMIN_USERNAME).orElseThrow();
+    }
+
+    @Benchmark
+    public void logActivity() {
+        activityService.logActivity(user, "BOOK_UPDATED", "Benchmark activity");
+    }
+
+    @Benchmark
+    public void logActivityByUsername() {
+        activityService.logActivity(SyntheticDataGenerator.ADMIN_USERNAME, "BOOK_UPDATED", "Benchmark activity", "127.0.0.1");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<String, Object> activityChartWeek() {
+        return activityService.getActivityChartData(7);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<String, Object> activityChartMonth() {
+        return activityService.getActivityChartData(30);
+    }
+}
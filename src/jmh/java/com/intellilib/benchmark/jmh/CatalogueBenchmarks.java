@@ -0,0 +1,54 @@
+package com.intellilib.benchmark.jmh;
+
+import com.intellilib.benchmark.SyntheticDataGenerator;
+import com.intellilib.models.Book;
+import com.intellilib.services.BookService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalogue search as typed in the search boxes: a common word, and an exact ISBN
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class CatalogueBenchmarks {
+
+    private BookService bookService;
+    private int rows;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void load(SeededDatabase database) {
+        bookService = database.bean(BookService.class);
+        rows = database.rows;
+    }
+
+    @Benchmark
+    public List<Book> searchBooksByWord() {
+        String word = SyntheticDataGenerator.TITLE_WORDS.get(next);
+        next = (next + 1) % SyntheticDataGenerator.TITLE_WORDS.size();
+        return bookService.searchBooks(word);
+    }
+
+    @Benchmark
+    public List<Book> searchBooksByIsbn() {
+        next = (next + 7919) % rows;
+        return bookService.searchBooks(String.format("978%010d", next + 1));
+    }
+}
@@ -0,0 +1,86 @@
+package com.intellilib.benchmark.jmh;
+
+import com.intellilib.models.Borrow;
+import com.intellilib.repositories.BorrowRepository;
+import com.intellilib.services.FineService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fine calculation on the borrow entity, and the fine update the nightly job runs per borrow
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class FineBenchmarks {
+
+    private static final int SAMPLE = 4096;
+
+    private FineService fineService;
+    private Borrow[] borrows;
+    private Borrow[] overdue;
+    private int next;
+    private int nextOverdue;
+
+    @Setup(Level.Trial)
+    public void load(SeededDatabase database) {
+        BorrowRepository borrowRepository = database.bean(BorrowRepository.class);
+        fineService = database.bean(FineService.class);
+
+        List<Borrow> sample = borrowRepository.findAll(PageRequest.of(0, SAMPLE)).getContent();
+        borrows = sample.toArray(Borrow[]::new);
+
+        // Member loaded too, the update adjusts the member's fines
+        List<Long> overdueIds = sample.stream()
+                .filter(borrow -> borrow.calculateDaysOverdue() > 0)
+                .map(Borrow::getId)
+                .toList();
+        overdue = borrowRepository.findAllById(overdueIds).toArray(Borrow[]::new);
+        if (overdue.length == 0) {
+            throw new IllegalStateException("No overdue borrows in the sample");
+        }
+    }
+
+    @Benchmark
+    public double calculateFine() {
+        return nextBorrow().calculateFine();
+    }
+
+    @Benchmark
+    public int calculateDaysOverdue() {
+        return nextBorrow().calculateDaysOverdue();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void updateFineForBorrow() {
+        Borrow borrow = overdue[nextOverdue];
+        nextOverdue = (nextOverdue + 1) % overdue.length;
+        // Forget the previous run, so every call computes and writes a changed fine
+        borrow.setFineAmount(0.0);
+        borrow.setDaysOverdue(0);
+        fineService.updateFineForBorrow(borrow);
+    }
+
+    private Borrow nextBorrow() {
+        Borrow borrow = borrows[next];
+        next = (next + 1) % borrows.length;
+        return borrow;
+    }
+}
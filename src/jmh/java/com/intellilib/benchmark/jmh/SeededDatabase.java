@@ -0,0 +1,66 @@
+package com.intellilib.benchmark.jmh;
+
+import com.intellilib.app.MainApp;
+import com.intellilib.benchmark.SyntheticDataGenerator;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * A Spring context over the synthetic data fixture, one per trial. {@code rows} is the number
+ * of books, borrows and activity records. Each trial works on its own copy of the fixture, so
+ * benchmarks that write never affect the next one.
+ */
+@State(Scope.Benchmark)
+public class SeededDatabase {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private Path workingCopy;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        Path seeded = SyntheticDataGenerator.fixture(rows);
+        workingCopy = Files.createTempFile("intellilib-jmh", ".db");
+        Files.copy(seeded, workingCopy, StandardCopyOption.REPLACE_EXISTING);
+        context = boot(workingCopy, "none");
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+        Files.deleteIfExists(workingCopy);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    static ConfigurableApplicationContext boot(Path database, String ddlAuto) {
+        return new SpringApplicationBuilder(MainApp.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:sqlite:" + database + "?busy_timeout=30000",
+                        "spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                        // Only the beans a benchmark asks for, no UI controllers
+                        "spring.main.lazy-initialization=true",
+                        // Keep the outbox dispatcher away from SMTP while measuring
+                        "intellilib.mail.dispatch-interval-ms=86400000",
+                        "logging.level.root=WARN")
+                .run();
+    }
+}
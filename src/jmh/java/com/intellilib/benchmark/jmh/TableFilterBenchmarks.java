@@ -0,0 +1,59 @@
+package com.intellilib.benchmark.jmh;
+
+import com.intellilib.benchmark.SyntheticDataGenerator;
+import com.intellilib.models.Borrow;
+import com.intellilib.models.FineRowView;
+import com.intellilib.services.BorrowService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The fines table filter over the rows the admin screen loads, as re-run on every keystroke
+ * and filter change. The rows are loaded once; only the in-memory filtering is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TableFilterBenchmarks {
+
+    private List<FineRowView> fineRows;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void load(SeededDatabase database) {
+        fineRows = database.bean(BorrowService.class).getFineRows();
+    }
+
+    @Benchmark
+    public long filterFinesBySearch() {
+        String name = SyntheticDataGenerator.SURNAMES.get(next);
+        next = (next + 1) % SyntheticDataGenerator.SURNAMES.size();
+        return fineRows.stream()
+                .filter(FineRowView.filter(null, null, null, name.substring(0, 4)))
+                .count();
+    }
+
+    @Benchmark
+    public long filterFinesByStatusAndDate() {
+        LocalDate today = LocalDate.now();
+        return fineRows.stream()
+                .filter(FineRowView.filter(Borrow.FineStatus.PENDING, today.minusDays(90), today, null))
+                .count();
+    }
+}
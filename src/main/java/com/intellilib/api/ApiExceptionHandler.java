@@ -0,0 +1,54 @@
+package com.intellilib.api;
+
+import com.intellilib.api.ApiModels.ErrorResponse;
+import com.intellilib.services.OperationRefusedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Services report refusals as OperationRefusedExceptions with a user-facing message; those
+ * become 409s with the message as a JSON body. Anything else is a fault: it is logged and the
+ * client gets a 500 without the internal message.
+ */
+@RestControllerAdvice(basePackageClasses = ApiExceptionHandler.class)
+@Profile("server")
+@Slf4j
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<ErrorResponse> notFound(NoSuchElementException e) {
+        return error(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+
+    @ExceptionHandler({IllegalArgumentException.class, HttpMessageNotReadableException.class,
+            MethodArgumentTypeMismatchException.class})
+    public ResponseEntity<ErrorResponse> badRequest(Exception e) {
+        return error(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    @ExceptionHandler(OperationRefusedException.class)
+    public ResponseEntity<ErrorResponse> conflict(OperationRefusedException e) {
+        log.debug("API request refused: {}", e.getMessage());
+        return error(HttpStatus.CONFLICT, e.getMessage());
+    }
+
+    // Framework exceptions that are not RuntimeExceptions keep Spring's own status codes
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<ErrorResponse> failed(RuntimeException e) {
+        log.error("API request failed", e);
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, null);
+    }
+
+    private static ResponseEntity<ErrorResponse> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .body(new ErrorResponse(message != null ? message : status.getReasonPhrase()));
+    }
+}
@@ -0,0 +1,47 @@
+package com.intellilib.api;
+
+import com.intellilib.models.User;
+import com.intellilib.services.UserService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * The account that API calls act as. There is no desktop session on the server, so activity
+ * records and payments are attributed to one configured user.
+ */
+@Component
+@Profile("server")
+public class ApiIdentity {
+
+    private final UserService userService;
+    private final String username;
+
+    // Looked up on first use, the account may be created after startup
+    private volatile User user;
+
+    public ApiIdentity(UserService userService, @Value("${intellilib.api.username:}") String username) {
+        this.userService = userService;
+        this.username = username;
+    }
+
+    /**
+     * The configured user, or null when none is configured; activity is then not recorded
+     */
+    public User performer() {
+        User current = user;
+        if (current == null && !username.isBlank()) {
+            current = userService.findByUsername(username).orElse(null);
+            user = current;
+        }
+        return current;
+    }
+
+    public User requirePerformer() {
+        User current = performer();
+        if (current == null) {
+            throw new IllegalStateException("Set intellilib.api.username to an existing account first");
+        }
+        return current;
+    }
+}
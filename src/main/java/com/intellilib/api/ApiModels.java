@@ -0,0 +1,95 @@
+package com.intellilib.api;
+
+import com.intellilib.models.Book;
+import com.intellilib.models.Borrow;
+import com.intellilib.models.FineTransaction;
+import com.intellilib.services.BorrowService;
+import com.intellilib.services.FineService;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request and response bodies of the JSON API. Entities are never serialized directly:
+ * their lazy associations would either fail outside the session or pull in half the schema.
+ */
+public final class ApiModels {
+
+    private ApiModels() {
+    }
+
+    public record BookResponse(Long id, String title, String author, String isbn, String category,
+                               Integer publicationYear, Integer quantity, int availableCopies) {
+
+        static BookResponse of(Book book, int availableCopies) {
+            return new BookResponse(book.getId(), book.getTitle(), book.getAuthor(), book.getIsbn(),
+                    book.getCategory() != null ? book.getCategory().getName() : null,
+                    book.getPublicationYear(), book.getQuantity(), availableCopies);
+        }
+    }
+
+    public record BorrowResponse(Long id, Long bookId, String bookTitle, Long memberId, String memberName,
+                                 LocalDate borrowDate, LocalDate dueDate, LocalDate returnDate,
+                                 boolean returned, Double fineAmount, Borrow.FineStatus fineStatus) {
+
+        static BorrowResponse of(Borrow borrow) {
+            return new BorrowResponse(borrow.getId(), borrow.getBook().getId(), borrow.getBook().getTitle(),
+                    borrow.getMember().getId(), borrow.getMember().getFullName(),
+                    borrow.getBorrowDate(), borrow.getDueDate(), borrow.getReturnDate(),
+                    borrow.isReturned(), borrow.getFineAmount(), borrow.getFineStatus());
+        }
+    }
+
+    public record BulkResponse(List<BorrowResponse> processed, Map<Long, String> rejected, boolean complete) {
+
+        static BulkResponse of(BorrowService.BulkResult result) {
+            return new BulkResponse(result.getProcessed().stream().map(BorrowResponse::of).toList(),
+                    result.getRejected(), result.isComplete());
+        }
+    }
+
+    public record FineSummaryResponse(Long memberId, String memberName, Double currentFinesDue,
+                                      Double totalFinesPaid, Integer overdueBooksCount, Boolean banned,
+                                      LocalDate banEndDate, Double totalPendingFines,
+                                      List<BorrowResponse> pendingBorrows) {
+
+        static FineSummaryResponse of(FineService.FineSummary summary) {
+            return new FineSummaryResponse(summary.getMemberId(), summary.getMemberName(),
+                    summary.getCurrentFinesDue(), summary.getTotalFinesPaid(), summary.getOverdueBooksCount(),
+                    summary.getIsBanned(), summary.getBanEndDate(), summary.getTotalPendingFines(),
+                    summary.getPendingBorrows().stream().map(BorrowResponse::of).toList());
+        }
+    }
+
+    public record PaymentResponse(Long id, Long borrowId, Double amount,
+                                  FineTransaction.PaymentMethod paymentMethod, String paymentReference,
+                                  String receiptNumber) {
+
+        static PaymentResponse of(FineTransaction transaction, Long borrowId) {
+            return new PaymentResponse(transaction.getId(), borrowId, transaction.getAmount(),
+                    transaction.getPaymentMethod(), transaction.getPaymentReference(),
+                    transaction.getReceiptNumber());
+        }
+    }
+
+    public record DashboardResponse(long totalBooks, long availableBooks, long totalMembers,
+                                    long activeBorrows, long overdueBooks, double totalFines) {
+    }
+
+    public record BorrowRequest(Long bookId, Long memberId, LocalDate dueDate) {
+    }
+
+    public record BulkBorrowRequest(List<Long> bookIds, Long memberId, LocalDate dueDate) {
+    }
+
+    public record BulkReturnRequest(List<Long> borrowIds) {
+    }
+
+    public record PaymentRequest(Double amount, FineTransaction.PaymentMethod paymentMethod,
+                                 String paymentReference, String notes) {
+    }
+
+    public record ErrorResponse(String error) {
+    }
+}
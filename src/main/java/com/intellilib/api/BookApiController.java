@@ -0,0 +1,58 @@
+package com.intellilib.api;
+
+import com.intellilib.api.ApiModels.BookResponse;
+import com.intellilib.models.Book;
+import com.intellilib.services.BookService;
+import com.intellilib.services.InventoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+@RestController
+@RequestMapping("/api/books")
+@Profile("server")
+@RequiredArgsConstructor
+public class BookApiController {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final BookService bookService;
+    private final InventoryService inventoryService;
+
+    /**
+     * Catalogue or title/author search, paged; available copies come from the in-memory counters
+     */
+    @GetMapping
+    public List<BookResponse> list(@RequestParam(name = "q", required = false) String query,
+                                   @RequestParam(name = "page", defaultValue = "0") int page,
+                                   @RequestParam(name = "size", defaultValue = "50") int size) {
+        List<Book> books = query == null || query.isBlank()
+                ? bookService.getAllBooks()
+                : bookService.searchBooks(query.trim());
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return books.stream()
+                .skip((long) Math.max(page, 0) * pageSize)
+                .limit(pageSize)
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @GetMapping("/{id}")
+    public BookResponse get(@PathVariable Long id) {
+        return bookService.getBookById(id)
+                .map(this::toResponse)
+                .orElseThrow(() -> new NoSuchElementException("Book not found"));
+    }
+
+    private BookResponse toResponse(Book book) {
+        return BookResponse.of(book, inventoryService.getAvailableCount(book));
+    }
+}
@@ -0,0 +1,89 @@
+package com.intellilib.api;
+
+import com.intellilib.api.ApiModels.BorrowRequest;
+import com.intellilib.api.ApiModels.BorrowResponse;
+import com.intellilib.api.ApiModels.BulkBorrowRequest;
+import com.intellilib.api.ApiModels.BulkResponse;
+import com.intellilib.api.ApiModels.BulkReturnRequest;
+import com.intellilib.services.BorrowService;
+import com.intellilib.services.OperationRefusedException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Checkouts and returns, through the same transactional service calls as the desktop screens
+ */
+@RestController
+@RequestMapping("/api")
+@Profile("server")
+@RequiredArgsConstructor
+public class CirculationApiController {
+
+    private static final int DEFAULT_LOAN_DAYS = 14;
+
+    private final BorrowService borrowService;
+    private final ApiIdentity apiIdentity;
+
+    @PostMapping("/borrows")
+    @ResponseStatus(HttpStatus.CREATED)
+    public BorrowResponse borrow(@RequestBody BorrowRequest request) {
+        requireIds(request.bookId(), request.memberId());
+        return BorrowResponse.of(borrowService.borrowBook(request.bookId(), request.memberId(),
+                dueDate(request.dueDate())));
+    }
+
+    @PostMapping("/borrows/bulk")
+    public BulkResponse borrowAll(@RequestBody BulkBorrowRequest request) {
+        requireIds(request.bookIds(), request.memberId());
+        return BulkResponse.of(borrowService.borrowBooks(request.bookIds(), request.memberId(),
+                dueDate(request.dueDate()), apiIdentity.performer()));
+    }
+
+    /**
+     * Single return, through the bulk path so the fine is settled like on the admin screen
+     */
+    @PostMapping("/borrows/{id}/return")
+    public BorrowResponse returnBorrow(@PathVariable Long id) {
+        BorrowService.BulkResult result = borrowService.returnBooks(List.of(id), apiIdentity.performer());
+        if (!result.isComplete()) {
+            throw new OperationRefusedException(result.getRejected().get(id));
+        }
+        return BorrowResponse.of(result.getProcessed().get(0));
+    }
+
+    @PostMapping("/returns")
+    public BulkResponse returnAll(@RequestBody BulkReturnRequest request) {
+        requireIds(request.borrowIds());
+        return BulkResponse.of(borrowService.returnBooks(request.borrowIds(), apiIdentity.performer()));
+    }
+
+    @GetMapping("/members/{memberId}/borrows")
+    public List<BorrowResponse> memberBorrows(@PathVariable Long memberId) {
+        return borrowService.getBorrowsByMember(memberId).stream()
+                .map(BorrowResponse::of)
+                .toList();
+    }
+
+    private static LocalDate dueDate(LocalDate requested) {
+        return requested != null ? requested : LocalDate.now().plusDays(DEFAULT_LOAN_DAYS);
+    }
+
+    private static void requireIds(Object... ids) {
+        for (Object id : ids) {
+            if (id == null) {
+                throw new IllegalArgumentException("Missing required field");
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.intellilib.api;
+
+import com.intellilib.api.ApiModels.DashboardResponse;
+import com.intellilib.services.BookService;
+import com.intellilib.services.BorrowService;
+import com.intellilib.services.MemberService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@Profile("server")
+@RequiredArgsConstructor
+public class DashboardApiController {
+
+    private final BookService bookService;
+    private final BorrowService borrowService;
+    private final MemberService memberService;
+
+    /**
+     * The admin dashboard figures, each one an aggregate query
+     */
+    @GetMapping
+    public DashboardResponse dashboard() {
+        return new DashboardResponse(
+                bookService.getTotalBooksCount(),
+                bookService.getAvailableBooksCount(),
+                memberService.getTotalMembers(),
+                borrowService.countActiveBorrowings(),
+                borrowService.countOverdueBooks(),
+                borrowService.calculateTotalFines());
+    }
+}
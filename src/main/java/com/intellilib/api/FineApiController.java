@@ -0,0 +1,50 @@
+package com.intellilib.api;
+
+import com.intellilib.api.ApiModels.FineSummaryResponse;
+import com.intellilib.api.ApiModels.PaymentRequest;
+import com.intellilib.api.ApiModels.PaymentResponse;
+import com.intellilib.models.FineTransaction;
+import com.intellilib.services.FineService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api")
+@Profile("server")
+@RequiredArgsConstructor
+public class FineApiController {
+
+    private final FineService fineService;
+    private final ApiIdentity apiIdentity;
+
+    @GetMapping("/members/{memberId}/fines")
+    public FineSummaryResponse summary(@PathVariable Long memberId) {
+        return FineSummaryResponse.of(fineService.getFineSummary(memberId));
+    }
+
+    /**
+     * Pay all or part of a borrow's fine; payments are always recorded against the API user
+     */
+    @PostMapping("/borrows/{borrowId}/payments")
+    @ResponseStatus(HttpStatus.CREATED)
+    public PaymentResponse pay(@PathVariable Long borrowId, @RequestBody PaymentRequest request) {
+        if (request.amount() == null || request.amount() <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        FineTransaction.PaymentMethod method = request.paymentMethod() != null
+                ? request.paymentMethod()
+                : FineTransaction.PaymentMethod.CASH;
+
+        FineTransaction transaction = fineService.processFinePayment(borrowId, request.amount(), method,
+                request.paymentReference(), request.notes(), apiIdentity.requirePerformer().getId());
+        return PaymentResponse.of(transaction, borrowId);
+    }
+}
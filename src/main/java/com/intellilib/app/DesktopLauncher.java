@@ -0,0 +1,13 @@
+package com.intellilib.app;
+
+/**
+ * Main class of the launcher jar (cds profile). The java launcher refuses to start a main class
+ * that extends Application when JavaFX is on the class path rather than the module path, so this
+ * class hands over to MainApp.
+ */
+public class DesktopLauncher {
+
+    public static void main(String[] args) {
+        MainApp.main(args);
+    }
+}
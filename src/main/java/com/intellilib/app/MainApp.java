@@ -1,8 +1,14 @@
 package com.intellilib.app;
 
+import com.intellilib.diagnostics.FxStallDetector;
+import com.intellilib.diagnostics.StartupTimeline;
+import com.intellilib.util.AppExecutors;
 import com.intellilib.util.FXMLLoaderUtil;
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.control.Alert;
 import javafx.stage.Stage;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
@@ -12,41 +18,113 @@ import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfigurat
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
+import java.time.Duration;
+import java.time.Instant;
+
 @SpringBootApplication(scanBasePackages = "com.intellilib")
 @EnableJpaRepositories(basePackages = "com.intellilib.repositories")
 @EntityScan(basePackages = "com.intellilib.models")
+@Slf4j
 public class MainApp extends Application {
-    
+
+    private static final int STARTUP_REPORT_BEANS = 20;
+
+    /**
+     * Set to "context" to exit once the context is up, without the toolkit, or to "login" to
+     * exit once the login screen is shown; used by CDS training runs and StartupBenchmark
+     */
+    public static final String EXIT_PROPERTY = "intellilib.startup.exit";
+
     private static ConfigurableApplicationContext springContext;
 
     public static void main(String[] args) {
+        // Build-time AOT processing intercepts this run, it only needs the context
+        if (Boolean.getBoolean("spring.aot.processing")) {
+            SpringApplication.run(MainApp.class, args);
+            return;
+        }
+        if ("context".equals(System.getProperty(EXIT_PROPERTY))) {
+            SpringApplication.run(MainApp.class, args).close();
+            System.exit(0);
+        }
         launch(MainApp.class, args);
     }
 
+    /**
+     * Shows the splash screen at once and starts Spring on a background thread, so the
+     * toolkit paints while the context is created; the main window follows when it is ready
+     */
     @Override
-    public void init() throws Exception {
-        // Start Spring context
-        springContext = SpringApplication.run(MainApp.class);
-        
+    public void start(Stage primaryStage) {
+        StartupTimeline timeline = new StartupTimeline();
+        SplashScreen splash = new SplashScreen(timeline);
+        splash.show();
+
+        String[] args = getParameters().getRaw().toArray(new String[0]);
+        Thread.ofPlatform().name("spring-startup").start(() -> {
+            try {
+                SpringApplication application = new SpringApplication(MainApp.class);
+                // Not on the main thread, so it cannot be deduced; also names the AOT initializer
+                application.setMainApplicationClass(MainApp.class);
+                application.setApplicationStartup(timeline);
+                ConfigurableApplicationContext context = application.run(args);
+                Platform.runLater(() -> showMainWindow(primaryStage, context, timeline, splash));
+            } catch (Throwable e) {
+                log.error("Startup failed", e);
+                Platform.runLater(() -> startupFailed(splash, e));
+            }
+        });
+    }
+
+    private void showMainWindow(Stage primaryStage, ConfigurableApplicationContext context,
+                                StartupTimeline timeline, SplashScreen splash) {
+        springContext = context;
         // Set Spring context for FXMLLoaderUtil
-        FXMLLoaderUtil.setApplicationContext(springContext);
+        FXMLLoaderUtil.setApplicationContext(context);
+
+        try {
+            primaryStage.setTitle("IntelliLib - Welcome");
+            primaryStage.setScene(FXMLLoaderUtil.loadScene("/views/main.fxml"));
+            primaryStage.show();
+        } catch (Exception e) {
+            log.error("Cannot load the main window", e);
+            startupFailed(splash, e);
+            return;
+        }
+        splash.close();
+
+        // Watches the FX thread for handlers that block it
+        context.getBean(FxStallDetector.class).start();
+
+        Instant jvmStart = ProcessHandle.current().info().startInstant().orElse(Instant.now());
+        log.info("Login screen shown {} ms after JVM start\n{}",
+                Duration.between(jvmStart, Instant.now()).toMillis(), timeline.report(STARTUP_REPORT_BEANS));
+
+        if ("login".equals(System.getProperty(EXIT_PROPERTY))) {
+            Platform.exit();
+        }
     }
 
-    @Override
-    public void start(Stage primaryStage) throws Exception {
-        primaryStage.setTitle("IntelliLib - Welcome");
-        primaryStage.setScene(FXMLLoaderUtil.loadScene("/views/main.fxml"));
-        primaryStage.show();
+    private void startupFailed(SplashScreen splash, Throwable error) {
+        splash.close();
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Erreur");
+        alert.setHeaderText("Impossible de démarrer IntelliLib");
+        alert.setContentText(error.getMessage());
+        alert.showAndWait();
+        Platform.exit();
     }
 
     @Override
     public void stop() {
         if (springContext != null) {
+            // Let background tasks finish while the services they use are still alive
+            springContext.getBean(AppExecutors.class).shutdown(Duration.ofSeconds(5));
             springContext.close();
         }
     }
-    
+
     public static ConfigurableApplicationContext getSpringContext() {
         return springContext;
     }
-}
\ No newline at end of file
+}
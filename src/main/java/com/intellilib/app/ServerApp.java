@@ -0,0 +1,28 @@
+package com.intellilib.app;
+
+import com.intellilib.diagnostics.StartupTimeline;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Headless entry point: the same services as the desktop app, served as JSON under /api
+ * with the "server" profile and no JavaFX toolkit. Requests run on virtual threads.
+ * Start with {@code mvn spring-boot:run -Dspring-boot.run.main-class=com.intellilib.app.ServerApp}.
+ */
+@Slf4j
+public class ServerApp {
+
+    private static final int STARTUP_REPORT_BEANS = 20;
+
+    public static void main(String[] args) {
+        StartupTimeline timeline = new StartupTimeline();
+        new SpringApplicationBuilder(MainApp.class)
+                .profiles("server")
+                .web(WebApplicationType.SERVLET)
+                .headless(true)
+                .applicationStartup(timeline)
+                .run(args);
+        log.info("Startup timeline\n{}", timeline.report(STARTUP_REPORT_BEANS));
+    }
+}
@@ -0,0 +1,62 @@
+package com.intellilib.app;
+
+import com.intellilib.diagnostics.StartupTimeline;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+import javafx.util.Duration;
+
+/**
+ * Shown while the Spring context starts in the background. Built in code rather than FXML, so
+ * it needs nothing from the context; it polls the startup timeline for progress.
+ */
+class SplashScreen {
+
+    private static final Duration POLL_INTERVAL = Duration.millis(50);
+
+    private final Stage stage = new Stage(StageStyle.UNDECORATED);
+    private final ProgressBar progressBar = new ProgressBar(0);
+    private final Label stepLabel = new Label("Démarrage...");
+    private final Timeline poll;
+
+    SplashScreen(StartupTimeline timeline) {
+        Label title = new Label("IntelliLib");
+        title.getStyleClass().add("page-title");
+        stepLabel.getStyleClass().add("page-subtitle");
+        progressBar.setPrefWidth(320);
+
+        VBox content = new VBox(16, title, progressBar, stepLabel);
+        content.setAlignment(Pos.CENTER);
+        content.setPadding(new Insets(32));
+        content.getStyleClass().add("root");
+
+        Scene scene = new Scene(content);
+        scene.getStylesheets().add(SplashScreen.class.getResource("/css/style.css").toExternalForm());
+        stage.setScene(scene);
+        stage.setTitle("IntelliLib");
+
+        poll = new Timeline(new KeyFrame(POLL_INTERVAL, event -> {
+            progressBar.setProgress(timeline.getProgress());
+            stepLabel.setText(timeline.getCurrentStep());
+        }));
+        poll.setCycleCount(Animation.INDEFINITE);
+    }
+
+    void show() {
+        stage.show();
+        poll.play();
+    }
+
+    void close() {
+        poll.stop();
+        stage.close();
+    }
+}
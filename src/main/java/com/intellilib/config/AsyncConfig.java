@@ -0,0 +1,34 @@
+package com.intellilib.config;
+
+import com.intellilib.util.AppExecutors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Runs @Async methods on the shared virtual-thread executor instead of Spring's default pool.
+ */
+@Configuration
+@EnableAsync
+@RequiredArgsConstructor
+@Slf4j
+public class AsyncConfig implements AsyncConfigurer {
+
+    private final AppExecutors appExecutors;
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return appExecutors.io();
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (error, method, params) ->
+                log.error("Async call {} failed: {}", method.getName(), error.getMessage());
+    }
+}
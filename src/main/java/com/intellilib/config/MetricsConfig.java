@@ -0,0 +1,100 @@
+package com.intellilib.config;
+
+import com.intellilib.models.OutboxMessage;
+import com.intellilib.repositories.OutboxMessageRepository;
+import com.intellilib.services.HoldService;
+import com.intellilib.services.InventoryService;
+import com.intellilib.util.AppExecutors;
+import com.intellilib.util.InstrumentedExecutor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Gauges and counters for the application's own pools, queues and caches. JVM, Hikari pool
+ * and Spring Data repository metrics come from the actuator auto-configuration.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder executorMetrics(AppExecutors appExecutors) {
+        return registry -> {
+            for (InstrumentedExecutor executor : List.of(appExecutors.io(), appExecutors.cpu())) {
+                String name = executor.getName();
+                Gauge.builder("intellilib.executor.active", executor, e -> e.getStats().active())
+                        .tag("executor", name).register(registry);
+                Gauge.builder("intellilib.executor.queued", executor, e -> e.getStats().queued())
+                        .tag("executor", name).register(registry);
+                FunctionCounter.builder("intellilib.executor.completed", executor, e -> e.getStats().completed())
+                        .tag("executor", name).register(registry);
+                FunctionCounter.builder("intellilib.executor.failed", executor, e -> e.getStats().failed())
+                        .tag("executor", name).register(registry);
+                FunctionCounter.builder("intellilib.executor.rejected", executor, e -> e.getStats().rejected())
+                        .tag("executor", name).register(registry);
+            }
+        };
+    }
+
+    /**
+     * Hibernate second-level cache regions and the query cache; the figures restart from zero
+     * when the cache panel resets the statistics
+     */
+    @Bean
+    public MeterBinder cacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String region : statistics.getSecondLevelCacheRegionNames()) {
+                regionCounter(registry, statistics, region, "hits", CacheRegionStatistics::getHitCount);
+                regionCounter(registry, statistics, region, "misses", CacheRegionStatistics::getMissCount);
+                Gauge.builder("intellilib.cache.entries", statistics,
+                                s -> regionValue(s, region, CacheRegionStatistics::getElementCountInMemory))
+                        .tag("region", region).register(registry);
+            }
+            FunctionCounter.builder("intellilib.cache.hits", statistics, Statistics::getQueryCacheHitCount)
+                    .tag("region", "query").register(registry);
+            FunctionCounter.builder("intellilib.cache.misses", statistics, Statistics::getQueryCacheMissCount)
+                    .tag("region", "query").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder queueMetrics(OutboxMessageRepository outboxMessageRepository,
+                                    HoldService holdService,
+                                    InventoryService inventoryService) {
+        return registry -> {
+            // One indexed COUNT per scrape
+            Gauge.builder("intellilib.outbox.pending", outboxMessageRepository,
+                            repository -> repository.countByStatus(OutboxMessage.OutboxStatus.PENDING))
+                    .description("Mails waiting for the dispatcher").register(registry);
+            Gauge.builder("intellilib.outbox.queued", outboxMessageRepository,
+                            repository -> repository.countByStatus(OutboxMessage.OutboxStatus.QUEUED))
+                    .description("Notifications waiting for the digest job").register(registry);
+            Gauge.builder("intellilib.holds.pending_expiry", holdService, HoldService::getPendingExpiryCount)
+                    .description("Ready holds on the expiry timer wheel").register(registry);
+            Gauge.builder("intellilib.inventory.tracked", inventoryService, InventoryService::getTrackedCount)
+                    .description("Titles with an in-memory copy counter").register(registry);
+        };
+    }
+
+    private static void regionCounter(MeterRegistry registry, Statistics statistics,
+                                      String region, String kind, ToDoubleFunction<CacheRegionStatistics> value) {
+        FunctionCounter.builder("intellilib.cache." + kind, statistics, s -> regionValue(s, region, value))
+                .tag("region", region).register(registry);
+    }
+
+    private static double regionValue(Statistics statistics, String region, ToDoubleFunction<CacheRegionStatistics> value) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        return regionStatistics == null ? Double.NaN : value.applyAsDouble(regionStatistics);
+    }
+}
@@ -0,0 +1,78 @@
+package com.intellilib.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Wiring for the headless "server" profile: the /api and /actuator endpoints are guarded by
+ * a shared key. Without a key the server only starts on a loopback address. The JavaFX
+ * controllers are lazy (see StartupConfig), so they are never created without a stage.
+ */
+@Configuration
+@Profile("server")
+@Slf4j
+public class ServerConfig {
+
+    private static final String API_KEY_HEADER = "X-Api-Key";
+
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> apiKeyFilter(@Value("${intellilib.api.key:}") String apiKey,
+                                                                     @Value("${server.address:}") String address) {
+        if (apiKey.isBlank()) {
+            // Checkouts, returns and payments must not be open to the network
+            if (!isLoopback(address)) {
+                throw new IllegalStateException("intellilib.api.key must be set when the server listens on "
+                        + (address.isBlank() ? "all interfaces" : address));
+            }
+            log.warn("intellilib.api.key is not set, the /api endpoints are open to local processes on {}", address);
+        }
+        byte[] expected = apiKey.getBytes(StandardCharsets.UTF_8);
+
+        OncePerRequestFilter filter = new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain chain) throws ServletException, IOException {
+                String provided = request.getHeader(API_KEY_HEADER);
+                if (expected.length == 0 || (provided != null
+                        && MessageDigest.isEqual(expected, provided.getBytes(StandardCharsets.UTF_8)))) {
+                    chain.doFilter(request, response);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getWriter().write("{\"error\":\"Missing or invalid API key\"}");
+            }
+        };
+
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*", "/actuator/*");
+        return registration;
+    }
+
+    private static boolean isLoopback(String address) {
+        if (address.isBlank()) {
+            return false;
+        }
+        try {
+            return InetAddress.getByName(address).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.intellilib.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every public method of the core services as {@code intellilib.service}, tagged with
+ * the service, the method and the exception it ended with ("none" on success). Repository
+ * calls are timed by Spring Data itself as {@code spring.data.repository.invocations}.
+ * Calls a service makes to itself bypass the proxy and are counted in the caller.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    public static final String METRIC = "intellilib.service";
+
+    private final MeterRegistry meterRegistry;
+
+    // Successful calls are the hot path, their timer is looked up once per method
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.intellilib.services.BorrowService.*(..))"
+            + " || execution(public * com.intellilib.services.FineService.*(..))"
+            + " || execution(public * com.intellilib.services.BookService.*(..))"
+            + " || execution(public * com.intellilib.services.ActivityService.*(..))"
+            + " || execution(public * com.intellilib.services.UserService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Object result = joinPoint.proceed();
+            sample.stop(successTimers.computeIfAbsent(method, m -> timer(m, "none")));
+            return result;
+        } catch (Throwable e) {
+            sample.stop(timer(method, e.getClass().getSimpleName()));
+            throw e;
+        }
+    }
+
+    private Timer timer(Method method, String exception) {
+        return Timer.builder(METRIC)
+                .description("Service method calls")
+                .tag("service", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.intellilib.config;
+
+import com.intellilib.diagnostics.StartupTimeline;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Set;
+
+/**
+ * Keeps startup to the beans the login screen needs. The FX controllers build views when
+ * created, so they are created when their FXML is loaded; the rarely used services listed in
+ * intellilib.startup.lazy-beans wait for their first caller. Beans with scheduled jobs or
+ * startup work must stay eager.
+ */
+@Configuration
+public class StartupConfig {
+
+    private static final String CONTROLLER_PACKAGE = "com.intellilib.controllers.";
+
+    @Bean
+    public static BeanFactoryPostProcessor lazyStartupBeans(Environment environment) {
+        return beanFactory -> {
+            Set<String> lazyBeans = Set.of(environment.getProperty(
+                    "intellilib.startup.lazy-beans", String[].class, new String[0]));
+
+            int eager = 0;
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                String className = definition.getBeanClassName();
+                if ((className != null && className.startsWith(CONTROLLER_PACKAGE)) || lazyBeans.contains(name)) {
+                    definition.setLazyInit(true);
+                }
+                if (definition.isSingleton() && !definition.isLazyInit() && !definition.isAbstract()) {
+                    eager++;
+                }
+            }
+
+            // Lets the splash screen turn created beans into progress
+            if (beanFactory.getApplicationStartup() instanceof StartupTimeline timeline) {
+                timeline.expectBeans(eager);
+            }
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package com.intellilib.controllers;
 
+import com.intellilib.diagnostics.DashboardLoadEvent;
 import com.intellilib.models.Activity;
 import com.intellilib.models.User;
 import com.intellilib.services.BookService;
@@ -7,12 +8,20 @@ import com.intellilib.services.BorrowService;
 import com.intellilib.services.UserService;
 import com.intellilib.services.ActivityService;
 import com.intellilib.services.DatabaseService;
+import com.intellilib.services.FlightRecorderService;
+import com.intellilib.util.ActivityLogger;
+import com.intellilib.util.AppExecutors;
 import com.intellilib.util.FXMLLoaderUtil;
+import com.intellilib.util.ViewNavigator;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
 import javafx.stage.Stage;
 import javafx.scene.chart.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
+import javafx.scene.control.ProgressBar;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
@@ -21,16 +30,27 @@ import javafx.scene.control.TableView;
 
 import org.springframework.stereotype.Controller;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 @Controller
 public class AdminDashboardController extends BaseDashboardController {
+
+    // Books, members, borrowings, overdue books and fines
+    private static final int STATISTIC_CARDS = 5;
+    private static final Duration FLIGHT_RECORDING_LENGTH = Duration.ofSeconds(60);
     
     @FXML private Label welcomeLabel;
+    @FXML private Button backupButton;
+    @FXML private Button recordButton;
+    @FXML private ProgressBar backupProgressBar;
     @FXML private Label totalBooksLabel;
     @FXML private Label activeMembersLabel;
     @FXML private Label activeBorrowingsLabel;
@@ -81,15 +101,28 @@ public class AdminDashboardController extends BaseDashboardController {
     private final BorrowService borrowService;
     private final ActivityService activityService;
     private final DatabaseService databaseService;
+    private final ActivityLogger activityLogger;
+    private final AppExecutors appExecutors;
+    private final FlightRecorderService flightRecorderService;
+    private final ViewNavigator viewNavigator;
+    
+    // One window per management screen, reopened with its cached view
+    private final Map<String, Stage> screenWindows = new HashMap<>();
     
     public AdminDashboardController(UserService userService, BookService bookService, 
                                   BorrowService borrowService, ActivityService activityService, 
-                                  DatabaseService databaseService) {
+                                  DatabaseService databaseService, ActivityLogger activityLogger,
+                                  AppExecutors appExecutors, FlightRecorderService flightRecorderService,
+                                  ViewNavigator viewNavigator) {
         super(userService);
         this.bookService = bookService;
         this.borrowService = borrowService;
         this.activityService = activityService;
         this.databaseService = databaseService;
+        this.activityLogger = activityLogger;
+        this.appExecutors = appExecutors;
+        this.flightRecorderService = flightRecorderService;
+        this.viewNavigator = viewNavigator;
     }
     
     @Override
@@ -119,6 +152,7 @@ public class AdminDashboardController extends BaseDashboardController {
     }
     
     private void loadDashboardStatistics() {
+        DashboardLoadEvent event = DashboardLoadEvent.start("statistics");
         try {
             // Get total books count and change
             long totalBooks = bookService.getTotalBooksCount();
@@ -161,10 +195,13 @@ public class AdminDashboardController extends BaseDashboardController {
             showError("Erreur", "Impossible de charger les statistiques");
             e.printStackTrace();
         }
+        event.complete(STATISTIC_CARDS, currentUser);
     }
     
     @SuppressWarnings("unchecked")
     private void loadActivityCharts() {
+    DashboardLoadEvent event = DashboardLoadEvent.start("activity charts");
+    int points = 0;
     try {
         // Get chart data for last 7 days
         Map<String, Object> chartData = activityService.getActivityChartData(7);
@@ -213,10 +250,12 @@ public class AdminDashboardController extends BaseDashboardController {
             // 3. Load User Activity Chart (Bar Chart)
             loadUserActivityChart(topUsers, userActivityCounts);
             
+            points = dailyActivity.size() + typeCounts.size() + userActivityCounts.size();
         } catch (Exception e) {
             showError("Erreur", "Impossible de charger les graphiques des activités");
             e.printStackTrace();
         }
+        event.complete(points, currentUser);
     }
 
     private void loadDailyActivityChart(List<String> labels, List<Long> dailyActivity) {
@@ -280,6 +319,7 @@ public class AdminDashboardController extends BaseDashboardController {
     }
 
     private void loadRecentActivity() {
+        DashboardLoadEvent event = DashboardLoadEvent.start("recent activity");
         try {
             // Initialize table columns to match Activity model
             userColumn.setCellValueFactory(cellData -> {
@@ -312,9 +352,11 @@ public class AdminDashboardController extends BaseDashboardController {
             showError("Erreur", "Impossible de charger l'activité récente");
             e.printStackTrace();
         }
+        event.complete(recentActivityTable.getItems().size(), currentUser);
     }
     
     private void loadRecentUsers() {
+        DashboardLoadEvent event = DashboardLoadEvent.start("recent users");
         try {
             // Initialize table columns
             usernameColumn.setCellValueFactory(new PropertyValueFactory<>("username"));
@@ -347,6 +389,7 @@ public class AdminDashboardController extends BaseDashboardController {
             showError("Erreur", "Impossible de charger les utilisateurs récents");
             e.printStackTrace();
         }
+        event.complete(recentUsersTable.getItems().size(), currentUser);
     }
     
     @FXML
@@ -363,11 +406,64 @@ public class AdminDashboardController extends BaseDashboardController {
         }
     }
     
+    @FXML
+    private void backupDatabase() {
+        Task<Path> backupTask = new Task<>() {
+            @Override
+            protected Path call() throws Exception {
+                return databaseService.createBackup(progress -> updateProgress(progress, 1.0));
+            }
+        };
+
+        backupProgressBar.progressProperty().bind(backupTask.progressProperty());
+        backupProgressBar.setVisible(true);
+        backupButton.setDisable(true);
+
+        backupTask.setOnSucceeded(e -> {
+            finishBackup();
+            activityLogger.logDatabaseBackup(currentUser);
+            showSuccess("Sauvegarde", "Sauvegarde vérifiée créée : " + backupTask.getValue().getFileName());
+        });
+        backupTask.setOnFailed(e -> {
+            finishBackup();
+            showError("Erreur", "Échec de la sauvegarde : " + backupTask.getException().getMessage());
+        });
+
+        appExecutors.io().execute(backupTask);
+    }
+
+    private void finishBackup() {
+        backupProgressBar.progressProperty().unbind();
+        backupProgressBar.setVisible(false);
+        backupButton.setDisable(false);
+    }
+
+    /**
+     * Flight recording of the next 60 seconds, for offline analysis in JDK Mission Control
+     */
+    @FXML
+    private void recordFlight() {
+        try {
+            flightRecorderService.record(FLIGHT_RECORDING_LENGTH).whenComplete((file, error) -> Platform.runLater(() -> {
+                recordButton.setDisable(false);
+                recordButton.setText("Record 60s");
+                if (error != null) {
+                    showError("Erreur", "Échec de l'enregistrement : " + error.getMessage());
+                } else {
+                    showSuccess("Enregistrement", "Enregistrement JFR écrit : " + file);
+                }
+            }));
+            recordButton.setDisable(true);
+            recordButton.setText("Recording...");
+        } catch (Exception e) {
+            showError("Erreur", "Impossible de démarrer l'enregistrement : " + e.getMessage());
+        }
+    }
+
     @FXML
     private void manageBooks() {
         try {
-            Stage stage = FXMLLoaderUtil.loadStage("/views/admin/manage-books.fxml", "Gérer les Livres", true);
-            stage.show();
+            openScreen("/views/admin/manage-books.fxml", "Gérer les Livres");
         } catch (Exception e) {
             showError("Erreur", "Impossible d'ouvrir la gestion des livres");
             e.printStackTrace();
@@ -377,8 +473,7 @@ public class AdminDashboardController extends BaseDashboardController {
     @FXML
     private void manageMembers() {
         try {
-            Stage stage = FXMLLoaderUtil.loadStage("/views/admin/manage-members.fxml", "Gérer les Membres", true);
-            stage.show();
+            openScreen("/views/admin/manage-members.fxml", "Gérer les Membres");
         } catch (Exception e) {
             showError("Erreur", "Impossible d'ouvrir la gestion des utilisateurs");
             e.printStackTrace();
@@ -388,8 +483,7 @@ public class AdminDashboardController extends BaseDashboardController {
     @FXML
     private void manageUsers() {
         try {
-            Stage stage = FXMLLoaderUtil.loadStage("/views/admin/manage-users.fxml", "Gérer les Utilisateurs", true);
-            stage.show();
+            openScreen("/views/admin/manage-users.fxml", "Gérer les Utilisateurs");
         } catch (Exception e) {
             showError("Erreur", "Impossible d'ouvrir la gestion des utilisateurs");
             e.printStackTrace();
@@ -399,8 +493,7 @@ public class AdminDashboardController extends BaseDashboardController {
     @FXML
     private void manageBorrowings() {
         try {
-            Stage stage = FXMLLoaderUtil.loadStage("/views/admin/manage-borrows.fxml", "Gérer les Emprunts", true);
-            stage.show();
+            openScreen("/views/admin/manage-borrows.fxml", "Gérer les Emprunts");
         } catch (Exception e) {
             showError("Erreur", "Impossible d'ouvrir la gestion des emprunts");
             e.printStackTrace();
@@ -419,10 +512,31 @@ public class AdminDashboardController extends BaseDashboardController {
     }
 
     @FXML
-    private void manageFines() {
+    private void showCacheStatistics() {
+        try {
+            Stage stage = FXMLLoaderUtil.loadStage("/views/admin/cache-statistics.fxml", "Statistiques du cache", false);
+            stage.show();
+        } catch (Exception e) {
+            showError("Erreur", "Impossible d'ouvrir les statistiques du cache");
+            e.printStackTrace();
+        }
+    }
+
+    @FXML
+    private void showMetrics() {
         try {
-            Stage stage = FXMLLoaderUtil.loadStage("/views/admin/manage-fines.fxml", "Gérer les Pénalités", true);
+            Stage stage = FXMLLoaderUtil.loadStage("/views/admin/metrics.fxml", "Métriques", false);
             stage.show();
+        } catch (Exception e) {
+            showError("Erreur", "Impossible d'ouvrir les métriques");
+            e.printStackTrace();
+        }
+    }
+
+    @FXML
+    private void manageFines() {
+        try {
+            openScreen("/views/admin/manage-fines.fxml", "Gérer les Pénalités");
         } catch (Exception e) {
             showError("Erreur", "Impossible d'ouvrir la gestion des pénalités");
             e.printStackTrace();
@@ -443,8 +557,11 @@ public class AdminDashboardController extends BaseDashboardController {
     @FXML
     private void logout() {
         try {
-            // Clear current user
+            // Clear current user and the views loaded for them
             userService.logout();
+            viewNavigator.clear();
+            screenWindows.values().forEach(Stage::close);
+            screenWindows.clear();
             
             // Go back to login
             Stage stage = FXMLLoaderUtil.loadStage("/views/login.fxml", "Connexion - IntelliLib", false);
@@ -460,6 +577,21 @@ public class AdminDashboardController extends BaseDashboardController {
         }
     }
     
+    /**
+     * Show a management screen in its own maximized window. The view is loaded once and shown
+     * again from the ViewNavigator cache, refreshed; a screen that is already open comes to front.
+     */
+    private void openScreen(String fxmlPath, String title) throws IOException {
+        Stage stage = screenWindows.computeIfAbsent(fxmlPath, path -> {
+            Stage window = new Stage();
+            window.setMaximized(true);
+            return window;
+        });
+        viewNavigator.show(stage, fxmlPath, title);
+        stage.show();
+        stage.toFront();
+    }
+    
     private void showError(String title, String message) {
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle(title);
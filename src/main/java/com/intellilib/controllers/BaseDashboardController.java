@@ -2,6 +2,7 @@ package com.intellilib.controllers;
 
 import com.intellilib.models.User;
 import com.intellilib.services.UserService;
+import com.intellilib.util.RefreshableView;
 import javafx.fxml.Initializable;
 import org.springframework.stereotype.Component;
 
@@ -9,7 +10,7 @@ import java.net.URL;
 import java.util.ResourceBundle;
 
 @Component
-public abstract class BaseDashboardController implements Initializable {
+public abstract class BaseDashboardController implements Initializable, RefreshableView {
     protected final UserService userService;
     protected User currentUser;
 
@@ -29,6 +30,14 @@ public abstract class BaseDashboardController implements Initializable {
         loadDashboardData();
     }
 
+    @Override
+    public void refresh() {
+        this.currentUser = userService.getCurrentUser();
+        if (currentUser != null) {
+            loadDashboardData();
+        }
+    }
+
     protected abstract void loadDashboardData();
     
     // Helper methods for subclasses
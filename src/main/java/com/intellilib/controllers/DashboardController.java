@@ -1,6 +1,8 @@
 package com.intellilib.controllers;
 
+import com.intellilib.diagnostics.DashboardLoadEvent;
 import com.intellilib.services.*;
+import com.intellilib.util.AppExecutors;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
 import javafx.scene.layout.VBox;
@@ -8,9 +10,6 @@ import javafx.scene.control.Alert;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-
 @Controller
 @RequiredArgsConstructor  // Spring injects all these services
 public class DashboardController {
@@ -28,8 +27,7 @@ public class DashboardController {
     private final MemberService memberService;
     private final CategoryService categoryService;
     private final BorrowService borrowService;
-    
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AppExecutors appExecutors;
 
     @FXML
     public void initialize() {
@@ -37,7 +35,8 @@ public class DashboardController {
     }
 
     private void loadDashboardDataAsync() {
-        executor.submit(() -> {
+        appExecutors.io().submit(() -> {
+            DashboardLoadEvent event = DashboardLoadEvent.start("overview");
             try {
                 // Use injected services
                 long admins = userService.getAllUsers().stream()
@@ -56,6 +55,7 @@ public class DashboardController {
                     totalCategoriesLabel.setText(String.valueOf(categories));
                     totalBorrowsLabel.setText(String.valueOf(borrows));
                 });
+                event.complete((int) (admins + books + members + categories + borrows));
             } catch (Exception e) {
                 javafx.application.Platform.runLater(() -> 
                     showError("Error Loading Data", "Failed to load dashboard data: " + e.getMessage())
@@ -73,9 +73,4 @@ public class DashboardController {
             alert.showAndWait();
         });
     }
-
-    @FXML
-    private void shutdown() {
-        executor.shutdown();
-    }
 }
\ No newline at end of file
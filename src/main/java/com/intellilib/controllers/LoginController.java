@@ -5,6 +5,7 @@ import com.intellilib.services.UserService;
 import com.intellilib.session.SessionManager;
 import com.intellilib.util.ActivityLogger;
 import com.intellilib.util.FXMLLoaderUtil;
+import com.intellilib.util.ViewNavigator;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
@@ -25,6 +26,8 @@ public class LoginController {
     private SessionManager sessionManager;
     @Autowired
     private ActivityLogger activityLogger;
+    @Autowired
+    private ViewNavigator viewNavigator;
 
     public LoginController() {
         // No-arg constructor for FXML compatibility
@@ -88,7 +91,9 @@ public class LoginController {
                     break;
             }
             
-            Stage stage = FXMLLoaderUtil.loadStage(fxmlPath, title, true);
+            Stage stage = new Stage();
+            viewNavigator.show(stage, fxmlPath, title);
+            stage.setMaximized(true);
             stage.show();
             
             // Close login window
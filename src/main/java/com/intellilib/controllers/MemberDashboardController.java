@@ -1,11 +1,13 @@
 package com.intellilib.controllers;
 
+import com.intellilib.diagnostics.DashboardLoadEvent;
 import com.intellilib.models.Borrow;
 import com.intellilib.models.User;
 import com.intellilib.services.UserService;
 import com.intellilib.services.BookService;
 import com.intellilib.services.BorrowService;
 import com.intellilib.util.FXMLLoaderUtil;
+import com.intellilib.util.ViewNavigator;
 import javafx.stage.Stage;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.control.Alert;
@@ -23,6 +25,18 @@ import java.util.List;
 @Controller
 public class MemberDashboardController extends BaseDashboardController {
 
+    public static final String VIEW = "/views/member-dashboard.fxml";
+    public static final String TITLE = "Tableau de Bord Membre";
+
+    private static final String BROWSE_BOOKS_VIEW = "/views/member/browse-books.fxml";
+    private static final String MY_BORROWINGS_VIEW = "/views/member/my-borrowings.fxml";
+    private static final String MY_FINES_VIEW = "/views/member/my-fines.fxml";
+    private static final String UPDATE_PROFILE_VIEW = "/views/member/update-profile.fxml";
+    private static final String RECOMMENDATIONS_VIEW = "/views/member/recommendations.fxml";
+
+    // Active borrowings, overdue books, fines and total borrowed
+    private static final int STATISTIC_CARDS = 4;
+
     @FXML private Label welcomeLabel;
     @FXML private Label activeBorrowingsLabel;
     @FXML private Label overdueBooksLabel;
@@ -38,11 +52,14 @@ public class MemberDashboardController extends BaseDashboardController {
 
     private final BookService bookService;
     private final BorrowService borrowService;
+    private final ViewNavigator viewNavigator;
 
-    public MemberDashboardController(UserService userService, BookService bookService, BorrowService borrowService) {
+    public MemberDashboardController(UserService userService, BookService bookService, BorrowService borrowService,
+                                     ViewNavigator viewNavigator) {
         super(userService);
         this.bookService = bookService;
         this.borrowService = borrowService;
+        this.viewNavigator = viewNavigator;
     }
 
     @Override
@@ -57,9 +74,14 @@ public class MemberDashboardController extends BaseDashboardController {
 
         // Load recent borrowings
         loadRecentBorrowings();
+
+        // Screens reached from here open without parsing
+        viewNavigator.preload(BROWSE_BOOKS_VIEW, MY_BORROWINGS_VIEW, MY_FINES_VIEW,
+                UPDATE_PROFILE_VIEW, RECOMMENDATIONS_VIEW);
     }
 
     private void loadMemberStatistics() {
+        DashboardLoadEvent event = DashboardLoadEvent.start("member statistics");
         try {
             if (currentUser == null) return;
 
@@ -83,9 +105,11 @@ public class MemberDashboardController extends BaseDashboardController {
             showError("Erreur", "Impossible de charger les statistiques");
             e.printStackTrace();
         }
+        event.complete(STATISTIC_CARDS, currentUser);
     }
 
     private void loadRecentBorrowings() {
+        DashboardLoadEvent event = DashboardLoadEvent.start("recent borrowings");
         try {
             if (currentUser == null) return;
 
@@ -114,13 +138,13 @@ public class MemberDashboardController extends BaseDashboardController {
             showError("Erreur", "Impossible de charger les emprunts récents");
             e.printStackTrace();
         }
+        event.complete(recentBooksTable.getItems().size(), currentUser);
     }
 
     @FXML
     private void browseBooks() {
         try {
-            Stage stage = FXMLLoaderUtil.loadStage("/views/browse-books.fxml", "Parcourir les Livres", true);
-            stage.show();
+            viewNavigator.show(currentStage(), BROWSE_BOOKS_VIEW, "Parcourir les Livres");
         } catch (Exception e) {
             showError("Erreur", "Impossible d'ouvrir le catalogue");
             e.printStackTrace();
@@ -130,8 +154,7 @@ public class MemberDashboardController extends BaseDashboardController {
     @FXML
     private void viewMyBorrowings() {
         try {
-            Stage stage = FXMLLoaderUtil.loadStage("/views/my-borrowings.fxml", "Mes Emprunts", true);
-            stage.show();
+            viewNavigator.show(currentStage(), MY_BORROWINGS_VIEW, "Mes Emprunts");
         } catch (Exception e) {
             showError("Erreur", "Impossible d'ouvrir mes emprunts");
             e.printStackTrace();
@@ -141,8 +164,7 @@ public class MemberDashboardController extends BaseDashboardController {
     @FXML
     private void viewMyFines() {
         try {
-            Stage stage = FXMLLoaderUtil.loadStage("/views/my-fines.fxml", "Mes Amendes", true);
-            stage.show();
+            viewNavigator.show(currentStage(), MY_FINES_VIEW, "Mes Amendes");
         } catch (Exception e) {
             showError("Erreur", "Impossible d'ouvrir mes amendes");
             e.printStackTrace();
@@ -152,8 +174,7 @@ public class MemberDashboardController extends BaseDashboardController {
     @FXML
     private void updateProfile() {
         try {
-            Stage stage = FXMLLoaderUtil.loadStage("/views/update-profile.fxml", "Modifier Mon Profil", true);
-            stage.show();
+            viewNavigator.show(currentStage(), UPDATE_PROFILE_VIEW, "Modifier Mon Profil");
         } catch (Exception e) {
             showError("Erreur", "Impossible d'ouvrir la modification du profil");
             e.printStackTrace();
@@ -163,8 +184,7 @@ public class MemberDashboardController extends BaseDashboardController {
     @FXML
     private void viewRecommendations() {
         try {
-            Stage stage = FXMLLoaderUtil.loadStage("/views/recommendations.fxml", "Recommandations", true);
-            stage.show();
+            viewNavigator.show(currentStage(), RECOMMENDATIONS_VIEW, "Recommandations");
         } catch (Exception e) {
             showError("Erreur", "Impossible d'ouvrir les recommandations");
             e.printStackTrace();
@@ -174,8 +194,7 @@ public class MemberDashboardController extends BaseDashboardController {
     @FXML
     private void viewReadingHistory() {
         try {
-            Stage stage = FXMLLoaderUtil.loadStage("/views/reading-history.fxml", "Historique de Lecture", true);
-            stage.show();
+            viewNavigator.show(currentStage(), "/views/reading-history.fxml", "Historique de Lecture");
         } catch (Exception e) {
             showError("Erreur", "Impossible d'ouvrir l'historique de lecture");
             e.printStackTrace();
@@ -185,8 +204,9 @@ public class MemberDashboardController extends BaseDashboardController {
     @FXML
     private void logout() {
         try {
-            // Clear current user
+            // Clear current user and the views loaded for them
             userService.logout();
+            viewNavigator.clear();
 
             // Go back to login
             Stage stage = FXMLLoaderUtil.loadStage("/views/login.fxml", "Connexion - IntelliLib", false);
@@ -202,6 +222,10 @@ public class MemberDashboardController extends BaseDashboardController {
         }
     }
 
+    private Stage currentStage() {
+        return (Stage) welcomeLabel.getScene().getWindow();
+    }
+
     private void showError(String title, String message) {
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle(title);
@@ -0,0 +1,90 @@
+package com.intellilib.controllers.admin;
+
+import com.intellilib.services.CacheStatisticsService;
+import com.intellilib.services.CacheStatisticsService.RegionStatistics;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXML;
+import javafx.scene.control.*;
+import javafx.scene.control.cell.PropertyValueFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+
+@Controller
+public class CacheStatisticsController {
+
+    @FXML private TableView<RegionStatistics> regionTable;
+    @FXML private TableColumn<RegionStatistics, String> regionColumn;
+    @FXML private TableColumn<RegionStatistics, Long> hitsColumn;
+    @FXML private TableColumn<RegionStatistics, Long> missesColumn;
+    @FXML private TableColumn<RegionStatistics, String> hitRatioColumn;
+    @FXML private TableColumn<RegionStatistics, Long> putsColumn;
+    @FXML private TableColumn<RegionStatistics, String> sizeColumn;
+
+    @FXML private Label queryCacheLabel;
+    @FXML private Label statusLabel;
+
+    private final CacheStatisticsService cacheStatisticsService;
+    private final ObservableList<RegionStatistics> regionList = FXCollections.observableArrayList();
+
+    @Autowired
+    public CacheStatisticsController(CacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    @FXML
+    public void initialize() {
+        setupTableColumns();
+        regionTable.setItems(regionList);
+        loadStatistics();
+    }
+
+    private void setupTableColumns() {
+        regionColumn.setCellValueFactory(new PropertyValueFactory<>("region"));
+        hitsColumn.setCellValueFactory(new PropertyValueFactory<>("hits"));
+        missesColumn.setCellValueFactory(new PropertyValueFactory<>("misses"));
+        putsColumn.setCellValueFactory(new PropertyValueFactory<>("puts"));
+        hitRatioColumn.setCellValueFactory(data ->
+                new SimpleStringProperty(formatRatio(data.getValue())));
+        sizeColumn.setCellValueFactory(data -> new SimpleStringProperty(
+                data.getValue().getElementsInMemory() < 0 ? "-" : String.valueOf(data.getValue().getElementsInMemory())));
+    }
+
+    private void loadStatistics() {
+        regionList.setAll(cacheStatisticsService.getRegionStatistics());
+
+        RegionStatistics queryCache = cacheStatisticsService.getQueryCacheStatistics();
+        queryCacheLabel.setText(String.format("Query cache: %d hits, %d misses, %d puts (%s)",
+                queryCache.getHits(), queryCache.getMisses(), queryCache.getPuts(), formatRatio(queryCache)));
+
+        if (!cacheStatisticsService.isEnabled()) {
+            showStatus("Statistics are disabled, set hibernate.generate_statistics=true");
+        } else {
+            showStatus("Statistics since startup or last reset");
+        }
+    }
+
+    @FXML
+    private void handleRefresh() {
+        loadStatistics();
+    }
+
+    @FXML
+    private void handleReset() {
+        cacheStatisticsService.reset();
+        loadStatistics();
+        showStatus("Statistics reset");
+    }
+
+    private String formatRatio(RegionStatistics statistics) {
+        if (statistics.getHits() + statistics.getMisses() == 0) {
+            return "-";
+        }
+        return String.format("%.1f%%", statistics.getHitRatio() * 100);
+    }
+
+    private void showStatus(String message) {
+        statusLabel.setText(message);
+    }
+}
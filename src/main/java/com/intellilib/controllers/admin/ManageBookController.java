@@ -1,5 +1,6 @@
 package com.intellilib.controllers.admin;
 
+import com.intellilib.controllers.member.BookReaderController;
 import com.intellilib.models.Book;
 import com.intellilib.models.Category;
 import com.intellilib.models.User;
@@ -8,6 +9,12 @@ import com.intellilib.services.CategoryService;
 import com.intellilib.services.FileStorageService;
 import com.intellilib.session.SessionManager;
 import com.intellilib.util.ActivityLogger;
+import com.intellilib.util.AppExecutors;
+import com.intellilib.util.FXMLLoaderUtil;
+import com.intellilib.util.RefreshableView;
+import com.intellilib.util.SearchPipeline;
+import com.intellilib.util.SearchPipelines;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
@@ -25,9 +32,10 @@ import java.nio.file.Path;
 import java.util.Comparator;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 @Controller
-public class ManageBookController {
+public class ManageBookController implements RefreshableView {
 
     @FXML private TableView<Book> bookTable;
     @FXML private TableColumn<Book, String> isbnColumn;
@@ -62,6 +70,8 @@ public class ManageBookController {
     private final FileStorageService fileStorageService;
     private final ActivityLogger activityLogger;
     private final SessionManager sessionManager;
+    private final AppExecutors appExecutors;
+    private final SearchPipelines searchPipelines;
     private final ObservableList<Book> bookList = FXCollections.observableArrayList();
     private final ObservableList<Category> categoryList = FXCollections.observableArrayList();
 
@@ -75,12 +85,16 @@ public class ManageBookController {
                                 CategoryService categoryService,
                                 FileStorageService fileStorageService,
                                 ActivityLogger activityLogger,
-                                SessionManager sessionManager) {
+                                SessionManager sessionManager,
+                                AppExecutors appExecutors,
+                                SearchPipelines searchPipelines) {
         this.bookService = bookService;
         this.categoryService = categoryService;
         this.fileStorageService = fileStorageService;
         this.activityLogger = activityLogger;
         this.sessionManager = sessionManager;
+        this.appExecutors = appExecutors;
+        this.searchPipelines = searchPipelines;
     }
 
     @FXML
@@ -98,6 +112,12 @@ public class ManageBookController {
         clearFileButton.setDisable(true);
     }
 
+    @Override
+    public void refresh() {
+        loadCategories();
+        loadBooks();
+    }
+
     private void setupTableColumns() {
         isbnColumn.setCellValueFactory(new PropertyValueFactory<>("isbn"));
         titleColumn.setCellValueFactory(new PropertyValueFactory<>("title"));
@@ -171,19 +191,18 @@ public class ManageBookController {
     private void setupSearch() {
         FilteredList<Book> filteredData = new FilteredList<>(bookList, p -> true);
 
-        searchField.textProperty().addListener((observable, oldValue, newValue) -> {
-            filteredData.setPredicate(book -> {
-                if (newValue == null || newValue.isEmpty()) {
-                    return true;
-                }
+        SearchPipeline<String, Predicate<Book>> search = searchPipelines.filter("admin.books", filteredData, text -> {
+            if (text == null || text.isEmpty()) {
+                return null;
+            }
 
-                String lowerCaseFilter = newValue.toLowerCase();
+            String lowerCaseFilter = text.toLowerCase();
 
-                return book.getTitle().toLowerCase().contains(lowerCaseFilter) ||
-                        book.getAuthor().toLowerCase().contains(lowerCaseFilter) ||
-                        (book.getIsbn() != null && book.getIsbn().toLowerCase().contains(lowerCaseFilter));
-            });
+            return book -> book.getTitle().toLowerCase().contains(lowerCaseFilter) ||
+                    book.getAuthor().toLowerCase().contains(lowerCaseFilter) ||
+                    (book.getIsbn() != null && book.getIsbn().toLowerCase().contains(lowerCaseFilter));
         });
+        searchField.textProperty().addListener((observable, oldValue, newValue) -> search.submit(newValue));
 
         javafx.collections.transformation.SortedList<Book> sortedData = new javafx.collections.transformation.SortedList<>(filteredData);
         sortedData.comparatorProperty().bind(bookTable.comparatorProperty());
@@ -289,11 +308,15 @@ public class ManageBookController {
     @FXML
     private void handleViewFile() {
         try {
-            if (storedFilePath != null && !storedFilePath.isEmpty()) {
-                // View existing file from database
+            Book selectedBook = bookTable.getSelectionModel().getSelectedItem();
+            if (storedFilePath != null && !storedFilePath.isEmpty() && selectedBook != null) {
+                // View existing file from database in the built-in reader
+                Stage stage = FXMLLoaderUtil.<BookReaderController>loadStage("/views/member/book-reader.fxml",
+                        "Reader - " + selectedBook.getTitle(), true, reader -> reader.openBook(selectedBook));
+                stage.show();
+            } else if (storedFilePath != null && !storedFilePath.isEmpty()) {
                 Path filePath = fileStorageService.loadFile(storedFilePath);
-                File fileToOpen = filePath.toFile();
-                openFileWithProcessBuilder(fileToOpen);
+                openFileWithProcessBuilder(filePath.toFile());
             } else if (selectedFile != null) {
                 // View newly selected file (not yet saved)
                 openFileWithProcessBuilder(selectedFile);
@@ -329,18 +352,17 @@ public class ManageBookController {
         try {
             Process process = processBuilder.start();
 
-            new Thread(() -> {
+            appExecutors.io().execute(() -> {
                 try {
                     boolean exited = process.waitFor(5, TimeUnit.SECONDS);
-                    if (exited && process.exitValue() != 0) {
-                        showStatus("Failed to open file. Make sure you have a PDF viewer installed.");
-                    } else {
-                        showStatus("File opened successfully");
-                    }
+                    String status = exited && process.exitValue() != 0
+                            ? "Failed to open file. Make sure you have a PDF viewer installed."
+                            : "File opened successfully";
+                    Platform.runLater(() -> showStatus(status));
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                 }
-            }).start();
+            });
 
         } catch (Exception e) {
             showStatus("Error opening file: " + e.getMessage());
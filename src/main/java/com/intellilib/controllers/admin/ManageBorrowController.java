@@ -4,34 +4,37 @@ import com.intellilib.models.*;
 import com.intellilib.services.*;
 import com.intellilib.session.SessionManager;
 import com.intellilib.util.ActivityLogger;
+import com.intellilib.util.RefreshableView;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.GridPane;
 import javafx.stage.Stage;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleStringProperty;
 import org.springframework.stereotype.Controller;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 @Controller
-public class ManageBorrowController {
-    @FXML private TableView<Borrow> borrowTable;
-    @FXML private TableColumn<Borrow, Long> idColumn;
-    @FXML private TableColumn<Borrow, String> bookTitleColumn;
-    @FXML private TableColumn<Borrow, String> memberNameColumn;
-    @FXML private TableColumn<Borrow, LocalDate> borrowDateColumn;
-    @FXML private TableColumn<Borrow, LocalDate> dueDateColumn;
-    @FXML private TableColumn<Borrow, LocalDate> returnDateColumn;
-    @FXML private TableColumn<Borrow, Boolean> returnedColumn;
+public class ManageBorrowController implements RefreshableView {
+    @FXML private TableView<BorrowRowView> borrowTable;
+    @FXML private TableColumn<BorrowRowView, Long> idColumn;
+    @FXML private TableColumn<BorrowRowView, String> bookTitleColumn;
+    @FXML private TableColumn<BorrowRowView, String> memberNameColumn;
+    @FXML private TableColumn<BorrowRowView, LocalDate> borrowDateColumn;
+    @FXML private TableColumn<BorrowRowView, LocalDate> dueDateColumn;
+    @FXML private TableColumn<BorrowRowView, LocalDate> returnDateColumn;
+    @FXML private TableColumn<BorrowRowView, Boolean> returnedColumn;
     
     // New columns for fine management
-    @FXML private TableColumn<Borrow, Double> fineAmountColumn;
-    @FXML private TableColumn<Borrow, Integer> daysOverdueColumn;
-    @FXML private TableColumn<Borrow, String> fineStatusColumn;
+    @FXML private TableColumn<BorrowRowView, Double> fineAmountColumn;
+    @FXML private TableColumn<BorrowRowView, Integer> daysOverdueColumn;
+    @FXML private TableColumn<BorrowRowView, String> fineStatusColumn;
     
     @FXML private ComboBox<Book> bookCombo;
     @FXML private ComboBox<Member> memberCombo;
@@ -51,7 +54,7 @@ public class ManageBorrowController {
     private final ActivityLogger activityLogger;
 
     
-    private final ObservableList<Borrow> borrowList = FXCollections.observableArrayList();
+    private final ObservableList<BorrowRowView> borrowList = FXCollections.observableArrayList();
     private final ObservableList<Book> availableBooks = FXCollections.observableArrayList();
     private final ObservableList<Member> activeMembers = FXCollections.observableArrayList();
     
@@ -77,26 +80,34 @@ public class ManageBorrowController {
         setupListeners();
         updateButtonStates();
     }
+
+    @Override
+    public void refresh() {
+        loadAvailableBooks();
+        loadActiveMembers();
+        loadBorrows();
+    }
     
     private void setupTableColumns() {
-        idColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
+        // Rows are records, so read the components directly instead of PropertyValueFactory
+        idColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().id()));
         bookTitleColumn.setCellValueFactory(cellData -> 
-            new SimpleStringProperty(cellData.getValue().getBook().getTitle()));
+            new SimpleStringProperty(cellData.getValue().bookTitle()));
         memberNameColumn.setCellValueFactory(cellData -> 
-            new SimpleStringProperty(cellData.getValue().getMember().getFullName()));
-        borrowDateColumn.setCellValueFactory(new PropertyValueFactory<>("borrowDate"));
-        dueDateColumn.setCellValueFactory(new PropertyValueFactory<>("dueDate"));
-        returnDateColumn.setCellValueFactory(new PropertyValueFactory<>("returnDate"));
-        returnedColumn.setCellValueFactory(new PropertyValueFactory<>("returned"));
+            new SimpleStringProperty(cellData.getValue().memberName()));
+        borrowDateColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().borrowDate()));
+        dueDateColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().dueDate()));
+        returnDateColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().returnDate()));
+        returnedColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().returned()));
         
         // Fine columns
-        fineAmountColumn.setCellValueFactory(new PropertyValueFactory<>("fineAmount"));
-        daysOverdueColumn.setCellValueFactory(new PropertyValueFactory<>("daysOverdue"));
+        fineAmountColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().fineAmount()));
+        daysOverdueColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().daysOverdue()));
         fineStatusColumn.setCellValueFactory(cellData -> 
-            new SimpleStringProperty(cellData.getValue().getFineStatus().toString()));
+            new SimpleStringProperty(String.valueOf(cellData.getValue().fineStatus())));
         
         // Add cell factory for fine amount (color coding)
-        fineAmountColumn.setCellFactory(column -> new TableCell<Borrow, Double>() {
+        fineAmountColumn.setCellFactory(column -> new TableCell<BorrowRowView, Double>() {
             @Override
             protected void updateItem(Double amount, boolean empty) {
                 super.updateItem(amount, empty);
@@ -118,7 +129,7 @@ public class ManageBorrowController {
         });
         
         // Color code for days overdue
-        daysOverdueColumn.setCellFactory(column -> new TableCell<Borrow, Integer>() {
+        daysOverdueColumn.setCellFactory(column -> new TableCell<BorrowRowView, Integer>() {
             @Override
             protected void updateItem(Integer days, boolean empty) {
                 super.updateItem(days, empty);
@@ -200,20 +211,29 @@ public class ManageBorrowController {
     }
     
     private void loadBorrows() {
-        borrowList.setAll(borrowService.getAllBorrows());
+        borrowList.setAll(borrowService.getBorrowRows());
         borrowTable.setItems(borrowList);
         
-        // Sort by due date (oldest first)
-        borrowTable.getSortOrder().add(dueDateColumn);
+        // Sort by due date (oldest first), the view is reloaded on every visit
+        if (!borrowTable.getSortOrder().contains(dueDateColumn)) {
+            borrowTable.getSortOrder().add(dueDateColumn);
+        }
         dueDateColumn.setSortType(TableColumn.SortType.ASCENDING);
         borrowTable.sort();
     }
     
     private void setupListeners() {
+        // Several borrows can be selected and returned together at the desk
+        borrowTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        borrowTable.getSelectionModel().getSelectedItems().addListener(
+            (ListChangeListener<BorrowRowView>) change -> updateButtonStates());
         borrowTable.getSelectionModel().selectedItemProperty().addListener(
             (obs, oldSelection, newSelection) -> {
                 if (newSelection != null) {
-                    populateForm(newSelection);
+                    Borrow borrow = selectedBorrow();
+                    if (borrow != null) {
+                        populateForm(borrow);
+                    }
                     updateButtonStates();
                 }
             });
@@ -263,55 +283,63 @@ public class ManageBorrowController {
     
     @FXML
     private void handleReturn() {
-        Borrow selectedBorrow = borrowTable.getSelectionModel().getSelectedItem();
-        if (selectedBorrow != null && !selectedBorrow.isReturned()) {
-            Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
-            alert.setTitle("Return Book");
-            alert.setHeaderText("Return Confirmation");
+        List<Long> borrowIds = borrowTable.getSelectionModel().getSelectedItems().stream()
+            .filter(row -> !row.returned())
+            .map(BorrowRowView::id)
+            .toList();
+        if (borrowIds.isEmpty()) {
+            return;
+        }
+        
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle("Return Book");
+        alert.setHeaderText("Return Confirmation");
+        if (borrowIds.size() == 1) {
+            Borrow selectedBorrow = borrowService.getBorrowById(borrowIds.get(0)).orElse(null);
+            if (selectedBorrow == null) {
+                return;
+            }
             alert.setContentText("Are you sure you want to return '" + 
                 selectedBorrow.getBook().getTitle() + "'?\n" +
                 (selectedBorrow.isOverdue() ? 
-                    "This book is overdue by " + selectedBorrow.getDaysOverdue() + " days.\n" +
-                    "Fine amount: $" + selectedBorrow.getFineAmount() : 
+                    "This book is overdue by " + selectedBorrow.calculateDaysOverdue() + " days.\n" +
+                    "Fine amount: $" + selectedBorrow.calculateFine() : 
                     "No fines applicable."));
-            
-            Optional<ButtonType> result = alert.showAndWait();
-            if (result.isPresent() && result.get() == ButtonType.OK) {
-                try {
-                    // Calculate fine before returning
-                    if (selectedBorrow.isOverdue()) {
-                        fineService.updateFineForBorrow(selectedBorrow);
-                    }
-                    
-                    selectedBorrow.setReturned(true);
-                    selectedBorrow.setReturnDate(LocalDate.now());
-                    borrowService.saveBorrow(selectedBorrow);
-                    activityLogger.logBookReturn(sessionManager.getCurrentUser(), selectedBorrow.getBook().getTitle());
-                    
-                    // Update member's overdue count
-                    Member member = selectedBorrow.getMember();
-                    if (selectedBorrow.isOverdue()) {
-                        member.setOverdueBooksCount(
-                            Math.max(0, member.getOverdueBooksCount() - 1));
-                        memberService.createMember(member);
-                    }
-                    
-                    loadBorrows();
-                    loadActiveMembers(); // Refresh member list
-                    
-                    showSuccess("Success", "Book returned successfully!" + 
-                        (selectedBorrow.getFineAmount() > 0 ? 
-                            "\nFine amount: $" + selectedBorrow.getFineAmount() : ""));
-                } catch (Exception e) {
-                    showError("Error", "Failed to return book: " + e.getMessage());
+        } else {
+            alert.setContentText("Are you sure you want to return " + borrowIds.size() + " books?\n" +
+                "Fines of overdue books are calculated on return.");
+        }
+        
+        Optional<ButtonType> result = alert.showAndWait();
+        if (result.isPresent() && result.get() == ButtonType.OK) {
+            try {
+                // One transaction for the whole selection: fines, member counts and a single activity entry
+                BorrowService.BulkResult returned = borrowService.returnBooks(borrowIds, sessionManager.getCurrentUser());
+                
+                loadBorrows();
+                loadActiveMembers(); // Refresh member list
+                
+                double fines = returned.getProcessed().stream()
+                    .mapToDouble(Borrow::getFineAmount)
+                    .sum();
+                StringBuilder message = new StringBuilder(returned.getProcessed().size() == 1 ?
+                    "Book returned successfully!" :
+                    returned.getProcessed().size() + " books returned successfully!");
+                if (fines > 0) {
+                    message.append(String.format("\nFine amount: $%.2f", fines));
                 }
+                returned.getRejected().forEach((id, reason) ->
+                    message.append("\nBorrow #").append(id).append(": ").append(reason));
+                showSuccess("Success", message.toString());
+            } catch (Exception e) {
+                showError("Error", "Failed to return book: " + e.getMessage());
             }
         }
     }
     
     @FXML
     private void handleViewFine() {
-        Borrow selectedBorrow = borrowTable.getSelectionModel().getSelectedItem();
+        Borrow selectedBorrow = selectedBorrow();
         if (selectedBorrow != null && selectedBorrow.getFineAmount() > 0) {
             Alert alert = new Alert(Alert.AlertType.INFORMATION);
             alert.setTitle("Fine Details");
@@ -347,7 +375,7 @@ public class ManageBorrowController {
     
     @FXML
     private void handlePayFine() {
-        Borrow selectedBorrow = borrowTable.getSelectionModel().getSelectedItem();
+        Borrow selectedBorrow = selectedBorrow();
         if (selectedBorrow != null && selectedBorrow.getFineAmount() > 0) {
             // Open fine payment dialog
             openFinePaymentDialog(selectedBorrow);
@@ -356,7 +384,7 @@ public class ManageBorrowController {
     
     @FXML
     private void handleDelete() {
-        Borrow selectedBorrow = borrowTable.getSelectionModel().getSelectedItem();
+        Borrow selectedBorrow = selectedBorrow();
         if (selectedBorrow != null) {
             Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
             alert.setTitle("Confirmation");
@@ -558,15 +586,16 @@ public class ManageBorrowController {
     }
     
     private void updateButtonStates() {
-        Borrow selectedBorrow = borrowTable.getSelectionModel().getSelectedItem();
+        BorrowRowView selectedRow = borrowTable.getSelectionModel().getSelectedItem();
         
-        if (selectedBorrow != null) {
-            returnButton.setDisable(selectedBorrow.isReturned());
-            viewFineButton.setDisable(selectedBorrow.getFineAmount() <= 0);
+        if (selectedRow != null) {
+            returnButton.setDisable(borrowTable.getSelectionModel().getSelectedItems().stream()
+                .allMatch(BorrowRowView::returned));
+            viewFineButton.setDisable(!selectedRow.hasFine());
             payFineButton.setDisable(
-                selectedBorrow.getFineAmount() <= 0 || 
-                selectedBorrow.getFineStatus() == Borrow.FineStatus.PAID ||
-                selectedBorrow.getFineStatus() == Borrow.FineStatus.WAIVED
+                !selectedRow.hasFine() || 
+                selectedRow.fineStatus() == Borrow.FineStatus.PAID ||
+                selectedRow.fineStatus() == Borrow.FineStatus.WAIVED
             );
         } else {
             returnButton.setDisable(true);
@@ -575,6 +604,15 @@ public class ManageBorrowController {
         }
     }
     
+    // Actions work on the full entity, loaded with book and member in one select
+    private Borrow selectedBorrow() {
+        BorrowRowView selectedRow = borrowTable.getSelectionModel().getSelectedItem();
+        if (selectedRow == null) {
+            return null;
+        }
+        return borrowService.getBorrowById(selectedRow.id()).orElse(null);
+    }
+    
     private void clearForm() {
         currentBorrow = null;
         bookCombo.getSelectionModel().clearSelection();
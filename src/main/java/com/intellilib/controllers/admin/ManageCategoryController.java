@@ -4,6 +4,8 @@ import com.intellilib.models.Category;
 import com.intellilib.services.CategoryService;
 import com.intellilib.session.SessionManager;
 import com.intellilib.util.ActivityLogger;
+import com.intellilib.util.SearchPipeline;
+import com.intellilib.util.SearchPipelines;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
@@ -14,6 +16,8 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 
+import java.util.function.Predicate;
+
 @Controller
 public class ManageCategoryController {
 
@@ -35,13 +39,16 @@ public class ManageCategoryController {
     private final CategoryService categoryService;
     private final SessionManager sessionManager;
     private final ActivityLogger activityLogger;
+    private final SearchPipelines searchPipelines;
     private final ObservableList<Category> categoryList = FXCollections.observableArrayList();
     
     @Autowired
-    public ManageCategoryController(CategoryService categoryService, SessionManager sessionManager, ActivityLogger activityLogger) {
+    public ManageCategoryController(CategoryService categoryService, SessionManager sessionManager, ActivityLogger activityLogger,
+                                    SearchPipelines searchPipelines) {
         this.categoryService = categoryService;
         this.sessionManager = sessionManager;
         this.activityLogger = activityLogger;
+        this.searchPipelines = searchPipelines;
     }
     
     @FXML
@@ -84,18 +91,17 @@ public class ManageCategoryController {
     private void setupSearch() {
         FilteredList<Category> filteredData = new FilteredList<>(categoryList, p -> true);
         
-        searchField.textProperty().addListener((observable, oldValue, newValue) -> {
-            filteredData.setPredicate(category -> {
-                if (newValue == null || newValue.isEmpty()) {
-                    return true;
-                }
-                
-                String lowerCaseFilter = newValue.toLowerCase();
-                return category.getName().toLowerCase().contains(lowerCaseFilter) ||
-                       (category.getDescription() != null && 
-                        category.getDescription().toLowerCase().contains(lowerCaseFilter));
-            });
+        SearchPipeline<String, Predicate<Category>> search = searchPipelines.filter("admin.categories", filteredData, text -> {
+            if (text == null || text.isEmpty()) {
+                return null;
+            }
+            
+            String lowerCaseFilter = text.toLowerCase();
+            return category -> category.getName().toLowerCase().contains(lowerCaseFilter) ||
+                   (category.getDescription() != null && 
+                    category.getDescription().toLowerCase().contains(lowerCaseFilter));
         });
+        searchField.textProperty().addListener((observable, oldValue, newValue) -> search.submit(newValue));
         
         SortedList<Category> sortedData = new SortedList<>(filteredData);
         sortedData.comparatorProperty().bind(categoryTable.comparatorProperty());
@@ -5,6 +5,9 @@ import com.intellilib.services.*;
 import com.intellilib.repositories.*;
 import com.intellilib.session.SessionManager;
 import com.intellilib.util.ActivityLogger;
+import com.intellilib.util.RefreshableView;
+import com.intellilib.util.SearchPipeline;
+import com.intellilib.util.SearchPipelines;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
@@ -14,6 +17,7 @@ import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleStringProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,18 +28,19 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 @Controller
-public class ManageFinesController {
+public class ManageFinesController implements RefreshableView {
 
-    @FXML private TableView<Borrow> finesTable;
-    @FXML private TableColumn<Borrow, Long> idColumn;
-    @FXML private TableColumn<Borrow, String> bookColumn;
-    @FXML private TableColumn<Borrow, String> memberColumn;
-    @FXML private TableColumn<Borrow, LocalDate> dueDateColumn;
-    @FXML private TableColumn<Borrow, Integer> daysOverdueColumn;
-    @FXML private TableColumn<Borrow, Double> fineAmountColumn;
-    @FXML private TableColumn<Borrow, String> statusColumn;
+    @FXML private TableView<FineRowView> finesTable;
+    @FXML private TableColumn<FineRowView, Long> idColumn;
+    @FXML private TableColumn<FineRowView, String> bookColumn;
+    @FXML private TableColumn<FineRowView, String> memberColumn;
+    @FXML private TableColumn<FineRowView, LocalDate> dueDateColumn;
+    @FXML private TableColumn<FineRowView, Integer> daysOverdueColumn;
+    @FXML private TableColumn<FineRowView, Double> fineAmountColumn;
+    @FXML private TableColumn<FineRowView, String> statusColumn;
 
     @FXML private TableView<FineTransaction> transactionsTable;
     @FXML private TableColumn<FineTransaction, String> receiptColumn;
@@ -70,20 +75,23 @@ public class ManageFinesController {
     private final BorrowRepository borrowRepository;
     private final SessionManager sessionManager;
     private final ActivityLogger activityLogger;
+    private final SearchPipelines searchPipelines;
 
-    private final ObservableList<Borrow> finesList = FXCollections.observableArrayList();
+    private final ObservableList<FineRowView> finesList = FXCollections.observableArrayList();
     private final ObservableList<FineTransaction> transactionsList = FXCollections.observableArrayList();
 
     // Add these for proper filtering like in ManageCategoryController
-    private FilteredList<Borrow> filteredFinesData;
-    private SortedList<Borrow> sortedFinesData;
+    private FilteredList<FineRowView> filteredFinesData;
+    private SortedList<FineRowView> sortedFinesData;
+    private SearchPipeline<String, Predicate<FineRowView>> finesSearch;
 
     public ManageFinesController(FineService fineService, BorrowService borrowService,
                                  FineTransactionRepository transactionRepository,
                                  MemberService memberService,
                                  SessionManager sessionManager,
                                  ActivityLogger activityLogger,
-                                 BorrowRepository borrowRepository) {
+                                 BorrowRepository borrowRepository,
+                                 SearchPipelines searchPipelines) {
         this.fineService = fineService;
         this.borrowService = borrowService;
         this.transactionRepository = transactionRepository;
@@ -91,6 +99,7 @@ public class ManageFinesController {
         this.sessionManager = sessionManager;
         this.activityLogger = activityLogger;
         this.borrowRepository = borrowRepository;
+        this.searchPipelines = searchPipelines;
     }
 
     @FXML
@@ -103,21 +112,27 @@ public class ManageFinesController {
         setupSearchFilter(); // Add this method
     }
 
+    @Override
+    public void refresh() {
+        loadData();
+    }
+
     private void setupTables() {
         // Fines table
-        idColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
+        // Rows are records, so read the components directly instead of PropertyValueFactory
+        idColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().id()));
         bookColumn.setCellValueFactory(cellData ->
-                new SimpleStringProperty(cellData.getValue().getBook().getTitle()));
+                new SimpleStringProperty(cellData.getValue().bookTitle()));
         memberColumn.setCellValueFactory(cellData ->
-                new SimpleStringProperty(cellData.getValue().getMember().getFullName()));
-        dueDateColumn.setCellValueFactory(new PropertyValueFactory<>("dueDate"));
-        daysOverdueColumn.setCellValueFactory(new PropertyValueFactory<>("daysOverdue"));
-        fineAmountColumn.setCellValueFactory(new PropertyValueFactory<>("fineAmount"));
+                new SimpleStringProperty(cellData.getValue().memberName()));
+        dueDateColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().dueDate()));
+        daysOverdueColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().daysOverdue()));
+        fineAmountColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().fineAmount()));
         statusColumn.setCellValueFactory(cellData ->
-                new SimpleStringProperty(cellData.getValue().getFineStatus().toString()));
+                new SimpleStringProperty(String.valueOf(cellData.getValue().fineStatus())));
 
         // Format fine amount
-        fineAmountColumn.setCellFactory(column -> new TableCell<Borrow, Double>() {
+        fineAmountColumn.setCellFactory(column -> new TableCell<FineRowView, Double>() {
             @Override
             protected void updateItem(Double amount, boolean empty) {
                 super.updateItem(amount, empty);
@@ -134,7 +149,7 @@ public class ManageFinesController {
         });
 
         // Color code status
-        statusColumn.setCellFactory(column -> new TableCell<Borrow, String>() {
+        statusColumn.setCellFactory(column -> new TableCell<FineRowView, String>() {
             @Override
             protected void updateItem(String status, boolean empty) {
                 super.updateItem(status, empty);
@@ -220,12 +235,18 @@ public class ManageFinesController {
         // Set the table items to the sorted data
         finesTable.setItems(sortedFinesData);
 
-        // Set up the search filter listener
+        // Filter in the background, then update the summary from the filtered rows
+        finesSearch = searchPipelines.filter("admin.fines", filteredFinesData,
+                text -> FineRowView.filter(statusFilter.getValue(),
+                        fromDateFilter.getValue(), toDateFilter.getValue(), text),
+                this::updateSummary);
+
+        // Set up the search filter listener, debounced while typing
         searchField.textProperty().addListener((observable, oldValue, newValue) -> {
-            updateFilters();
+            finesSearch.submit(newValue);
         });
         
-        // Add status and date filter listeners
+        // Add status and date filter listeners, applied at once
         statusFilter.valueProperty().addListener((observable, oldValue, newValue) -> {
             updateFilters();
         });
@@ -241,10 +262,8 @@ public class ManageFinesController {
 
     private void loadData() {
         try {
-            // Load all borrows with fines into the base list
-            List<Borrow> allFines = borrowService.getAllBorrows().stream()
-                    .filter(b -> b.getFineAmount() > 0 || b.getFineStatus() != Borrow.FineStatus.NONE)
-                    .toList();
+            // Load all borrows with fines into the base list, filtered in the query
+            List<FineRowView> allFines = borrowService.getFineRows();
 
             // Clear and add all items to maintain the observable list reference
             finesList.clear();
@@ -278,97 +297,20 @@ public class ManageFinesController {
     }
 
     private void updateFilters() {
-        if (filteredFinesData == null) {
+        if (finesSearch == null) {
             return;
         }
 
-        filteredFinesData.setPredicate(borrow -> {
-            if (borrow == null) {
-                return false;
-            }
-
-            // First, check if it has a fine
-            if (borrow.getFineAmount() <= 0 && borrow.getFineStatus() == Borrow.FineStatus.NONE) {
-                return false;
-            }
-
-            // Apply status filter
-            if (statusFilter.getValue() != null) {
-                if (borrow.getFineStatus() != statusFilter.getValue()) {
-                    return false;
-                }
-            }
-
-            // Apply date filter - only if dates are set
-            LocalDate fromDate = fromDateFilter.getValue();
-            LocalDate toDate = toDateFilter.getValue();
-            LocalDate dueDate = borrow.getDueDate();
-
-            if (fromDate != null && dueDate != null) {
-                if (dueDate.isBefore(fromDate)) {
-                    return false;
-                }
-            }
-
-            if (toDate != null && dueDate != null) {
-                if (dueDate.isAfter(toDate)) {
-                    return false;
-                }
-            }
-
-            // Apply search filter
-            String searchText = searchField.getText();
-            if (searchText != null && !searchText.trim().isEmpty()) {
-                String lowerSearchText = searchText.toLowerCase().trim();
-
-                // Check book title
-                if (borrow.getBook() != null && borrow.getBook().getTitle() != null &&
-                        borrow.getBook().getTitle().toLowerCase().contains(lowerSearchText)) {
-                    return true;
-                }
-
-                // Check member name
-                if (borrow.getMember() != null && borrow.getMember().getFullName() != null &&
-                        borrow.getMember().getFullName().toLowerCase().contains(lowerSearchText)) {
-                    return true;
-                }
-
-                // Check member email
-                if (borrow.getMember() != null && borrow.getMember().getEmail() != null &&
-                        borrow.getMember().getEmail().toLowerCase().contains(lowerSearchText)) {
-                    return true;
-                }
-
-                // Check borrow ID
-                if (borrow.getId() != null &&
-                        borrow.getId().toString().contains(lowerSearchText)) {
-                    return true;
-                }
-
-                // Check ISBN if available
-                if (borrow.getBook() != null && borrow.getBook().getIsbn() != null &&
-                        borrow.getBook().getIsbn().toLowerCase().contains(lowerSearchText)) {
-                    return true;
-                }
-
-                // If no match, filter out
-                return false;
-            }
-
-            // If no search text, include all matching the other filters
-            return true;
-        });
-
-        // Update summary after filtering
-        updateSummary();
+        // The summary is updated once the filtered rows are in
+        finesSearch.submitNow(searchField.getText());
     }
 
     private void updateSummary() {
         // Use the filtered data for summary calculations
         double totalPending = sortedFinesData != null ?
                 sortedFinesData.stream()
-                        .filter(b -> b.getFineStatus() == Borrow.FineStatus.PENDING)
-                        .mapToDouble(Borrow::getFineAmount)
+                        .filter(row -> row.fineStatus() == Borrow.FineStatus.PENDING)
+                        .mapToDouble(FineRowView::fineAmount)
                         .sum() : 0.0;
 
         double totalCollected = transactionRepository.getTotalCollectedFines() != null ?
@@ -421,7 +363,7 @@ public class ManageFinesController {
 
     @FXML
     private void handlePay() {
-        Borrow selectedBorrow = finesTable.getSelectionModel().getSelectedItem();
+        Borrow selectedBorrow = selectedBorrow();
         if (selectedBorrow != null && selectedBorrow.getFineAmount() > 0) {
             // Check if fine is already paid or waived
             if (selectedBorrow.getFineStatus() == Borrow.FineStatus.PAID) {
@@ -569,7 +511,7 @@ public class ManageFinesController {
 
     @FXML
     private void handleWaive() {
-        Borrow selectedBorrow = finesTable.getSelectionModel().getSelectedItem();
+        Borrow selectedBorrow = selectedBorrow();
         if (selectedBorrow != null && selectedBorrow.getFineAmount() > 0) {
             // Check if fine is already paid or waived
             if (selectedBorrow.getFineStatus() == Borrow.FineStatus.PAID) {
@@ -684,7 +626,7 @@ public class ManageFinesController {
 
     @FXML
     private void handleViewDetails() {
-        Borrow selectedBorrow = finesTable.getSelectionModel().getSelectedItem();
+        Borrow selectedBorrow = selectedBorrow();
         if (selectedBorrow != null) {
             Alert alert = new Alert(Alert.AlertType.INFORMATION);
             alert.setTitle("Fine Details");
@@ -834,20 +776,11 @@ public class ManageFinesController {
     }
 
     private void updateButtonStates() {
-        Borrow selectedBorrow = finesTable.getSelectionModel().getSelectedItem();
+        FineRowView selectedRow = finesTable.getSelectionModel().getSelectedItem();
 
-        if (selectedBorrow != null) {
-            payButton.setDisable(
-                    selectedBorrow.getFineAmount() <= 0 ||
-                            selectedBorrow.getFineStatus() == Borrow.FineStatus.PAID ||
-                            selectedBorrow.getFineStatus() == Borrow.FineStatus.WAIVED
-            );
-
-            waiveButton.setDisable(
-                    selectedBorrow.getFineAmount() <= 0 ||
-                            selectedBorrow.getFineStatus() == Borrow.FineStatus.PAID ||
-                            selectedBorrow.getFineStatus() == Borrow.FineStatus.WAIVED
-            );
+        if (selectedRow != null) {
+            payButton.setDisable(!selectedRow.hasFine() || selectedRow.isSettled());
+            waiveButton.setDisable(!selectedRow.hasFine() || selectedRow.isSettled());
 
             viewDetailsButton.setDisable(false);
         } else {
@@ -857,6 +790,15 @@ public class ManageFinesController {
         }
     }
 
+    // Actions work on the full entity, loaded with book and member in one select
+    private Borrow selectedBorrow() {
+        FineRowView selectedRow = finesTable.getSelectionModel().getSelectedItem();
+        if (selectedRow == null) {
+            return null;
+        }
+        return borrowService.getBorrowById(selectedRow.id()).orElse(null);
+    }
+
     private void showError(String title, String message) {
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle(title);
@@ -6,6 +6,9 @@ import com.intellilib.services.MemberService;
 import com.intellilib.services.UserService;
 import com.intellilib.session.SessionManager;
 import com.intellilib.util.ActivityLogger;
+import com.intellilib.util.RefreshableView;
+import com.intellilib.util.SearchPipeline;
+import com.intellilib.util.SearchPipelines;
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -21,9 +24,10 @@ import org.springframework.stereotype.Controller;
 
 import java.time.LocalDate;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 @Controller
-public class ManageMemberController {
+public class ManageMemberController implements RefreshableView {
 
     @FXML private TableView<Member> memberTable;
     @FXML private TableColumn<Member, String> nameColumn;
@@ -56,14 +60,17 @@ public class ManageMemberController {
     private final UserService userService;
     private final ActivityLogger activityLogger;
     private final SessionManager sessionManager;
+    private final SearchPipelines searchPipelines;
     private final ObservableList<Member> memberList = FXCollections.observableArrayList();
     
     @Autowired
-    public ManageMemberController(MemberService memberService, UserService userService, ActivityLogger activityLogger, SessionManager sessionManager) {
+    public ManageMemberController(MemberService memberService, UserService userService, ActivityLogger activityLogger, SessionManager sessionManager,
+                                  SearchPipelines searchPipelines) {
         this.memberService = memberService;
         this.userService = userService;
         this.activityLogger = activityLogger;
         this.sessionManager = sessionManager;
+        this.searchPipelines = searchPipelines;
     }
     
     @FXML
@@ -79,6 +86,11 @@ public class ManageMemberController {
         // Set default membership date to today
         membershipDateField.setValue(LocalDate.now());
     }
+
+    @Override
+    public void refresh() {
+        loadMembers();
+    }
     
     private void setupTableColumns() {
         nameColumn.setCellValueFactory(new PropertyValueFactory<>("fullName"));
@@ -123,19 +135,18 @@ public class ManageMemberController {
     private void setupSearch() {
         FilteredList<Member> filteredData = new FilteredList<>(memberList, p -> true);
         
-        searchField.textProperty().addListener((observable, oldValue, newValue) -> {
-            filteredData.setPredicate(member -> {
-                if (newValue == null || newValue.isEmpty()) {
-                    return true;
-                }
-                
-                String lowerCaseFilter = newValue.toLowerCase();
-                
-                return member.getFullName().toLowerCase().contains(lowerCaseFilter) ||
-                       member.getEmail().toLowerCase().contains(lowerCaseFilter) ||
-                       member.getPhone().contains(lowerCaseFilter);
-            });
+        SearchPipeline<String, Predicate<Member>> search = searchPipelines.filter("admin.members", filteredData, text -> {
+            if (text == null || text.isEmpty()) {
+                return null;
+            }
+            
+            String lowerCaseFilter = text.toLowerCase();
+            
+            return member -> member.getFullName().toLowerCase().contains(lowerCaseFilter) ||
+                   member.getEmail().toLowerCase().contains(lowerCaseFilter) ||
+                   member.getPhone().contains(lowerCaseFilter);
         });
+        searchField.textProperty().addListener((observable, oldValue, newValue) -> search.submit(newValue));
         
         SortedList<Member> sortedData = new SortedList<>(filteredData);
         sortedData.comparatorProperty().bind(memberTable.comparatorProperty());
@@ -6,6 +6,9 @@ import com.intellilib.services.MemberService;
 import com.intellilib.services.UserService;
 import com.intellilib.session.SessionManager;
 import com.intellilib.util.ActivityLogger;
+import com.intellilib.util.RefreshableView;
+import com.intellilib.util.SearchPipeline;
+import com.intellilib.util.SearchPipelines;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
@@ -20,9 +23,10 @@ import org.springframework.stereotype.Controller;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 @Controller
-public class ManageUserController {
+public class ManageUserController implements RefreshableView {
 
     @FXML private TableView<User> userTable;
     @FXML private TableColumn<User, Long> idColumn;
@@ -52,6 +56,7 @@ public class ManageUserController {
     private final MemberService memberService;
     private final SessionManager sessionManager;
     private final ActivityLogger activityLogger;
+    private final SearchPipelines searchPipelines;
 
     private final PasswordEncoder passwordEncoder;
     private final ObservableList<User> userList = FXCollections.observableArrayList();
@@ -59,12 +64,14 @@ public class ManageUserController {
     private User currentUser;
 
     @Autowired
-    public ManageUserController(UserService userService, MemberService memberService, PasswordEncoder passwordEncoder, ActivityLogger activityLogger, SessionManager sessionManager) {
+    public ManageUserController(UserService userService, MemberService memberService, PasswordEncoder passwordEncoder, ActivityLogger activityLogger, SessionManager sessionManager,
+                                SearchPipelines searchPipelines) {
         this.memberService = memberService;
         this.userService = userService;
         this.passwordEncoder = passwordEncoder;
         this.activityLogger = activityLogger;
         this.sessionManager = sessionManager;
+        this.searchPipelines = searchPipelines;
     }
     
     @FXML
@@ -79,6 +86,11 @@ public class ManageUserController {
         deleteButton.setDisable(true);
         toggleStatusButton.setDisable(true);
     }
+
+    @Override
+    public void refresh() {
+        loadUsers();
+    }
     
     private void setupTableColumns() {
         idColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
@@ -138,21 +150,22 @@ public class ManageUserController {
     private void setupSearch() {
         FilteredList<User> filteredData = new FilteredList<>(userList, p -> true);
         
-        searchField.textProperty().addListener((observable, oldValue, newValue) -> {
-            filteredData.setPredicate(user -> {
-                if (newValue == null || newValue.isEmpty()) {
-                    return true;
-                }
-                
-                String lowerCaseFilter = newValue.toLowerCase();
-                
+        SearchPipeline<String, Predicate<User>> search = searchPipelines.filter("admin.users", filteredData, text -> {
+            if (text == null || text.isEmpty()) {
+                return null;
+            }
+            
+            String lowerCaseFilter = text.toLowerCase();
+            
+            return user -> {
                 if (user.getUsername().toLowerCase().contains(lowerCaseFilter)) {
                     return true;
                 } else if (user.getEmail().toLowerCase().contains(lowerCaseFilter)) {
                     return true;
                 } else return user.getRole().toString().toLowerCase().contains(lowerCaseFilter);
-            });
+            };
         });
+        searchField.textProperty().addListener((observable, oldValue, newValue) -> search.submit(newValue));
         
         SortedList<User> sortedData = new SortedList<>(filteredData);
         sortedData.comparatorProperty().bind(userTable.comparatorProperty());
@@ -0,0 +1,236 @@
+package com.intellilib.controllers.admin;
+
+import com.intellilib.diagnostics.FxStallDetector;
+import com.intellilib.services.MetricsService;
+import com.intellilib.services.MetricsService.GaugeValue;
+import com.intellilib.services.MetricsService.TimingStatistics;
+import com.intellilib.util.AppExecutors;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXML;
+import javafx.scene.control.*;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.util.Duration;
+import org.springframework.stereotype.Controller;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+@Controller
+public class MetricsController {
+
+    private static final Duration AUTO_REFRESH_INTERVAL = Duration.seconds(5);
+
+    @FXML private CheckBox autoRefreshCheck;
+
+    @FXML private TableView<TimingStatistics> serviceTable;
+    @FXML private TableColumn<TimingStatistics, String> serviceNameColumn;
+    @FXML private TableColumn<TimingStatistics, Long> serviceCallsColumn;
+    @FXML private TableColumn<TimingStatistics, Long> serviceErrorsColumn;
+    @FXML private TableColumn<TimingStatistics, String> serviceMeanColumn;
+    @FXML private TableColumn<TimingStatistics, String> serviceP95Column;
+    @FXML private TableColumn<TimingStatistics, String> serviceMaxColumn;
+
+    @FXML private TableView<TimingStatistics> repositoryTable;
+    @FXML private TableColumn<TimingStatistics, String> repositoryNameColumn;
+    @FXML private TableColumn<TimingStatistics, Long> repositoryCallsColumn;
+    @FXML private TableColumn<TimingStatistics, Long> repositoryErrorsColumn;
+    @FXML private TableColumn<TimingStatistics, String> repositoryMeanColumn;
+    @FXML private TableColumn<TimingStatistics, String> repositoryP95Column;
+    @FXML private TableColumn<TimingStatistics, String> repositoryMaxColumn;
+
+    @FXML private TableView<TimingStatistics> stallTable;
+    @FXML private TableColumn<TimingStatistics, String> stallNameColumn;
+    @FXML private TableColumn<TimingStatistics, Long> stallCountColumn;
+    @FXML private TableColumn<TimingStatistics, String> stallTotalColumn;
+    @FXML private TableColumn<TimingStatistics, String> stallMeanColumn;
+    @FXML private TableColumn<TimingStatistics, String> stallP95Column;
+    @FXML private TableColumn<TimingStatistics, String> stallMaxColumn;
+    @FXML private TextArea stallStackArea;
+
+    @FXML private TableView<TimingStatistics> searchTable;
+    @FXML private TableColumn<TimingStatistics, String> searchNameColumn;
+    @FXML private TableColumn<TimingStatistics, Long> searchQueriesColumn;
+    @FXML private TableColumn<TimingStatistics, Long> searchDroppedColumn;
+    @FXML private TableColumn<TimingStatistics, String> searchMeanColumn;
+    @FXML private TableColumn<TimingStatistics, String> searchP95Column;
+    @FXML private TableColumn<TimingStatistics, String> searchMaxColumn;
+
+    @FXML private TableView<GaugeValue> gaugeTable;
+    @FXML private TableColumn<GaugeValue, String> gaugeNameColumn;
+    @FXML private TableColumn<GaugeValue, String> gaugeValueColumn;
+
+    @FXML private Label statusLabel;
+
+    private final MetricsService metricsService;
+    private final FxStallDetector stallDetector;
+    private final ExecutorService executor;
+
+    private final ObservableList<TimingStatistics> serviceList = FXCollections.observableArrayList();
+    private final ObservableList<TimingStatistics> repositoryList = FXCollections.observableArrayList();
+    private final ObservableList<TimingStatistics> stallList = FXCollections.observableArrayList();
+    private final ObservableList<TimingStatistics> searchList = FXCollections.observableArrayList();
+    private final ObservableList<GaugeValue> gaugeList = FXCollections.observableArrayList();
+
+    private Timeline autoRefresh;
+    private boolean loading;
+
+    public MetricsController(MetricsService metricsService, FxStallDetector stallDetector,
+                             AppExecutors appExecutors) {
+        this.metricsService = metricsService;
+        this.stallDetector = stallDetector;
+        this.executor = appExecutors.io();
+    }
+
+    @FXML
+    public void initialize() {
+        setupTimingColumns(serviceNameColumn, serviceCallsColumn, serviceErrorsColumn,
+                serviceMeanColumn, serviceP95Column, serviceMaxColumn);
+        setupTimingColumns(repositoryNameColumn, repositoryCallsColumn, repositoryErrorsColumn,
+                repositoryMeanColumn, repositoryP95Column, repositoryMaxColumn);
+        setupStallColumns();
+        // Dropped are the superseded and failed queries; percentiles are of the delivered ones
+        setupTimingColumns(searchNameColumn, searchQueriesColumn, searchDroppedColumn,
+                searchMeanColumn, searchP95Column, searchMaxColumn);
+        gaugeNameColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
+        gaugeValueColumn.setCellValueFactory(data -> new SimpleStringProperty(formatValue(data.getValue().getValue())));
+
+        serviceTable.setItems(serviceList);
+        repositoryTable.setItems(repositoryList);
+        stallTable.setItems(stallList);
+        searchTable.setItems(searchList);
+        gaugeTable.setItems(gaugeList);
+
+        setupAutoRefresh();
+        loadMetrics();
+    }
+
+    private void setupTimingColumns(TableColumn<TimingStatistics, String> name,
+                                    TableColumn<TimingStatistics, Long> calls,
+                                    TableColumn<TimingStatistics, Long> errors,
+                                    TableColumn<TimingStatistics, String> mean,
+                                    TableColumn<TimingStatistics, String> p95,
+                                    TableColumn<TimingStatistics, String> max) {
+        name.setCellValueFactory(new PropertyValueFactory<>("name"));
+        calls.setCellValueFactory(new PropertyValueFactory<>("calls"));
+        errors.setCellValueFactory(new PropertyValueFactory<>("errors"));
+        mean.setCellValueFactory(data -> new SimpleStringProperty(formatMillis(data.getValue().getMeanMillis())));
+        p95.setCellValueFactory(data -> new SimpleStringProperty(formatMillis(data.getValue().getP95Millis())));
+        max.setCellValueFactory(data -> new SimpleStringProperty(formatMillis(data.getValue().getMaxMillis())));
+    }
+
+    private void setupStallColumns() {
+        stallNameColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
+        stallCountColumn.setCellValueFactory(new PropertyValueFactory<>("calls"));
+        stallTotalColumn.setCellValueFactory(data -> new SimpleStringProperty(formatMillis(data.getValue().getTotalMillis())));
+        stallMeanColumn.setCellValueFactory(data -> new SimpleStringProperty(formatMillis(data.getValue().getMeanMillis())));
+        stallP95Column.setCellValueFactory(data -> new SimpleStringProperty(formatMillis(data.getValue().getP95Millis())));
+        stallMaxColumn.setCellValueFactory(data -> new SimpleStringProperty(formatMillis(data.getValue().getMaxMillis())));
+
+        // The stack of the latest stall shows which call in the handler to move off the FX thread
+        stallTable.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal == null) {
+                stallStackArea.clear();
+                return;
+            }
+            stallStackArea.setText(stallDetector.getLatestSamples().stream()
+                    .filter(sample -> (sample.getScreen() + "." + sample.getHandler()).equals(newVal.getName()))
+                    .findFirst()
+                    .map(sample -> String.format("%s.%s stalled %.0f ms at %s%n%n%s", sample.getScreen(),
+                            sample.getHandler(), sample.getStallMillis(),
+                            sample.getSampledAt().format(DateTimeFormatter.ofPattern("HH:mm:ss")),
+                            sample.getStackTrace()))
+                    .orElse(""));
+        });
+    }
+
+    private void setupAutoRefresh() {
+        // The controller outlives its window, so a timeline from a previous opening is stopped here
+        if (autoRefresh != null) {
+            autoRefresh.stop();
+        }
+        autoRefresh = new Timeline(new KeyFrame(AUTO_REFRESH_INTERVAL, event -> {
+            if (statusLabel.getScene() == null || statusLabel.getScene().getWindow() == null
+                    || !statusLabel.getScene().getWindow().isShowing()) {
+                autoRefresh.stop();
+                return;
+            }
+            loadMetrics();
+        }));
+        autoRefresh.setCycleCount(Animation.INDEFINITE);
+
+        autoRefreshCheck.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal) {
+                autoRefresh.play();
+            } else {
+                autoRefresh.stop();
+            }
+        });
+    }
+
+    private void loadMetrics() {
+        if (loading) {
+            return;
+        }
+        loading = true;
+        executor.submit(() -> {
+            try {
+                List<TimingStatistics> services = metricsService.getServiceTimings();
+                List<TimingStatistics> repositories = metricsService.getRepositoryTimings();
+                List<TimingStatistics> stalls = metricsService.getFxStalls();
+                List<TimingStatistics> searches = metricsService.getSearchTimings();
+                List<GaugeValue> gauges = metricsService.getGauges();
+                Platform.runLater(() -> {
+                    serviceList.setAll(services);
+                    repositoryList.setAll(repositories);
+                    stallList.setAll(stalls);
+                    searchList.setAll(searches);
+                    gaugeList.setAll(gauges);
+                    showStatus(statusText());
+                    loading = false;
+                });
+            } catch (Exception e) {
+                Platform.runLater(() -> {
+                    showStatus("Could not read metrics: " + e.getMessage());
+                    loading = false;
+                });
+            }
+        });
+    }
+
+    @FXML
+    private void handleRefresh() {
+        loadMetrics();
+    }
+
+    private String statusText() {
+        String updated = "Updated " + LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss"));
+        String file = metricsService.getMetricsFile();
+        return file == null || file.isBlank() ? updated : updated + " - Prometheus export: " + file;
+    }
+
+    private String formatMillis(double millis) {
+        if (Double.isNaN(millis)) {
+            return "-";
+        }
+        return String.format("%.2f", millis);
+    }
+
+    private String formatValue(double value) {
+        if (Double.isNaN(value)) {
+            return "-";
+        }
+        return value == Math.rint(value) ? String.format("%.0f", value) : String.format("%.3f", value);
+    }
+
+    private void showStatus(String message) {
+        statusLabel.setText(message);
+    }
+}
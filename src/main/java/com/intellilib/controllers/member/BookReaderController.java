@@ -0,0 +1,173 @@
+package com.intellilib.controllers.member;
+
+import com.intellilib.models.Book;
+import com.intellilib.services.BookReaderService;
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.scene.control.*;
+import javafx.scene.image.ImageView;
+import javafx.stage.Stage;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Controller;
+
+/**
+ * One reader per window: several books can be open side by side, and each window closes only
+ * the document it opened. Unlike the other controllers it is therefore not a singleton.
+ */
+@Controller
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+public class BookReaderController {
+
+    private static final float MIN_ZOOM = 0.5f;
+    private static final float MAX_ZOOM = 3.0f;
+    private static final float ZOOM_STEP = 0.25f;
+
+    @FXML private Label titleLabel;
+    @FXML private Label pageInfoLabel;
+    @FXML private Label zoomLabel;
+    @FXML private ScrollPane pageScroll;
+    @FXML private ImageView pageView;
+    @FXML private ProgressIndicator pageProgress;
+    @FXML private Button previousButton;
+    @FXML private Button nextButton;
+
+    private final BookReaderService bookReaderService;
+
+    private BookReaderService.ReaderDocument document;
+    private int currentPage;
+    private float zoom = 1.25f;
+    // Incremented on every request so late renders of a page the reader already left are dropped
+    private long renderRequest;
+
+    public BookReaderController(BookReaderService bookReaderService) {
+        this.bookReaderService = bookReaderService;
+    }
+
+    @FXML
+    public void initialize() {
+        pageView.setPreserveRatio(true);
+        pageProgress.setVisible(false);
+        previousButton.setDisable(true);
+        nextButton.setDisable(true);
+    }
+
+    public void openBook(Book book) {
+        closeBook();
+        titleLabel.setText(book.getTitle());
+        pageInfoLabel.setText("Ouverture...");
+        pageView.setImage(null);
+        pageProgress.setVisible(true);
+
+        // Release the mapped file when the reader window goes away
+        pageView.getScene().getWindow().setOnHidden(e -> closeBook());
+
+        long request = ++renderRequest;
+        bookReaderService.open(book.getId()).whenComplete((opened, error) -> Platform.runLater(() -> {
+            if (request != renderRequest) {
+                if (opened != null) {
+                    opened.close();
+                }
+                return;
+            }
+            if (error != null) {
+                pageProgress.setVisible(false);
+                pageInfoLabel.setText("");
+                showError("Erreur", "Impossible d'ouvrir le livre: " + rootMessage(error));
+                return;
+            }
+            document = opened;
+            currentPage = 0;
+            showPage();
+        }));
+    }
+
+    private void showPage() {
+        if (document == null) {
+            return;
+        }
+
+        int pageCount = document.getPageCount();
+        pageInfoLabel.setText(String.format("Page %d/%d", currentPage + 1, pageCount));
+        zoomLabel.setText(String.format("%d%%", Math.round(zoom * 100)));
+        previousButton.setDisable(currentPage == 0);
+        nextButton.setDisable(currentPage >= pageCount - 1);
+        pageProgress.setVisible(true);
+
+        long request = ++renderRequest;
+        document.renderPage(currentPage, zoom).whenComplete((image, error) -> Platform.runLater(() -> {
+            if (request != renderRequest) {
+                return;
+            }
+            pageProgress.setVisible(false);
+            if (error != null) {
+                showError("Erreur", "Impossible d'afficher la page: " + rootMessage(error));
+                return;
+            }
+            pageView.setImage(image);
+            pageScroll.setVvalue(0);
+        }));
+    }
+
+    @FXML
+    private void previousPage() {
+        if (document != null && currentPage > 0) {
+            currentPage--;
+            showPage();
+        }
+    }
+
+    @FXML
+    private void nextPage() {
+        if (document != null && currentPage < document.getPageCount() - 1) {
+            currentPage++;
+            showPage();
+        }
+    }
+
+    @FXML
+    private void zoomIn() {
+        if (zoom < MAX_ZOOM) {
+            zoom = Math.min(MAX_ZOOM, zoom + ZOOM_STEP);
+            showPage();
+        }
+    }
+
+    @FXML
+    private void zoomOut() {
+        if (zoom > MIN_ZOOM) {
+            zoom = Math.max(MIN_ZOOM, zoom - ZOOM_STEP);
+            showPage();
+        }
+    }
+
+    @FXML
+    private void closeReader() {
+        Stage stage = (Stage) pageView.getScene().getWindow();
+        stage.close();
+    }
+
+    private void closeBook() {
+        renderRequest++;
+        if (document != null) {
+            document.close();
+            document = null;
+        }
+    }
+
+    private String rootMessage(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+    private void showError(String title, String message) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+}
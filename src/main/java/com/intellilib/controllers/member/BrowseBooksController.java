@@ -1,97 +1,110 @@
 package com.intellilib.controllers.member;
 
+import com.intellilib.controllers.MemberDashboardController;
+import com.intellilib.controls.BookCardGrid;
 import com.intellilib.models.Book;
+import com.intellilib.models.Hold;
+import com.intellilib.models.Member;
+import com.intellilib.models.User;
+import com.intellilib.services.BookReaderService;
 import com.intellilib.services.BookService;
 import com.intellilib.services.BorrowService;
 import com.intellilib.services.CategoryService;
+import com.intellilib.services.HoldService;
+import com.intellilib.services.InventoryService;
+import com.intellilib.services.MemberService;
+import com.intellilib.services.NoCopyAvailableException;
+import com.intellilib.services.OperationRefusedException;
+import com.intellilib.services.UserService;
+import com.intellilib.util.AppExecutors;
 import com.intellilib.util.FXMLLoaderUtil;
-import javafx.beans.property.SimpleStringProperty;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import com.intellilib.util.RefreshableView;
+import com.intellilib.util.SearchPipeline;
+import com.intellilib.util.SearchPipelines;
+import com.intellilib.util.ViewNavigator;
+import javafx.beans.binding.Bindings;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
+import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Controller;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 @Controller
-public class BrowseBooksController {
+public class BrowseBooksController implements RefreshableView {
+
+    private static final int LOAN_DAYS = 14;
 
     @FXML private TextField searchField;
     @FXML private ComboBox<String> categoryFilter;
     @FXML private ComboBox<String> availabilityFilter;
 
-    @FXML private TableView<Book> booksTable;
-    @FXML private TableColumn<Book, String> titleColumn;
-    @FXML private TableColumn<Book, String> authorColumn;
-    @FXML private TableColumn<Book, String> categoryColumn;
-    @FXML private TableColumn<Book, Integer> yearColumn;
-    @FXML private TableColumn<Book, Boolean> availableColumn;
-    @FXML private TableColumn<Book, String> actionsColumn;
-
-    @FXML private Label pageInfoLabel;
-    @FXML private ComboBox<String> pageSizeCombo;
+    @FXML private BookCardGrid bookGrid;
+    @FXML private Label resultCountLabel;
 
     private final BookService bookService;
     private final BorrowService borrowService;
     private final CategoryService categoryService;
-
-    private ObservableList<Book> allBooks = FXCollections.observableArrayList();
-    private ObservableList<Book> filteredBooks = FXCollections.observableArrayList();
-
-    private int currentPage = 0;
-    private int pageSize = 10;
+    private final InventoryService inventoryService;
+    private final BookReaderService bookReaderService;
+    private final HoldService holdService;
+    private final MemberService memberService;
+    private final UserService userService;
+    private final ViewNavigator viewNavigator;
+    private final ExecutorService executor;
+    private final SearchPipeline<BrowseQuery, BrowseResult> search;
 
     public BrowseBooksController(BookService bookService, BorrowService borrowService,
-                                CategoryService categoryService) {
+                                CategoryService categoryService, InventoryService inventoryService,
+                                BookReaderService bookReaderService, HoldService holdService,
+                                MemberService memberService, UserService userService,
+                                ViewNavigator viewNavigator, AppExecutors appExecutors,
+                                SearchPipelines searchPipelines) {
         this.bookService = bookService;
         this.borrowService = borrowService;
         this.categoryService = categoryService;
+        this.inventoryService = inventoryService;
+        this.bookReaderService = bookReaderService;
+        this.holdService = holdService;
+        this.memberService = memberService;
+        this.userService = userService;
+        this.viewNavigator = viewNavigator;
+        this.executor = appExecutors.io();
+        // The first page is fetched in the background, the grid fetches the rest as they scroll into view
+        this.search = searchPipelines.create("member.browse",
+                query -> () -> new BrowseResult(query, loader(query).load(0, BookCardGrid.PAGE_SIZE)),
+                result -> bookGrid.setPageLoader(loader(result.query()), executor, result.firstPage()));
+        this.search.setOnError(error -> bookGrid.showError(error.getMessage()));
     }
 
     @FXML
     public void initialize() {
-        // setupTableColumns();
-        loadBooks();
+        setupGrid();
         setupFilters();
-        setupPagination();
-    }
-
-    // private void setupTableColumns() {
-    //     titleColumn.setCellValueFactory(new PropertyValueFactory<>("title"));
-    //     authorColumn.setCellValueFactory(new PropertyValueFactory<>("author"));
-    //     categoryColumn.setCellValueFactory(cellData ->
-    //         new SimpleStringProperty(cellData.getValue().getCategory() != null ?
-    //             cellData.getValue().getCategory().getName() : ""));
-    //     yearColumn.setCellValueFactory(new PropertyValueFactory<>("publicationYear"));
-    //     availableColumn.setCellValueFactory(new PropertyValueFactory<>("available"));
-
-    //     // Actions column with borrow button
-    //     actionsColumn.setCellFactory(col -> new TableCell<>() {
-    //         private final Button borrowButton = new Button("Emprunter");
-
-    //         @Override
-    //         protected void updateItem(Book book, boolean empty) {
-    //             super.updateItem(book, empty);
-    //             if (empty || book == null) {
-    //                 setGraphic(null);
-    //             } else {
-    //                 borrowButton.setDisable(!book.isAvailable());
-    //                 borrowButton.setOnAction(e -> borrowBook(book));
-    //                 setGraphic(borrowButton);
-    //             }
-    //         }
-    //     });
-    // }
-
-    private void loadBooks() {
-        allBooks.setAll(bookService.getAllBooks());
         applyFilters();
     }
 
+    /**
+     * Availability changes as books are borrowed; the filters and scroll position are kept
+     */
+    @Override
+    public void refresh() {
+        bookGrid.reload();
+    }
+
+    private void setupGrid() {
+        // Availability comes from the in-memory copy counters, not the loaded entities
+        bookGrid.setAvailability(inventoryService::isAvailable);
+        bookGrid.setCoverLoader(book -> bookReaderService.thumbnail(book, BookCardGrid.COVER_WIDTH));
+        bookGrid.setOnBorrow(this::borrowBook);
+        bookGrid.setOnOpen(this::readBook);
+        resultCountLabel.textProperty().bind(Bindings.format("%d livres", bookGrid.totalProperty()));
+    }
+
     private void setupFilters() {
         // Category filter
         List<String> categories = categoryService.getAllCategories().stream()
@@ -108,49 +121,29 @@ public class BrowseBooksController {
         // Add listeners
         categoryFilter.setOnAction(e -> applyFilters());
         availabilityFilter.setOnAction(e -> applyFilters());
-        searchField.textProperty().addListener((obs, oldVal, newVal) -> applyFilters());
-    }
-
-    private void setupPagination() {
-        pageSizeCombo.getSelectionModel().select("10");
-        pageSizeCombo.setOnAction(e -> {
-            pageSize = Integer.parseInt(pageSizeCombo.getValue());
-            currentPage = 0;
-            updateTable();
-        });
-        updateTable();
+        // Typing is debounced, the other filters apply at once
+        searchField.textProperty().addListener((obs, oldVal, newVal) -> search.submit(currentQuery()));
     }
 
+    // Filtering runs in the database, off the FX thread
     private void applyFilters() {
-        String searchText = searchField.getText().toLowerCase();
-        String selectedCategory = categoryFilter.getValue();
-        String selectedAvailability = availabilityFilter.getValue();
-
-        filteredBooks.setAll(allBooks.stream()
-            .filter(book ->
-                (searchText.isEmpty() ||
-                 book.getTitle().toLowerCase().contains(searchText) ||
-                 book.getAuthor().toLowerCase().contains(searchText)) &&
-                (selectedCategory.equals("Toutes") ||
-                 (book.getCategory() != null && book.getCategory().getName().equals(selectedCategory))) &&
-                (selectedAvailability.equals("Tous") ||
-                 (selectedAvailability.equals("Disponibles") && book.isAvailable()) ||
-                 (selectedAvailability.equals("Non disponibles") && !book.isAvailable())))
-            .collect(Collectors.toList()));
-
-        currentPage = 0;
-        updateTable();
+        search.submitNow(currentQuery());
     }
 
-    private void updateTable() {
-        int startIndex = currentPage * pageSize;
-        int endIndex = Math.min(startIndex + pageSize, filteredBooks.size());
+    private BrowseQuery currentQuery() {
+        String searchText = searchField.getText().trim();
+        String keyword = searchText.isEmpty() ? null : searchText;
+        String category = "Toutes".equals(categoryFilter.getValue()) ? null : categoryFilter.getValue();
+        Boolean available = switch (availabilityFilter.getValue()) {
+            case "Disponibles" -> Boolean.TRUE;
+            case "Non disponibles" -> Boolean.FALSE;
+            default -> null;
+        };
+        return new BrowseQuery(keyword, category, available);
+    }
 
-        booksTable.getItems().setAll(filteredBooks.subList(startIndex, endIndex));
-        pageInfoLabel.setText(String.format("Page %d/%d (%d livres)",
-            currentPage + 1,
-            (int) Math.ceil((double) filteredBooks.size() / pageSize),
-            filteredBooks.size()));
+    private BookCardGrid.PageLoader loader(BrowseQuery query) {
+        return (page, size) -> bookService.browseBooks(query.keyword(), query.category(), query.available(), page, size);
     }
 
     @FXML
@@ -167,23 +160,37 @@ public class BrowseBooksController {
     }
 
     @FXML
-    private void previousPage() {
-        if (currentPage > 0) {
-            currentPage--;
-            updateTable();
+    private void readSelectedBook() {
+        Book book = bookGrid.getSelectedBook();
+        if (book == null) {
+            showError("Erreur", "Veuillez sélectionner un livre");
+            return;
         }
+        readBook(book);
     }
 
-    @FXML
-    private void nextPage() {
-        int maxPage = (int) Math.ceil((double) filteredBooks.size() / pageSize) - 1;
-        if (currentPage < maxPage) {
-            currentPage++;
-            updateTable();
+    private void readBook(Book book) {
+        if (book.getFilePath() == null || book.getFilePath().isEmpty()) {
+            showError("Erreur", "Aucun fichier disponible pour ce livre");
+            return;
+        }
+
+        try {
+            Stage stage = FXMLLoaderUtil.<BookReaderController>loadStage("/views/member/book-reader.fxml",
+                    "Lecture - " + book.getTitle(), true, reader -> reader.openBook(book));
+            stage.show();
+        } catch (Exception e) {
+            showError("Erreur", "Impossible d'ouvrir le lecteur");
+            e.printStackTrace();
         }
     }
 
     private void borrowBook(Book book) {
+        Member member = currentMember();
+        if (member == null) {
+            return;
+        }
+
         Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
         confirm.setTitle("Emprunter un livre");
         confirm.setHeaderText("Emprunter '" + book.getTitle() + "'");
@@ -192,22 +199,63 @@ public class BrowseBooksController {
         confirm.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
                 try {
-                    // TODO: Implement borrow logic with member ID
+                    // Also collects a copy put aside for the member's hold
+                    borrowService.borrowBook(book.getId(), member.getId(), LocalDate.now().plusDays(LOAN_DAYS));
                     showSuccess("Succès", "Livre emprunté avec succès !");
-                    loadBooks(); // Refresh the list
+                    bookGrid.reload(); // Refresh availability
+                } catch (NoCopyAvailableException e) {
+                    // No copy left for this member, offer a place in the queue instead
+                    offerHold(book, member);
+                } catch (OperationRefusedException e) {
+                    showError("Emprunt refusé", "Vous ne pouvez pas emprunter de livres pour le moment "
+                            + "(compte suspendu, amendes impayées ou retards).");
                 } catch (Exception e) {
-                    showError("Erreur", "Impossible d'emprunter le livre: " + e.getMessage());
+                    showError("Erreur", "Impossible d'emprunter le livre");
+                    e.printStackTrace();
                 }
             }
         });
     }
 
+    private void offerHold(Book book, Member member) {
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Livre indisponible");
+        confirm.setHeaderText("Aucun exemplaire de '" + book.getTitle() + "' n'est disponible");
+        confirm.setContentText(String.format("%d membre(s) en attente. Voulez-vous réserver ce livre ? "
+                + "Un exemplaire vous sera mis de côté dès qu'il sera rendu.", holdService.getQueueLength(book.getId())));
+
+        confirm.showAndWait().ifPresent(response -> {
+            if (response == ButtonType.OK) {
+                try {
+                    Hold hold = holdService.placeHold(book.getId(), member.getId());
+                    if (hold.getStatus() == Hold.HoldStatus.READY) {
+                        showSuccess("Réservation", "Un exemplaire vous est réservé, vous pouvez l'emprunter dès maintenant.");
+                    } else {
+                        showSuccess("Réservation", "Vous êtes n° " + holdService.getQueuePosition(hold)
+                                + " dans la file d'attente. Retrouvez vos réservations dans Mes Emprunts.");
+                    }
+                    bookGrid.reload();
+                } catch (Exception e) {
+                    showError("Erreur", "Impossible de réserver le livre: " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    private Member currentMember() {
+        User user = userService.getCurrentUser();
+        Member member = user == null ? null : memberService.getMemberForUser(user.getId()).orElse(null);
+        if (member == null) {
+            showError("Erreur", "Aucun profil membre n'est associé à ce compte");
+        }
+        return member;
+    }
+
     @FXML
     private void goBack() {
         try {
             Stage stage = (Stage) searchField.getScene().getWindow();
-            stage.setScene(FXMLLoaderUtil.loadScene("/views/member-dashboard.fxml"));
-            stage.setTitle("Tableau de Bord Membre");
+            viewNavigator.show(stage, MemberDashboardController.VIEW, MemberDashboardController.TITLE);
         } catch (Exception e) {
             showError("Erreur", "Impossible de retourner au tableau de bord");
         }
@@ -228,4 +276,10 @@ public class BrowseBooksController {
         alert.setContentText(message);
         alert.showAndWait();
     }
-}
\ No newline at end of file
+
+    private record BrowseQuery(String keyword, String category, Boolean available) {
+    }
+
+    private record BrowseResult(BrowseQuery query, Page<Book> firstPage) {
+    }
+}
@@ -1,11 +1,16 @@
 package com.intellilib.controllers.member;
 
+import com.intellilib.controllers.MemberDashboardController;
 
 import com.intellilib.models.Borrow;
+import com.intellilib.models.Hold;
 import com.intellilib.models.User;
+import com.intellilib.services.HoldService;
+import com.intellilib.services.MemberService;
 import com.intellilib.services.UserService;
 import com.intellilib.services.BorrowService;
-import com.intellilib.util.FXMLLoaderUtil;
+import com.intellilib.util.RefreshableView;
+import com.intellilib.util.ViewNavigator;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -16,11 +21,12 @@ import javafx.stage.Stage;
 import org.springframework.stereotype.Controller;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Controller
-public class MyBorrowingsController {
+public class MyBorrowingsController implements RefreshableView {
 
     @FXML private TabPane borrowingsTabPane;
 
@@ -44,12 +50,22 @@ public class MyBorrowingsController {
     @FXML private TableColumn<Borrow, String> overdueDaysColumn;
     @FXML private TableColumn<Borrow, String> fineColumn;
 
+    @FXML private TableView<HoldRow> holdsTable;
+    @FXML private TableColumn<HoldRow, String> holdBookColumn;
+    @FXML private TableColumn<HoldRow, String> holdDateColumn;
+    @FXML private TableColumn<HoldRow, String> holdStatusColumn;
+    @FXML private TableColumn<HoldRow, String> holdActionColumn;
+
     @FXML private Label activeCountLabel;
     @FXML private Label overdueCountLabel;
     @FXML private Label totalFineLabel;
 
     private final UserService userService;
     private final BorrowService borrowService;
+    private final HoldService holdService;
+    private final MemberService memberService;
+    private final ViewNavigator viewNavigator;
+    private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
     private User currentUser;
     private ObservableList<Borrow> allBorrowings = FXCollections.observableArrayList();
@@ -57,9 +73,14 @@ public class MyBorrowingsController {
     private ObservableList<Borrow> historyBorrowings = FXCollections.observableArrayList();
     private ObservableList<Borrow> overdueBorrowings = FXCollections.observableArrayList();
 
-    public MyBorrowingsController(UserService userService, BorrowService borrowService) {
+    public MyBorrowingsController(UserService userService, BorrowService borrowService,
+                                  HoldService holdService, MemberService memberService,
+                                  ViewNavigator viewNavigator) {
         this.userService = userService;
         this.borrowService = borrowService;
+        this.holdService = holdService;
+        this.memberService = memberService;
+        this.viewNavigator = viewNavigator;
     }
 
     @FXML
@@ -72,10 +93,43 @@ public class MyBorrowingsController {
         }
 
         // setupTables();
+        setupHoldsTable();
+        loadBorrowings();
+        loadHolds();
+        updateSummary();
+    }
+
+    @Override
+    public void refresh() {
         loadBorrowings();
+        loadHolds();
         updateSummary();
     }
 
+    private void setupHoldsTable() {
+        holdBookColumn.setCellValueFactory(cellData ->
+            new SimpleStringProperty(cellData.getValue().hold().getBook().getTitle()));
+        holdDateColumn.setCellValueFactory(cellData ->
+            new SimpleStringProperty(cellData.getValue().hold().getCreatedAt().format(dateFormatter)));
+        holdStatusColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().status()));
+
+        holdActionColumn.setCellFactory(col -> new TableCell<>() {
+            private final Button cancelButton = new Button("Annuler");
+
+            @Override
+            protected void updateItem(String item, boolean empty) {
+                super.updateItem(item, empty);
+                if (empty || getTableRow() == null || getTableRow().getItem() == null) {
+                    setGraphic(null);
+                } else {
+                    HoldRow row = getTableRow().getItem();
+                    cancelButton.setOnAction(e -> cancelHold(row.hold()));
+                    setGraphic(cancelButton);
+                }
+            }
+        });
+    }
+
     // private void setupTables() {
     //     // Active borrowings table
     //     activeBookColumn.setCellValueFactory(cellData ->
@@ -149,6 +203,45 @@ public class MyBorrowingsController {
         overdueBorrowingsTable.getItems().setAll(overdueBorrowings);
     }
 
+    // Holds belong to the member profile linked to the login
+    private void loadHolds() {
+        List<HoldRow> rows = memberService.getMemberForUser(currentUser.getId())
+            .map(member -> holdService.getActiveHolds(member.getId()).stream()
+                .map(hold -> new HoldRow(hold, holdStatus(hold)))
+                .toList())
+            .orElse(List.of());
+        holdsTable.getItems().setAll(rows);
+    }
+
+    private String holdStatus(Hold hold) {
+        if (hold.getStatus() == Hold.HoldStatus.READY) {
+            return "À retirer avant le " + hold.getExpiresAt().format(dateFormatter);
+        }
+        return "En attente (position " + holdService.getQueuePosition(hold) + ")";
+    }
+
+    private void cancelHold(Hold hold) {
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Annuler une réservation");
+        confirm.setHeaderText("Annuler la réservation de '" + hold.getBook().getTitle() + "'");
+        confirm.setContentText("Êtes-vous sûr de vouloir annuler cette réservation ?");
+
+        confirm.showAndWait().ifPresent(response -> {
+            if (response == ButtonType.OK) {
+                try {
+                    if (holdService.cancelHold(hold.getId())) {
+                        showSuccess("Succès", "Réservation annulée");
+                    } else {
+                        showError("Erreur", "Cette réservation n'est plus active");
+                    }
+                    loadHolds();
+                } catch (Exception e) {
+                    showError("Erreur", "Erreur lors de l'annulation: " + e.getMessage());
+                }
+            }
+        });
+    }
+
     private void updateSummary() {
         activeCountLabel.setText(String.valueOf(activeBorrowings.size()));
         overdueCountLabel.setText(String.valueOf(overdueBorrowings.size()));
@@ -186,6 +279,7 @@ public class MyBorrowingsController {
     @FXML
     private void refreshData() {
         loadBorrowings();
+        loadHolds();
         updateSummary();
     }
 
@@ -193,8 +287,7 @@ public class MyBorrowingsController {
     private void goBack() {
         try {
             Stage stage = (Stage) borrowingsTabPane.getScene().getWindow();
-            stage.setScene(FXMLLoaderUtil.loadScene("/views/member-dashboard.fxml"));
-            stage.setTitle("Tableau de Bord Membre");
+            viewNavigator.show(stage, MemberDashboardController.VIEW, MemberDashboardController.TITLE);
         } catch (Exception e) {
             showError("Erreur", "Impossible de retourner au tableau de bord");
         }
@@ -215,4 +308,7 @@ public class MyBorrowingsController {
         alert.setContentText(message);
         alert.showAndWait();
     }
-}
\ No newline at end of file
+
+    private record HoldRow(Hold hold, String status) {
+    }
+}
@@ -1,11 +1,13 @@
 package com.intellilib.controllers.member;
 
+import com.intellilib.controllers.MemberDashboardController;
 
 import com.intellilib.models.Borrow;
 import com.intellilib.models.User;
 import com.intellilib.services.UserService;
 import com.intellilib.services.BorrowService;
-import com.intellilib.util.FXMLLoaderUtil;
+import com.intellilib.util.RefreshableView;
+import com.intellilib.util.ViewNavigator;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -21,7 +23,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Controller
-public class MyFinesController {
+public class MyFinesController implements RefreshableView {
 
     @FXML private Label totalFineAmount;
     @FXML private Label paidFineAmount;
@@ -46,6 +48,7 @@ public class MyFinesController {
 
     private final UserService userService;
     private final BorrowService borrowService;
+    private final ViewNavigator viewNavigator;
 
     private User currentUser;
     private ObservableList<Borrow> overdueBorrowings = FXCollections.observableArrayList();
@@ -74,9 +77,11 @@ public class MyFinesController {
         public String getStatus() { return status; }
     }
 
-    public MyFinesController(UserService userService, BorrowService borrowService) {
+    public MyFinesController(UserService userService, BorrowService borrowService,
+                             ViewNavigator viewNavigator) {
         this.userService = userService;
         this.borrowService = borrowService;
+        this.viewNavigator = viewNavigator;
     }
 
     @FXML
@@ -94,6 +99,12 @@ public class MyFinesController {
         loadPaymentHistory();
     }
 
+    @Override
+    public void refresh() {
+        loadData();
+        updateSummary();
+    }
+
     // private void setupTables() {
     //     // Current fines table
     //     fineBookColumn.setCellValueFactory(cellData ->
@@ -281,8 +292,7 @@ public class MyFinesController {
     private void goBack() {
         try {
             Stage stage = (Stage) totalFineAmount.getScene().getWindow();
-            stage.setScene(FXMLLoaderUtil.loadScene("/views/member-dashboard.fxml"));
-            stage.setTitle("Tableau de Bord Membre");
+            viewNavigator.show(stage, MemberDashboardController.VIEW, MemberDashboardController.TITLE);
         } catch (Exception e) {
             showError("Erreur", "Impossible de retourner au tableau de bord");
         }
@@ -1,33 +1,32 @@
 package com.intellilib.controllers.member;
 
+import com.intellilib.controllers.MemberDashboardController;
+import com.intellilib.controls.BookCardGrid;
 import com.intellilib.models.Book;
 import com.intellilib.models.User;
 import com.intellilib.services.UserService;
 import com.intellilib.services.BookService;
+import com.intellilib.services.BookReaderService;
 import com.intellilib.services.BorrowService;
-import com.intellilib.util.FXMLLoaderUtil;
+import com.intellilib.util.AppExecutors;
+import com.intellilib.util.RefreshableView;
+import com.intellilib.util.ViewNavigator;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
-import javafx.scene.layout.HBox;
-import javafx.scene.layout.VBox;
-import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import org.springframework.stereotype.Controller;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 @Controller
-public class RecommendationsController {
+public class RecommendationsController implements RefreshableView {
 
-    @FXML private HBox preferencesContainer;
-    @FXML private HBox historyContainer;
-    @FXML private HBox categoriesContainer;
-    @FXML private HBox newBooksContainer;
+    @FXML private BookCardGrid preferencesGrid;
+    @FXML private BookCardGrid historyGrid;
+    @FXML private BookCardGrid categoriesGrid;
+    @FXML private BookCardGrid newBooksGrid;
 
     @FXML private ProgressIndicator preferencesProgress;
     @FXML private ProgressIndicator historyProgress;
@@ -43,15 +42,21 @@ public class RecommendationsController {
     private final UserService userService;
     private final BookService bookService;
     private final BorrowService borrowService;
+    private final BookReaderService bookReaderService;
 
     private User currentUser;
-    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final ExecutorService executor;
+    private final ViewNavigator viewNavigator;
 
     public RecommendationsController(UserService userService, BookService bookService,
-                                   BorrowService borrowService) {
+                                   BorrowService borrowService, BookReaderService bookReaderService,
+                                   AppExecutors appExecutors, ViewNavigator viewNavigator) {
         this.userService = userService;
         this.bookService = bookService;
         this.borrowService = borrowService;
+        this.bookReaderService = bookReaderService;
+        this.executor = appExecutors.io();
+        this.viewNavigator = viewNavigator;
     }
 
     @FXML
@@ -67,31 +72,42 @@ public class RecommendationsController {
         loadAllRecommendations();
     }
 
+    @Override
+    public void refresh() {
+        loadAllRecommendations();
+    }
+
     private void setupControls() {
         // Setup spinner
         SpinnerValueFactory<Integer> valueFactory =
             new SpinnerValueFactory.IntegerSpinnerValueFactory(1, 20, 5);
         limitSpinner.setValueFactory(valueFactory);
 
+        for (BookCardGrid grid : List.of(preferencesGrid, historyGrid, categoriesGrid, newBooksGrid)) {
+            grid.setEmptyText("Aucune recommandation disponible");
+            grid.setCoverLoader(book -> bookReaderService.thumbnail(book, BookCardGrid.COVER_WIDTH));
+            grid.setOnBorrow(this::borrowBook);
+        }
+
         // Add listeners to checkboxes
         showPreferencesCheck.selectedProperty().addListener((obs, oldVal, newVal) -> {
-            preferencesContainer.setVisible(newVal);
-            preferencesContainer.setManaged(newVal);
+            preferencesGrid.setVisible(newVal);
+            preferencesGrid.setManaged(newVal);
         });
 
         showHistoryCheck.selectedProperty().addListener((obs, oldVal, newVal) -> {
-            historyContainer.setVisible(newVal);
-            historyContainer.setManaged(newVal);
+            historyGrid.setVisible(newVal);
+            historyGrid.setManaged(newVal);
         });
 
         showCategoriesCheck.selectedProperty().addListener((obs, oldVal, newVal) -> {
-            categoriesContainer.setVisible(newVal);
-            categoriesContainer.setManaged(newVal);
+            categoriesGrid.setVisible(newVal);
+            categoriesGrid.setManaged(newVal);
         });
 
         showNewBooksCheck.selectedProperty().addListener((obs, oldVal, newVal) -> {
-            newBooksContainer.setVisible(newVal);
-            newBooksContainer.setManaged(newVal);
+            newBooksGrid.setVisible(newVal);
+            newBooksGrid.setManaged(newVal);
         });
     }
 
@@ -108,13 +124,13 @@ public class RecommendationsController {
                         .toList();
 
                     Platform.runLater(() -> {
-                        displayBooks(books, preferencesContainer);
+                        preferencesGrid.setBooks(books);
                         showProgress(preferencesProgress, false);
                     });
                 } catch (Exception e) {
                     Platform.runLater(() -> {
                         showProgress(preferencesProgress, false);
-                        showErrorInContainer(preferencesContainer, e.getMessage());
+                        preferencesGrid.showError(e.getMessage());
                     });
                 }
             });
@@ -131,13 +147,13 @@ public class RecommendationsController {
                         .toList();
 
                     Platform.runLater(() -> {
-                        displayBooks(books, historyContainer);
+                        historyGrid.setBooks(books);
                         showProgress(historyProgress, false);
                     });
                 } catch (Exception e) {
                     Platform.runLater(() -> {
                         showProgress(historyProgress, false);
-                        showErrorInContainer(historyContainer, e.getMessage());
+                        historyGrid.showError(e.getMessage());
                     });
                 }
             });
@@ -154,13 +170,13 @@ public class RecommendationsController {
                         .toList();
 
                     Platform.runLater(() -> {
-                        displayBooks(books, categoriesContainer);
+                        categoriesGrid.setBooks(books);
                         showProgress(categoriesProgress, false);
                     });
                 } catch (Exception e) {
                     Platform.runLater(() -> {
                         showProgress(categoriesProgress, false);
-                        showErrorInContainer(categoriesContainer, e.getMessage());
+                        categoriesGrid.showError(e.getMessage());
                     });
                 }
             });
@@ -177,84 +193,19 @@ public class RecommendationsController {
                         .toList();
 
                     Platform.runLater(() -> {
-                        displayBooks(books, newBooksContainer);
+                        newBooksGrid.setBooks(books);
                         showProgress(newBooksProgress, false);
                     });
                 } catch (Exception e) {
                     Platform.runLater(() -> {
                         showProgress(newBooksProgress, false);
-                        showErrorInContainer(newBooksContainer, e.getMessage());
+                        newBooksGrid.showError(e.getMessage());
                     });
                 }
             });
         }
     }
 
-    private void displayBooks(List<Book> books, HBox container) {
-        container.getChildren().clear();
-
-        if (books.isEmpty()) {
-            Label noBooksLabel = new Label("Aucune recommandation disponible");
-            noBooksLabel.getStyleClass().add("no-books-label");
-            container.getChildren().add(noBooksLabel);
-            return;
-        }
-
-        for (Book book : books) {
-            VBox bookCard = createBookCard(book);
-            container.getChildren().add(bookCard);
-        }
-    }
-
-    private VBox createBookCard(Book book) {
-        VBox card = new VBox(10);
-        card.getStyleClass().add("book-card");
-        card.setPrefWidth(180);
-
-        // Book cover (placeholder)
-        ImageView cover = new ImageView();
-        cover.setFitWidth(150);
-        cover.setFitHeight(200);
-        cover.getStyleClass().add("book-cover");
-
-        try {
-            // In a real app, load actual book cover
-            cover.setImage(new Image(getClass().getResourceAsStream("/images/book-placeholder.png")));
-        } catch (Exception e) {
-            // Use default placeholder
-            cover.setStyle("-fx-background-color: #e0e0e0;");
-        }
-
-        // Book info
-        VBox info = new VBox(5);
-
-        Label titleLabel = new Label(book.getTitle());
-        titleLabel.getStyleClass().add("book-title");
-        titleLabel.setWrapText(true);
-        titleLabel.setMaxWidth(150);
-
-        Label authorLabel = new Label(book.getAuthor());
-        authorLabel.getStyleClass().add("book-author");
-
-        Label categoryLabel = new Label(book.getCategory() != null ?
-            book.getCategory().getName() : "Non catégorisé");
-        categoryLabel.getStyleClass().add("book-category");
-
-        Label availabilityLabel = new Label(book.isAvailable() ? "Disponible" : "Emprunté");
-        availabilityLabel.getStyleClass().add(book.isAvailable() ? "available" : "unavailable");
-
-        // Borrow button
-        Button borrowButton = new Button("Emprunter");
-        borrowButton.getStyleClass().add("borrow-button");
-        borrowButton.setDisable(!book.isAvailable());
-        borrowButton.setOnAction(e -> borrowBook(book));
-
-        info.getChildren().addAll(titleLabel, authorLabel, categoryLabel, availabilityLabel, borrowButton);
-        card.getChildren().addAll(cover, info);
-
-        return card;
-    }
-
     private void borrowBook(Book book) {
         Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
         confirm.setTitle("Emprunter un livre");
@@ -283,19 +234,11 @@ public class RecommendationsController {
         progress.setVisible(show);
     }
 
-    private void showErrorInContainer(HBox container, String message) {
-        container.getChildren().clear();
-        Label errorLabel = new Label("Erreur: " + message);
-        errorLabel.getStyleClass().add("error-label");
-        container.getChildren().add(errorLabel);
-    }
-
     @FXML
     private void goBack() {
         try {
-            Stage stage = (Stage) preferencesContainer.getScene().getWindow();
-            stage.setScene(FXMLLoaderUtil.loadScene("/views/member-dashboard.fxml"));
-            stage.setTitle("Tableau de Bord Membre");
+            Stage stage = (Stage) preferencesGrid.getScene().getWindow();
+            viewNavigator.show(stage, MemberDashboardController.VIEW, MemberDashboardController.TITLE);
         } catch (Exception e) {
             showError("Erreur", "Impossible de retourner au tableau de bord");
         }
@@ -316,8 +259,4 @@ public class RecommendationsController {
         alert.setContentText(message);
         alert.showAndWait();
     }
-
-    public void shutdown() {
-        executor.shutdown();
-    }
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package com.intellilib.controllers.member;
 
+import com.intellilib.controllers.MemberDashboardController;
 import com.intellilib.models.User;
 import com.intellilib.services.UserService;
 import com.intellilib.services.CategoryService;
+import com.intellilib.util.AppExecutors;
 import com.intellilib.util.FXMLLoaderUtil;
+import com.intellilib.util.RefreshableView;
+import com.intellilib.util.ViewNavigator;
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -16,10 +20,9 @@ import org.springframework.stereotype.Controller;
 
 import java.time.format.DateTimeFormatter;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 @Controller
-public class UpdateProfileController {
+public class UpdateProfileController implements RefreshableView {
 
     @FXML private TextField usernameField;
     @FXML private TextField emailField;
@@ -51,13 +54,17 @@ public class UpdateProfileController {
     private ObservableList<String> categories = FXCollections.observableArrayList();
     private ObservableList<String> languages = FXCollections.observableArrayList("Français", "Anglais", "Arabe");
 
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final ExecutorService executor;
+    private final ViewNavigator viewNavigator;
 
     public UpdateProfileController(UserService userService, CategoryService categoryService,
-                                 PasswordEncoder passwordEncoder) {
+                                 PasswordEncoder passwordEncoder, AppExecutors appExecutors,
+                                 ViewNavigator viewNavigator) {
         this.userService = userService;
         this.categoryService = categoryService;
         this.passwordEncoder = passwordEncoder;
+        this.executor = appExecutors.io();
+        this.viewNavigator = viewNavigator;
     }
 
     @FXML
@@ -73,6 +80,19 @@ public class UpdateProfileController {
         setupForm();
     }
 
+    /**
+     * Shows the saved profile again and forgets passwords typed on the last visit
+     */
+    @Override
+    public void refresh() {
+        currentUser = userService.getCurrentUser();
+        loadUserData();
+        currentPasswordField.clear();
+        newPasswordField.clear();
+        confirmPasswordField.clear();
+        statusLabel.setText("");
+    }
+
     private void loadUserData() {
         // Load user information
         usernameField.setText(currentUser.getUsername());
@@ -262,6 +282,7 @@ public class UpdateProfileController {
     private void logout() {
         try {
             userService.logout();
+            viewNavigator.clear();
             Stage stage = (Stage) usernameField.getScene().getWindow();
             stage.setScene(FXMLLoaderUtil.loadScene("/views/login.fxml"));
             stage.setTitle("Connexion");
@@ -274,8 +295,7 @@ public class UpdateProfileController {
     private void goBack() {
         try {
             Stage stage = (Stage) usernameField.getScene().getWindow();
-            stage.setScene(FXMLLoaderUtil.loadScene("/views/member-dashboard.fxml"));
-            stage.setTitle("Tableau de Bord Membre");
+            viewNavigator.show(stage, MemberDashboardController.VIEW, MemberDashboardController.TITLE);
         } catch (Exception e) {
             showError("Erreur", "Impossible de retourner au tableau de bord");
         }
@@ -312,8 +332,4 @@ public class UpdateProfileController {
         alert.setContentText(message);
         alert.showAndWait();
     }
-
-    public void shutdown() {
-        executor.shutdown();
-    }
 }
\ No newline at end of file
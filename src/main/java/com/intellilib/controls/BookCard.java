@@ -0,0 +1,126 @@
+package com.intellilib.controls;
+
+import com.intellilib.models.Book;
+import javafx.css.PseudoClass;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * One card of a {@link BookCardGrid}; cards are reused for whichever book their line shows
+ */
+final class BookCard extends VBox {
+
+    private static final PseudoClass SELECTED = PseudoClass.getPseudoClass("selected");
+    private static final double COVER_HEIGHT = 200;
+    // Shared by every card; null when the image is not bundled, the cover background shows instead
+    private static final Image PLACEHOLDER = loadPlaceholder();
+
+    private final BookCardGrid grid;
+    private final ImageView cover = new ImageView();
+    private final Label titleLabel = new Label();
+    private final Label authorLabel = new Label();
+    private final Label categoryLabel = new Label();
+    private final Label availabilityLabel = new Label();
+    private final Button borrowButton = new Button("Emprunter");
+
+    private Book book;
+    private boolean hasCover;
+
+    BookCard(BookCardGrid grid) {
+        super(10);
+        this.grid = grid;
+        getStyleClass().add("book-card");
+        setPrefSize(BookCardGrid.CARD_WIDTH, BookCardGrid.CARD_HEIGHT);
+        setMaxSize(BookCardGrid.CARD_WIDTH, BookCardGrid.CARD_HEIGHT);
+
+        cover.setFitWidth(BookCardGrid.COVER_WIDTH);
+        cover.setFitHeight(COVER_HEIGHT);
+        cover.setPreserveRatio(true);
+        StackPane coverPane = new StackPane(cover);
+        coverPane.getStyleClass().add("book-cover");
+        coverPane.setPrefSize(BookCardGrid.COVER_WIDTH, COVER_HEIGHT);
+        coverPane.setMaxSize(BookCardGrid.COVER_WIDTH, COVER_HEIGHT);
+
+        titleLabel.getStyleClass().add("book-title");
+        titleLabel.setMaxWidth(BookCardGrid.COVER_WIDTH);
+        authorLabel.getStyleClass().add("book-author");
+        categoryLabel.getStyleClass().add("book-category");
+        borrowButton.getStyleClass().add("borrow-button");
+        borrowButton.setOnAction(event -> grid.borrow(book));
+
+        VBox info = new VBox(5, titleLabel, authorLabel, categoryLabel, availabilityLabel, borrowButton);
+        getChildren().addAll(coverPane, info);
+
+        setOnMouseClicked(event -> {
+            if (book == null || event.getButton() != MouseButton.PRIMARY) {
+                return;
+            }
+            grid.select(book);
+            if (event.getClickCount() == 2) {
+                grid.open(book);
+            }
+        });
+    }
+
+    Book getBook() {
+        return book;
+    }
+
+    /**
+     * Show a book, or a loading card for null; the cover is kept when the book is the same
+     */
+    void show(Book newBook) {
+        boolean sameBook = book != null && newBook != null && Objects.equals(book.getId(), newBook.getId());
+        book = newBook;
+        pseudoClassStateChanged(SELECTED, grid.isSelected(newBook));
+
+        if (newBook == null) {
+            cover.setImage(PLACEHOLDER);
+            hasCover = false;
+            titleLabel.setText("Chargement...");
+            authorLabel.setText("");
+            categoryLabel.setText("");
+            availabilityLabel.setText("");
+            borrowButton.setVisible(false);
+            return;
+        }
+
+        titleLabel.setText(newBook.getTitle());
+        authorLabel.setText(newBook.getAuthor());
+        categoryLabel.setText(newBook.getCategory() != null ? newBook.getCategory().getName() : "Non catégorisé");
+
+        boolean available = grid.isAvailable(newBook);
+        availabilityLabel.setText(available ? "Disponible" : "Emprunté");
+        availabilityLabel.getStyleClass().setAll("label", available ? "available" : "unavailable");
+        borrowButton.setVisible(true);
+        borrowButton.setDisable(!available);
+
+        if (!sameBook) {
+            cover.setImage(PLACEHOLDER);
+            hasCover = false;
+        }
+        if (!hasCover) {
+            grid.requestCover(this);
+        }
+    }
+
+    void showCover(Book forBook, Image image) {
+        if (book != null && Objects.equals(book.getId(), forBook.getId())) {
+            cover.setImage(image);
+            hasCover = true;
+        }
+    }
+
+    private static Image loadPlaceholder() {
+        InputStream stream = BookCard.class.getResourceAsStream("/images/book-placeholder.png");
+        return stream != null ? new Image(stream) : null;
+    }
+}
@@ -0,0 +1,442 @@
+package com.intellilib.controls;
+
+import com.intellilib.models.Book;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.ObservableListBase;
+import javafx.geometry.Insets;
+import javafx.geometry.Orientation;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.image.Image;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
+import javafx.util.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Book cards over a catalogue of any size. Only the cards on screen exist: the grid is a
+ * ListView of lines of cards, and lines scrolled out are reused for the lines scrolling in.
+ * Books are fetched a page at a time when a line first shows them, and only the most recently
+ * used pages are kept. Covers are requested once scrolling stops, for the cards still visible.
+ * <p>
+ * A vertical grid fits as many cards per line as its width allows; a horizontal one is a
+ * single strip of cards. Use from the FX thread only.
+ */
+@Slf4j
+public class BookCardGrid extends StackPane {
+
+    /**
+     * Fetches one page of books; runs on the executor given with it
+     */
+    @FunctionalInterface
+    public interface PageLoader {
+        Page<Book> load(int page, int size);
+    }
+
+    static final double CARD_WIDTH = 180;
+    static final double CARD_HEIGHT = 340;
+    public static final int COVER_WIDTH = 150;
+    public static final int PAGE_SIZE = 60;
+
+    private static final double CARD_GAP = 20;
+    // Room for the vertical scroll bar, so a full line never needs a horizontal one
+    private static final double SCROLL_BAR_ALLOWANCE = 20;
+    private static final int CACHED_PAGES = 8;
+    private static final Duration COVER_DELAY = Duration.millis(150);
+
+    private final ListView<Integer> lines = new ListView<>();
+    private final LineIndexes lineIndexes = new LineIndexes();
+    private final Label placeholder = new Label();
+
+    private final Map<Integer, List<Book>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Book>> eldest) {
+            return size() > CACHED_PAGES;
+        }
+    };
+    private final Set<Integer> loadingPages = new HashSet<>();
+    private final Set<BookCard> pendingCovers = new HashSet<>();
+    private final PauseTransition coverDelay = new PauseTransition(COVER_DELAY);
+
+    private final ReadOnlyIntegerWrapper total = new ReadOnlyIntegerWrapper(this, "total");
+    private final ReadOnlyObjectWrapper<Book> selectedBook = new ReadOnlyObjectWrapper<>(this, "selectedBook");
+
+    private PageLoader pageLoader;
+    private Executor executor;
+    private List<Book> books = List.of();
+    // Results of loads started before the last reload are dropped
+    private int generation;
+    private int cardsPerLine = 1;
+
+    private Function<Book, CompletableFuture<Image>> coverLoader;
+    private Predicate<Book> availability = Book::isAvailable;
+    private Consumer<Book> onBorrow;
+    private Consumer<Book> onOpen;
+    private String emptyText = "Aucun livre";
+
+    public BookCardGrid() {
+        getStyleClass().add("book-card-grid");
+        lines.getStyleClass().add("book-card-lines");
+        lines.setItems(lineIndexes);
+        lines.setCellFactory(list -> new LineCell());
+        lines.setFixedCellSize(CARD_HEIGHT + CARD_GAP);
+        lines.setFocusTraversable(false);
+        lines.setPlaceholder(placeholder);
+        lines.widthProperty().addListener((obs, oldWidth, newWidth) -> layoutLines());
+        placeholder.setText(emptyText);
+        coverDelay.setOnFinished(event -> loadPendingCovers());
+        getChildren().add(lines);
+    }
+
+    @Override
+    public String getUserAgentStylesheet() {
+        return BookCardGrid.class.getResource("/css/book-card-grid.css").toExternalForm();
+    }
+
+    /**
+     * Show the books the loader returns, fetched on the executor as they scroll into view
+     */
+    public void setPageLoader(PageLoader pageLoader, Executor executor) {
+        this.pageLoader = pageLoader;
+        this.executor = executor;
+        this.books = null;
+        reset();
+        placeholder.setText("Chargement...");
+        requestPage(0);
+    }
+
+    /**
+     * Same, with the first page of PAGE_SIZE books already fetched, so the grid is filled at
+     * once instead of showing an empty page while it is fetched again
+     */
+    public void setPageLoader(PageLoader pageLoader, Executor executor, Page<Book> firstPage) {
+        this.pageLoader = pageLoader;
+        this.executor = executor;
+        this.books = null;
+        reset();
+        pageLoaded(generation, 0, firstPage);
+    }
+
+    /**
+     * Show books already in memory
+     */
+    public void setBooks(List<Book> books) {
+        this.pageLoader = null;
+        this.books = List.copyOf(books);
+        reset();
+        placeholder.setText(emptyText);
+        setTotal(this.books.size());
+    }
+
+    /**
+     * Fetch the books again, e.g. after a borrow changed availability. Cards keep what they
+     * show until the new pages arrive, and the scroll position is kept.
+     */
+    public void reload() {
+        if (pageLoader == null) {
+            lines.refresh();
+            return;
+        }
+        generation++;
+        loadingPages.clear();
+        for (Integer page : List.copyOf(pages.keySet())) {
+            requestPage(page);
+        }
+        if (pages.isEmpty()) {
+            requestPage(0);
+        }
+    }
+
+    public void showError(String message) {
+        setBooks(List.of());
+        placeholder.setText("Erreur: " + message);
+    }
+
+    public void setEmptyText(String emptyText) {
+        this.emptyText = emptyText;
+        if (total.get() == 0) {
+            placeholder.setText(emptyText);
+        }
+    }
+
+    public void setCoverLoader(Function<Book, CompletableFuture<Image>> coverLoader) {
+        this.coverLoader = coverLoader;
+    }
+
+    public void setAvailability(Predicate<Book> availability) {
+        this.availability = availability;
+    }
+
+    public void setOnBorrow(Consumer<Book> onBorrow) {
+        this.onBorrow = onBorrow;
+    }
+
+    /**
+     * Called on double click
+     */
+    public void setOnOpen(Consumer<Book> onOpen) {
+        this.onOpen = onOpen;
+    }
+
+    public Orientation getOrientation() {
+        return lines.getOrientation();
+    }
+
+    public void setOrientation(Orientation orientation) {
+        lines.setOrientation(orientation);
+        lines.setFixedCellSize(orientation == Orientation.VERTICAL ? CARD_HEIGHT + CARD_GAP : CARD_WIDTH + CARD_GAP);
+        layoutLines();
+    }
+
+    public ReadOnlyIntegerProperty totalProperty() {
+        return total.getReadOnlyProperty();
+    }
+
+    public ReadOnlyObjectProperty<Book> selectedBookProperty() {
+        return selectedBook.getReadOnlyProperty();
+    }
+
+    public Book getSelectedBook() {
+        return selectedBook.get();
+    }
+
+    private void reset() {
+        generation++;
+        pages.clear();
+        loadingPages.clear();
+        pendingCovers.clear();
+        selectedBook.set(null);
+        setTotal(0);
+        lines.scrollTo(0);
+    }
+
+    private void setTotal(int count) {
+        total.set(count);
+        layoutLines();
+    }
+
+    private void layoutLines() {
+        int fitting = lines.getOrientation() == Orientation.VERTICAL
+                ? (int) ((lines.getWidth() - SCROLL_BAR_ALLOWANCE) / (CARD_WIDTH + CARD_GAP))
+                : 1;
+        cardsPerLine = Math.max(1, fitting);
+        lineIndexes.setSize((total.get() + cardsPerLine - 1) / cardsPerLine);
+        lines.refresh();
+    }
+
+    Book bookAt(int index) {
+        if (books != null) {
+            return index < books.size() ? books.get(index) : null;
+        }
+        List<Book> page = pages.get(index / PAGE_SIZE);
+        if (page == null) {
+            requestPage(index / PAGE_SIZE);
+            return null;
+        }
+        int offset = index % PAGE_SIZE;
+        return offset < page.size() ? page.get(offset) : null;
+    }
+
+    private void requestPage(int page) {
+        if (pageLoader == null || !loadingPages.add(page)) {
+            return;
+        }
+        int requested = generation;
+        PageLoader loader = pageLoader;
+        try {
+            executor.execute(() -> {
+                try {
+                    Page<Book> result = loader.load(page, PAGE_SIZE);
+                    Platform.runLater(() -> pageLoaded(requested, page, result));
+                } catch (Exception e) {
+                    Platform.runLater(() -> pageFailed(requested, page, e));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            loadingPages.remove(page);
+        }
+    }
+
+    private void pageLoaded(int requested, int page, Page<Book> result) {
+        if (requested != generation) {
+            return;
+        }
+        loadingPages.remove(page);
+        pages.put(page, result.getContent());
+        placeholder.setText(emptyText);
+
+        int count = (int) Math.min(result.getTotalElements(), Integer.MAX_VALUE);
+        if (count != total.get()) {
+            setTotal(count);
+        } else {
+            lines.refresh();
+        }
+    }
+
+    private void pageFailed(int requested, int page, Exception error) {
+        if (requested != generation) {
+            return;
+        }
+        loadingPages.remove(page);
+        log.warn("Could not load page {} of books: {}", page, error.getMessage());
+        if (total.get() == 0) {
+            placeholder.setText("Erreur: " + error.getMessage());
+        }
+    }
+
+    boolean isAvailable(Book book) {
+        return availability.test(book);
+    }
+
+    boolean isSelected(Book book) {
+        Book selected = selectedBook.get();
+        return book != null && selected != null && Objects.equals(book.getId(), selected.getId());
+    }
+
+    void select(Book book) {
+        selectedBook.set(book);
+        lines.refresh();
+    }
+
+    void borrow(Book book) {
+        if (onBorrow != null) {
+            onBorrow.accept(book);
+        }
+    }
+
+    void open(Book book) {
+        if (onOpen != null) {
+            onOpen.accept(book);
+        }
+    }
+
+    void requestCover(BookCard card) {
+        if (coverLoader == null) {
+            return;
+        }
+        pendingCovers.add(card);
+        coverDelay.playFromStart();
+    }
+
+    // Cards shown while scrolling past have moved on to other books by now, only the rest load
+    private void loadPendingCovers() {
+        for (BookCard card : pendingCovers) {
+            Book book = card.getBook();
+            if (book == null || !card.isVisible() || card.getScene() == null) {
+                continue;
+            }
+            coverLoader.apply(book).whenComplete((image, error) -> {
+                if (image != null) {
+                    Platform.runLater(() -> card.showCover(book, image));
+                }
+            });
+        }
+        pendingCovers.clear();
+    }
+
+    private final class LineCell extends ListCell<Integer> {
+
+        private final HBox line = new HBox(CARD_GAP);
+        private final List<BookCard> cards = new ArrayList<>();
+
+        LineCell() {
+            line.setPadding(new Insets(CARD_GAP / 2));
+        }
+
+        @Override
+        protected void updateItem(Integer lineIndex, boolean empty) {
+            super.updateItem(lineIndex, empty);
+            if (empty || lineIndex == null) {
+                setGraphic(null);
+                return;
+            }
+
+            while (cards.size() < cardsPerLine) {
+                BookCard card = new BookCard(BookCardGrid.this);
+                cards.add(card);
+                line.getChildren().add(card);
+            }
+            while (cards.size() > cardsPerLine) {
+                line.getChildren().remove(cards.remove(cards.size() - 1));
+            }
+
+            for (int i = 0; i < cards.size(); i++) {
+                int index = lineIndex * cardsPerLine + i;
+                BookCard card = cards.get(i);
+                card.setVisible(index < total.get());
+                card.show(index < total.get() ? bookAt(index) : null);
+            }
+            setGraphic(line);
+        }
+    }
+
+    /**
+     * The line numbers, without holding them: an O(1) list of 0 to size - 1
+     */
+    private static final class LineIndexes extends ObservableListBase<Integer> {
+
+        private int size;
+
+        @Override
+        public Integer get(int index) {
+            Objects.checkIndex(index, size);
+            return index;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        void setSize(int newSize) {
+            if (newSize == size) {
+                return;
+            }
+            int oldSize = size;
+            beginChange();
+            size = newSize;
+            if (newSize > oldSize) {
+                nextAdd(oldSize, newSize);
+            } else {
+                nextRemove(newSize, range(newSize, oldSize));
+            }
+            endChange();
+        }
+
+        private static List<Integer> range(int from, int to) {
+            return new AbstractList<>() {
+                @Override
+                public Integer get(int index) {
+                    return from + Objects.checkIndex(index, to - from);
+                }
+
+                @Override
+                public int size() {
+                    return to - from;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.intellilib.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("intellilib.Circulation")
+@Label("Checkout / Return")
+@Description("Checkout or return of one or more books; rows is the number of books processed")
+public class CirculationEvent extends IntellilibEvent {
+
+    public static final String CHECKOUT = "CHECKOUT";
+    public static final String RETURN = "RETURN";
+
+    @Label("Operation")
+    private String operation;
+
+    public static CirculationEvent start(String operation) {
+        CirculationEvent event = new CirculationEvent();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,21 @@
+package com.intellilib.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("intellilib.DashboardLoad")
+@Label("Dashboard Panel Load")
+@Description("Loading of one dashboard panel, queries and UI update included")
+public class DashboardLoadEvent extends IntellilibEvent {
+
+    @Label("Panel")
+    private String panel;
+
+    public static DashboardLoadEvent start(String panel) {
+        DashboardLoadEvent event = new DashboardLoadEvent();
+        event.panel = panel;
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,28 @@
+package com.intellilib.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("intellilib.FineJobChunk")
+@Label("Fine Job Chunk")
+@Description("One chunk of overdue borrows processed by the daily fine job")
+public class FineJobChunkEvent extends IntellilibEvent {
+
+    @Label("Chunk")
+    private int chunk;
+
+    @Label("Failed Rows")
+    private int failed;
+
+    public static FineJobChunkEvent start(int chunk) {
+        FineJobChunkEvent event = new FineJobChunkEvent();
+        event.chunk = chunk;
+        event.begin();
+        return event;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+}
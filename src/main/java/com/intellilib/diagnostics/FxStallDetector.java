@@ -0,0 +1,193 @@
+package com.intellilib.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import javafx.application.Platform;
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Watchdog for the JavaFX Application Thread. A pulse is posted with Platform.runLater every
+ * interval; when it has not run after the threshold, the FX thread's stack is sampled and the
+ * innermost controller frame names the screen and handler that hold the thread. When the pulse
+ * finally runs, the stall is recorded in the intellilib.fx.stall timer (per screen and handler),
+ * as an FxStall flight recorder event, and as the latest sample for the metrics panel.
+ * Started from MainApp once the toolkit is up.
+ */
+@Component
+@Slf4j
+public class FxStallDetector {
+
+    public static final String METRIC = "intellilib.fx.stall";
+
+    private static final String CONTROLLER_PACKAGE = "com.intellilib.controllers.";
+    private static final int SAMPLE_FRAMES = 40;
+
+    private final MeterRegistry meterRegistry;
+    private final long intervalNanos;
+    private final long thresholdNanos;
+    private final long logThresholdNanos;
+
+    private final Map<String, StallSample> latestSamples = new ConcurrentHashMap<>();
+
+    private volatile Thread fxThread;
+    private volatile Thread watchdog;
+
+    // Written by the watchdog, read by the pulse on the FX thread
+    private volatile Pulse pending;
+
+    public FxStallDetector(MeterRegistry meterRegistry,
+                           @Value("${intellilib.fx.watchdog.interval-ms:100}") long intervalMillis,
+                           @Value("${intellilib.fx.watchdog.threshold-ms:200}") long thresholdMillis,
+                           @Value("${intellilib.fx.watchdog.log-threshold-ms:1000}") long logThresholdMillis) {
+        this.meterRegistry = meterRegistry;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.logThresholdNanos = TimeUnit.MILLISECONDS.toNanos(logThresholdMillis);
+    }
+
+    public synchronized void start() {
+        if (watchdog != null || intervalNanos <= 0) {
+            return;
+        }
+        watchdog = Thread.ofPlatform().daemon().name("fx-watchdog").start(this::watch);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (watchdog != null) {
+            watchdog.interrupt();
+            watchdog = null;
+        }
+    }
+
+    /**
+     * Latest sampled stall per screen and handler, longest first
+     */
+    public List<StallSample> getLatestSamples() {
+        List<StallSample> samples = new ArrayList<>(latestSamples.values());
+        samples.sort(Comparator.comparingDouble(StallSample::getStallMillis).reversed());
+        return samples;
+    }
+
+    private void watch() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Pulse pulse = pending;
+            long now = System.nanoTime();
+            if (pulse == null) {
+                Pulse next = new Pulse(now);
+                pending = next;
+                Platform.runLater(() -> pulseArrived(next));
+            } else if (pulse.stack == null && fxThread != null && now - pulse.postedAt >= thresholdNanos) {
+                // Late: the FX thread is still inside whatever held it up
+                pulse.stack = fxThread.getStackTrace();
+            }
+            LockSupport.parkNanos(intervalNanos);
+        }
+    }
+
+    private void pulseArrived(Pulse pulse) {
+        fxThread = Thread.currentThread();
+        long lag = System.nanoTime() - pulse.postedAt;
+        pulse.event.end();
+        pending = null;
+        if (lag < thresholdNanos || pulse.stack == null) {
+            return;
+        }
+        recordStall(pulse, lag);
+    }
+
+    private void recordStall(Pulse pulse, long lag) {
+        StackTraceElement handlerFrame = Arrays.stream(pulse.stack)
+                .filter(frame -> frame.getClassName().startsWith(CONTROLLER_PACKAGE))
+                .findFirst()
+                .orElse(null);
+        String screen = handlerFrame != null ? screenName(handlerFrame.getClassName()) : "none";
+        String handler = handlerFrame != null ? handlerName(handlerFrame.getMethodName()) : "none";
+        String stack = Arrays.stream(pulse.stack)
+                .limit(SAMPLE_FRAMES)
+                .map(frame -> "at " + frame)
+                .collect(Collectors.joining("\n"));
+
+        Timer.builder(METRIC)
+                .description("Time the JavaFX Application Thread was busy past the watchdog threshold")
+                .tag("screen", screen)
+                .tag("handler", handler)
+                .register(meterRegistry)
+                .record(lag, TimeUnit.NANOSECONDS);
+
+        FxStallEvent event = pulse.event;
+        if (event.shouldCommit()) {
+            event.screen = screen;
+            event.handler = handler;
+            event.stackTrace = stack;
+            event.commit();
+        }
+
+        double stallMillis = lag / 1_000_000.0;
+        latestSamples.put(screen + "." + handler, StallSample.builder()
+                .screen(screen)
+                .handler(handler)
+                .stallMillis(stallMillis)
+                .sampledAt(LocalDateTime.now())
+                .stackTrace(stack)
+                .build());
+
+        if (lag >= logThresholdNanos) {
+            log.warn("FX thread stalled {} ms in {}.{}\n{}", Math.round(stallMillis), screen, handler, stack);
+        }
+    }
+
+    // ManageFinesController$$SpringCGLIB$$0 -> ManageFinesController
+    private static String screenName(String className) {
+        String simple = className.substring(className.lastIndexOf('.') + 1);
+        int nested = simple.indexOf('$');
+        return nested > 0 ? simple.substring(0, nested) : simple;
+    }
+
+    // lambda$loadData$3 -> loadData
+    private static String handlerName(String methodName) {
+        if (methodName.startsWith("lambda$")) {
+            String[] parts = methodName.split("\\$");
+            return parts.length > 1 ? parts[1] : methodName;
+        }
+        return methodName;
+    }
+
+    private static final class Pulse {
+        final long postedAt;
+        // Begins when the pulse is posted, so its duration is the stall
+        final FxStallEvent event = new FxStallEvent();
+        volatile StackTraceElement[] stack;
+
+        Pulse(long postedAt) {
+            this.postedAt = postedAt;
+            event.begin();
+        }
+    }
+
+    @Data
+    @Builder
+    public static class StallSample {
+        private String screen;
+        private String handler;
+        private double stallMillis;
+        private LocalDateTime sampledAt;
+        private String stackTrace;
+    }
+}
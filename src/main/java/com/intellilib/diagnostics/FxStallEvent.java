@@ -0,0 +1,25 @@
+package com.intellilib.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("intellilib.FxStall")
+@Label("FX Thread Stall")
+@Category("IntelliLib")
+@Description("JavaFX Application Thread busy past the watchdog threshold, with the sampled FX thread stack")
+@StackTrace(false)
+public class FxStallEvent extends Event {
+
+    @Label("Screen")
+    String screen;
+
+    @Label("Handler")
+    String handler;
+
+    @Label("FX Thread Stack")
+    String stackTrace;
+}
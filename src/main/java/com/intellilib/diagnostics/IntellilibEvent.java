@@ -0,0 +1,52 @@
+package com.intellilib.diagnostics;
+
+import com.intellilib.models.User;
+import com.intellilib.session.SessionManager;
+import com.intellilib.util.ApplicationContextProvider;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Common fields of the application's Flight Recorder events. The event duration is the time
+ * between {@code begin()} and {@link #complete}; when no recording has the event enabled,
+ * completing it only costs a flag check.
+ */
+@Category("IntelliLib")
+public abstract class IntellilibEvent extends Event {
+
+    @Label("Rows")
+    protected int rows;
+
+    @Label("User")
+    protected String user;
+
+    public void complete(int rows) {
+        complete(rows, null);
+    }
+
+    /**
+     * Commit with the row count and the acting user; without one, the user of the current
+     * session or task is recorded
+     */
+    public void complete(int rows, User performedBy) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        this.rows = rows;
+        this.user = username(performedBy != null ? performedBy : sessionUser());
+        commit();
+    }
+
+    private static User sessionUser() {
+        if (ApplicationContextProvider.getApplicationContext() == null) {
+            return null;
+        }
+        return ApplicationContextProvider.getBean(SessionManager.class).getCurrentUser();
+    }
+
+    private static String username(User user) {
+        return user != null ? user.getUsername() : "system";
+    }
+}
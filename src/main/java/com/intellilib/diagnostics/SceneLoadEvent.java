@@ -0,0 +1,37 @@
+package com.intellilib.diagnostics;
+
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("intellilib.SceneLoad")
+@Label("FXML Scene Load")
+@Description("FXML parsing and controller creation; rows is the number of nodes in the loaded scene graph")
+public class SceneLoadEvent extends IntellilibEvent {
+
+    @Label("FXML")
+    private String fxml;
+
+    public static SceneLoadEvent start(String fxml) {
+        SceneLoadEvent event = new SceneLoadEvent();
+        event.fxml = fxml;
+        event.begin();
+        return event;
+    }
+
+    // The scene graph is only walked when a recording wants the event
+    public void complete(Parent root) {
+        end();
+        complete(shouldCommit() ? countNodes(root) : 0);
+    }
+
+    private static int countNodes(Parent parent) {
+        int count = 1;
+        for (Node child : parent.getChildrenUnmodifiable()) {
+            count += child instanceof Parent nested ? countNodes(nested) : 1;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,25 @@
+package com.intellilib.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("intellilib.Search")
+@Label("Search")
+@Description("Catalogue search; rows is the number of matches")
+public class SearchEvent extends IntellilibEvent {
+
+    @Label("Source")
+    private String source;
+
+    @Label("Query")
+    private String query;
+
+    public static SearchEvent start(String source, String query) {
+        SearchEvent event = new SearchEvent();
+        event.source = source;
+        event.query = query;
+        event.begin();
+        return event;
+    }
+}
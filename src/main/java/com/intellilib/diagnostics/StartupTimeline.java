@@ -0,0 +1,115 @@
+package com.intellilib.diagnostics;
+
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.core.metrics.StartupStep;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spring's buffered startup recorder, which also tracks progress for the splash screen and
+ * turns the recorded steps into a per-bean cost report. Being a BufferingApplicationStartup,
+ * it also backs /actuator/startup in the server profile.
+ */
+public class StartupTimeline extends BufferingApplicationStartup {
+
+    private static final String BEAN_STEP = "spring.beans.instantiate";
+    private static final String REFRESH_STEP = "spring.context.refresh";
+    private static final int CAPACITY = 10_000;
+
+    private final AtomicInteger instantiated = new AtomicInteger();
+    private volatile int expectedBeans;
+    private volatile String currentStep = "Starting";
+
+    public StartupTimeline() {
+        super(CAPACITY);
+    }
+
+    @Override
+    public StartupStep start(String name) {
+        if (BEAN_STEP.equals(name)) {
+            instantiated.incrementAndGet();
+        } else if (REFRESH_STEP.equals(name)) {
+            currentStep = "Creating services";
+        }
+        return super.start(name);
+    }
+
+    /**
+     * Number of eager singletons, known once the bean definitions are final (see StartupConfig)
+     */
+    public void expectBeans(int count) {
+        expectedBeans = count;
+    }
+
+    /**
+     * Estimated progress between 0 and 1; bean creation is most of the work, inner and
+     * factory beans can push the count past the estimate, so it stops short of done.
+     * Without an estimate (AOT-processed context), progress slows down as beans come in.
+     */
+    public double getProgress() {
+        int expected = expectedBeans;
+        int created = instantiated.get();
+        double done = expected > 0 ? Math.min(1.0, (double) created / expected) : created / (created + 200.0);
+        return 0.05 + 0.9 * done;
+    }
+
+    public String getCurrentStep() {
+        return currentStep;
+    }
+
+    /**
+     * Context phases and the beans that cost the most to create, by self time (time spent
+     * creating the bean itself, without the dependencies it pulled in)
+     */
+    public String report(int topBeans) {
+        List<TimelineEvent> events = getBufferedTimeline().getEvents();
+
+        Map<Long, Duration> childTime = new HashMap<>();
+        for (TimelineEvent event : events) {
+            Long parent = event.getStartupStep().getParentId();
+            if (parent != null) {
+                childTime.merge(parent, event.getDuration(), Duration::plus);
+            }
+        }
+
+        List<BeanCost> beans = new ArrayList<>();
+        Duration refresh = Duration.ZERO;
+        for (TimelineEvent event : events) {
+            StartupStep step = event.getStartupStep();
+            if (REFRESH_STEP.equals(step.getName())) {
+                refresh = event.getDuration();
+            } else if (BEAN_STEP.equals(step.getName())) {
+                Duration self = event.getDuration().minus(childTime.getOrDefault(step.getId(), Duration.ZERO));
+                beans.add(new BeanCost(tag(step, "beanName"), event.getDuration(), self));
+            }
+        }
+        beans.sort(Comparator.comparing(BeanCost::self).reversed());
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Context refresh %d ms, %d beans created%n", refresh.toMillis(), beans.size()));
+        report.append(String.format("%-48s %9s %9s%n", "bean", "self ms", "total ms"));
+        for (BeanCost bean : beans.subList(0, Math.min(topBeans, beans.size()))) {
+            report.append(String.format("%-48s %9d %9d%n", bean.name(), bean.self().toMillis(), bean.total().toMillis()));
+        }
+        return report.toString();
+    }
+
+    private static String tag(StartupStep step, String key) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (key.equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+
+    private record BeanCost(String name, Duration total, Duration self) {
+    }
+}
@@ -2,10 +2,18 @@ package com.intellilib.models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDate;
 
 @Entity
 @Table(name = "books")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "books")
+// Only changed columns are written, so saving an edited book cannot overwrite copy counts
+// that circulation changed in the meantime
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -30,6 +38,10 @@ public class Book {
 
     private Integer quantity;
     
+    // Copies on the shelf, only changed through the conditional updates in BookRepository
+    @Column(name = "available_count")
+    private Integer availableCount;
+    
     @ManyToOne
     @JoinColumn(name = "category_id")
     private Category category;
@@ -37,6 +49,7 @@ public class Book {
     @Column(columnDefinition = "TEXT")
     private String description;
     
+    // Mirrors availableCount > 0, kept for the existing availability queries
     private boolean available = true;
     
     @Column(name = "added_date")
@@ -63,6 +76,15 @@ public class Book {
         this.available = true;
         this.addedDate = LocalDate.now();
         this.quantity = 1;
+        this.availableCount = 1;
+    }
+
+    @PrePersist
+    public void initializeAvailableCount() {
+        if (this.availableCount == null) {
+            this.availableCount = this.quantity != null ? this.quantity : 1;
+        }
+        this.available = this.availableCount > 0;
     }
 
     public String toText () {
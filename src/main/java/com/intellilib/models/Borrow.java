@@ -6,21 +6,34 @@ import java.time.LocalDate;
 
 @Entity
 @Table(name = "borrows")
+@NamedEntityGraph(name = Borrow.WITH_BOOK_AND_MEMBER,
+        attributeNodes = {
+                @NamedAttributeNode(value = "book", subgraph = "book"),
+                @NamedAttributeNode("member")
+        },
+        subgraphs = @NamedSubgraph(name = "book", attributeNodes = @NamedAttributeNode("category")))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Borrow {
     
+    public static final String WITH_BOOK_AND_MEMBER = "Borrow.withBookAndMember";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @ManyToOne
+    // Lazy, the repository finders fetch both in the same select through WITH_BOOK_AND_MEMBER
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "book_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Book book;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "member_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Member member;
     
     @Column(name = "borrow_date", nullable = false)
@@ -0,0 +1,23 @@
+package com.intellilib.models;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only row of the borrow management table, see BorrowRepository.findBorrowRows
+ */
+public record BorrowRowView(
+        Long id,
+        String bookTitle,
+        String memberName,
+        LocalDate borrowDate,
+        LocalDate dueDate,
+        LocalDate returnDate,
+        boolean returned,
+        Double fineAmount,
+        Integer daysOverdue,
+        Borrow.FineStatus fineStatus) {
+
+    public boolean hasFine() {
+        return fineAmount != null && fineAmount > 0;
+    }
+}
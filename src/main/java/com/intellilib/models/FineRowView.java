@@ -0,0 +1,68 @@
+package com.intellilib.models;
+
+import java.time.LocalDate;
+import java.util.function.Predicate;
+
+/**
+ * Read-only row of the fines table, see BorrowRepository.findFineRows
+ */
+public record FineRowView(
+        Long id,
+        String bookTitle,
+        String isbn,
+        String memberName,
+        String memberEmail,
+        LocalDate dueDate,
+        Integer daysOverdue,
+        Double fineAmount,
+        Borrow.FineStatus fineStatus) {
+
+    public boolean hasFine() {
+        return fineAmount != null && fineAmount > 0;
+    }
+
+    // Paid or waived fines cannot be paid or waived again
+    public boolean isSettled() {
+        return fineStatus == Borrow.FineStatus.PAID || fineStatus == Borrow.FineStatus.WAIVED;
+    }
+
+    /**
+     * The fines table filter. Filter values are read and the search text lower-cased once per
+     * filter change, not once per row; null values match everything.
+     */
+    public static Predicate<FineRowView> filter(Borrow.FineStatus status, LocalDate fromDate,
+                                                LocalDate toDate, String searchText) {
+        String search = searchText != null ? searchText.toLowerCase().trim() : "";
+
+        return row -> {
+            if (row == null || (!row.hasFine() && row.fineStatus() == Borrow.FineStatus.NONE)) {
+                return false;
+            }
+            if (status != null && row.fineStatus() != status) {
+                return false;
+            }
+            if (row.dueDate() != null) {
+                if (fromDate != null && row.dueDate().isBefore(fromDate)) {
+                    return false;
+                }
+                if (toDate != null && row.dueDate().isAfter(toDate)) {
+                    return false;
+                }
+            }
+            return search.isEmpty() || row.matches(search);
+        };
+    }
+
+    // Search text is already lower-cased
+    private boolean matches(String search) {
+        return contains(bookTitle, search)
+                || contains(memberName, search)
+                || contains(memberEmail, search)
+                || (id != null && id.toString().contains(search))
+                || contains(isbn, search);
+    }
+
+    private static boolean contains(String value, String search) {
+        return value != null && value.toLowerCase().contains(search);
+    }
+}
@@ -16,12 +16,16 @@ public class FineTransaction {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "member_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Member member;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "borrow_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Borrow borrow;
 
     @Column(nullable = false)
@@ -46,8 +50,10 @@ public class FineTransaction {
     @Column(columnDefinition = "TEXT")
     private String notes;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "processed_by")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User processedBy;
 
     @Column(name = "receipt_number")
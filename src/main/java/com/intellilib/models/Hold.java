@@ -0,0 +1,70 @@
+package com.intellilib.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "holds",
+       indexes = {
+               @Index(name = "idx_holds_queue", columnList = "book_id, status, id"),
+               @Index(name = "idx_holds_member", columnList = "member_id, status")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Hold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Book book;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "member_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Member member;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private HoldStatus status = HoldStatus.WAITING;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    // Set when a copy is put aside for the member
+    @Column(name = "ready_at")
+    private LocalDateTime readyAt;
+
+    // Pickup deadline of a READY hold
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+
+    /**
+     * WAITING holds queue per book in id order. A READY hold owns one copy, already taken
+     * off the shelf, until it is FULFILLED by a checkout, EXPIRED or CANCELLED.
+     */
+    public enum HoldStatus {
+        WAITING, READY, FULFILLED, EXPIRED, CANCELLED
+    }
+
+    public Hold(Book book, Member member) {
+        this.book = book;
+        this.member = member;
+        this.status = HoldStatus.WAITING;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public boolean isActive() {
+        return status == HoldStatus.WAITING || status == HoldStatus.READY;
+    }
+}
@@ -0,0 +1,77 @@
+package com.intellilib.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notification_outbox",
+       indexes = @Index(name = "idx_outbox_due", columnList = "status, next_attempt_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "member_id")
+    private Long memberId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationType type;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    // Identifies what the notification is about (e.g. "borrow:42"), a newer item replaces older ones in a digest
+    @Column(name = "reference_key")
+    private String referenceKey;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Builder.Default
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Builder.Default
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt = LocalDateTime.now();
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    // Set by the dispatcher that claimed the message for its current batch, see OutboxMessageRepository.claim
+    @Column(name = "claim_token")
+    private String claimToken;
+
+    public enum NotificationType {
+        FINE_WARNING, BAN, BAN_LIFTED, PAYMENT_RECEIPT, HOLD_READY, HOLD_EXPIRED, DIGEST
+    }
+
+    /**
+     * QUEUED items wait for the digest job, which merges them into one PENDING DIGEST per member
+     * and marks them COALESCED. Only PENDING messages are picked up by the dispatcher.
+     */
+    public enum OutboxStatus {
+        QUEUED, COALESCED, PENDING, SENT, FAILED
+    }
+}
@@ -2,9 +2,13 @@ package com.intellilib.models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "system_settings")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "system-settings")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,10 +1,18 @@
 package com.intellilib.repositories;
 
 import com.intellilib.models.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.time.LocalDate;
@@ -12,6 +20,11 @@ import java.time.LocalDate;
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
     
+    // Served from the query cache until the books table changes, rows come from the entity cache
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Book> findAll();
+    
     List<Book> findByTitleContainingIgnoreCase(String title);
     
     List<Book> findByAuthorContainingIgnoreCase(String author);
@@ -25,6 +38,16 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     @Query("SELECT b FROM Book b WHERE LOWER(b.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(b.author) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(b.isbn) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Book> searchByTitleOrAuthor(String keyword);
 
+    // Catalogue pages for the browse grid; a null filter matches every book
+    @Query("SELECT b FROM Book b LEFT JOIN b.category c WHERE " +
+           "(:keyword IS NULL OR LOWER(b.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+           "OR LOWER(b.author) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+           "AND (:category IS NULL OR c.name = :category) " +
+           "AND (:available IS NULL OR (:available = true AND b.availableCount > 0) " +
+           "OR (:available = false AND b.availableCount = 0))")
+    Page<Book> browse(@Param("keyword") String keyword, @Param("category") String category,
+                      @Param("available") Boolean available, Pageable pageable);
+
     long countByAvailableTrue();
 
     long countByAvailableFalse();
@@ -34,6 +57,43 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     // Search by file type
     List<Book> findByFileType(String fileType);
 
+    // Copy counts only change through conditional updates: the count never drops below 0 or rises
+    // above quantity, and when copies run out only as many callers as there were copies get 1 back.
+    // Bulk updates bypass the entity cache, Hibernate evicts the books region on commit.
+    @Modifying
+    @Query("UPDATE Book b SET b.availableCount = b.availableCount - 1, " +
+           "b.available = CASE WHEN b.availableCount > 1 THEN true ELSE false END " +
+           "WHERE b.id = :id AND b.availableCount > 0")
+    int takeCopy(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Book b SET b.availableCount = b.availableCount + 1, b.available = true " +
+           "WHERE b.id = :id AND b.availableCount < COALESCE(b.quantity, 1)")
+    int putCopyBack(@Param("id") Long id);
+
+    // Copies already out stay out, the shelf count moves by the change in quantity
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Book b SET b.availableCount = CASE WHEN b.availableCount + :quantity - COALESCE(b.quantity, 1) > 0 " +
+           "THEN b.availableCount + :quantity - COALESCE(b.quantity, 1) ELSE 0 END, " +
+           "b.available = CASE WHEN b.availableCount + :quantity - COALESCE(b.quantity, 1) > 0 THEN true ELSE false END, " +
+           "b.quantity = :quantity WHERE b.id = :id")
+    int changeQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Query("SELECT b.availableCount FROM Book b WHERE b.id = :id")
+    Optional<Integer> findAvailableCount(@Param("id") Long id);
+
+    @Query("SELECT b.id, b.availableCount FROM Book b WHERE b.id IN :ids")
+    List<Object[]> findAvailableCounts(@Param("ids") Collection<Long> ids);
+
+    // Fills available_count for books created before the column existed
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE books SET " +
+            "available_count = MAX(0, COALESCE(quantity, 1) - (SELECT COUNT(*) FROM borrows br WHERE br.book_id = books.id AND br.returned = 0)), " +
+            "available = COALESCE(quantity, 1) > (SELECT COUNT(*) FROM borrows br WHERE br.book_id = books.id AND br.returned = 0) " +
+            "WHERE available_count IS NULL", nativeQuery = true)
+    int initializeAvailableCounts();
+
     @Query("SELECT COUNT(b) FROM Book b WHERE b.addedDate < :date")
     long countByAddedDateBefore(@Param("date") LocalDate date);
 
@@ -1,32 +1,55 @@
 package com.intellilib.repositories;
 
 import com.intellilib.models.Borrow;
+import com.intellilib.models.BorrowRowView;
 import com.intellilib.models.Book;
+import com.intellilib.models.FineRowView;
 import com.intellilib.models.Member;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BorrowRepository extends JpaRepository<Borrow, Long> {
     // FREE: save(), findById(), findAll(), deleteById(), etc.
+    // Book and member are lazy; every finder returning borrows fetches them in the same select
+    
+    @Override
+    @EntityGraph(Borrow.WITH_BOOK_AND_MEMBER)
+    List<Borrow> findAll();
+    
+    @Override
+    @EntityGraph(Borrow.WITH_BOOK_AND_MEMBER)
+    Optional<Borrow> findById(Long id);
+    
+    @Override
+    @EntityGraph(Borrow.WITH_BOOK_AND_MEMBER)
+    List<Borrow> findAllById(Iterable<Long> ids);
     
     // Find borrows by book
+    @EntityGraph(Borrow.WITH_BOOK_AND_MEMBER)
     List<Borrow> findByBook(Book book);
     
     // Find borrows by member
+    @EntityGraph(Borrow.WITH_BOOK_AND_MEMBER)
     List<Borrow> findByMember(Member member);
     
     // Find active borrows (not returned)
+    @EntityGraph(Borrow.WITH_BOOK_AND_MEMBER)
     List<Borrow> findByReturnedFalse();
 
     // Find borrows by book ID
+    @EntityGraph(Borrow.WITH_BOOK_AND_MEMBER)
     List<Borrow> findByBookId(Long bookId);
     
     // Find borrows by member ID
+    @EntityGraph(Borrow.WITH_BOOK_AND_MEMBER)
     List<Borrow> findByMemberId(Long memberId);
     
     long countByReturnedFalse();
@@ -39,9 +62,11 @@ public interface BorrowRepository extends JpaRepository<Borrow, Long> {
     
     // Find overdue borrows
     @Query("SELECT b FROM Borrow b WHERE b.returned = false AND b.dueDate < :today")
+    @EntityGraph(Borrow.WITH_BOOK_AND_MEMBER)
     List<Borrow> findOverdueBorrows(LocalDate today);
     
     @Query("SELECT b FROM Borrow b WHERE b.returned = false AND b.dueDate < :today AND b.daysOverdue > :days")
+    @EntityGraph(Borrow.WITH_BOOK_AND_MEMBER)
     List<Borrow> findBorrowsOverdueByDays(@Param("today") LocalDate today, @Param("days") int days);
     
     default List<Borrow> findBorrowsOverdueByDays(int days) {
@@ -49,14 +74,35 @@ public interface BorrowRepository extends JpaRepository<Borrow, Long> {
     }
     
     @Query("SELECT b FROM Borrow b WHERE b.member.id = :memberId AND b.fineStatus = 'PENDING' AND b.fineAmount > 0")
+    @EntityGraph(Borrow.WITH_BOOK_AND_MEMBER)
     List<Borrow> findPendingFinesByMember(@Param("memberId") Long memberId);
     
     @Query("SELECT b FROM Borrow b WHERE b.fineStatus = 'PENDING' AND b.fineAmount > 0")
+    @EntityGraph(Borrow.WITH_BOOK_AND_MEMBER)
     List<Borrow> findAllPendingFines();
     
     @Query("SELECT b FROM Borrow b WHERE b.member.id = :memberId AND b.returned = false")
+    @EntityGraph(Borrow.WITH_BOOK_AND_MEMBER)
     List<Borrow> findActiveBorrowsByMember(@Param("memberId") Long memberId);
 
+    // Changes nothing; makes the transaction take SQLite's write lock before it reads the borrow
+    @Modifying
+    @Query("UPDATE Borrow b SET b.returned = b.returned WHERE b.id = :id")
+    int lockBorrow(@Param("id") Long id);
+
+    // The book currently lent out by this borrow, empty once it is returned
+    @Query("SELECT b.book.id FROM Borrow b WHERE b.id = :id AND b.returned = false")
+    Optional<Long> findOpenBookId(@Param("id") Long id);
+
+    // Closes a borrow only once, a second concurrent return of the same borrow gets 0
+    @Modifying
+    @Query("UPDATE Borrow b SET b.returned = true, b.returnDate = :returnDate WHERE b.id = :id AND b.returned = false")
+    int markReturned(@Param("id") Long id, @Param("returnDate") LocalDate returnDate);
+
+    @Modifying
+    @Query("UPDATE Borrow b SET b.returned = true, b.returnDate = :returnDate WHERE b.id IN :ids AND b.returned = false")
+    int markAllReturned(@Param("ids") List<Long> ids, @Param("returnDate") LocalDate returnDate);
+
     @Query("SELECT COUNT(b) FROM Borrow b WHERE b.borrowDate >= :startDate AND b.borrowDate < :endDate")
     long countBorrowsBetween(@Param("startDate") LocalDate startDate,
                              @Param("endDate") LocalDate endDate);
@@ -76,5 +122,18 @@ public interface BorrowRepository extends JpaRepository<Borrow, Long> {
     Double sumAllFines();
 
     @Query("SELECT b FROM Borrow b WHERE b.fineAmount > 0 OR b.fineStatus != 'NONE'")
+    @EntityGraph(Borrow.WITH_BOOK_AND_MEMBER)
     List<Borrow> findBorrowsWithFines();
+
+    // Table rows for the borrow management screen, one joined select and no entity hydration
+    @Query("SELECT new com.intellilib.models.BorrowRowView(b.id, bk.title, m.fullName, b.borrowDate, b.dueDate, " +
+           "b.returnDate, b.returned, b.fineAmount, b.daysOverdue, b.fineStatus) " +
+           "FROM Borrow b JOIN b.book bk JOIN b.member m")
+    List<BorrowRowView> findBorrowRows();
+    
+    // Table rows for the fines screen, same filter as findBorrowsWithFines
+    @Query("SELECT new com.intellilib.models.FineRowView(b.id, bk.title, bk.isbn, m.fullName, m.email, " +
+           "b.dueDate, b.daysOverdue, b.fineAmount, b.fineStatus) " +
+           "FROM Borrow b JOIN b.book bk JOIN b.member m WHERE b.fineAmount > 0 OR b.fineStatus != 'NONE'")
+    List<FineRowView> findFineRows();
 }
\ No newline at end of file
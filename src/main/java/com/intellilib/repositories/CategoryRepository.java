@@ -1,7 +1,10 @@
 package com.intellilib.repositories;
 
 import com.intellilib.models.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
@@ -9,6 +12,11 @@ import java.util.List;
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     // FREE: save(), findById(), findAll(), deleteById(), etc.
     
+    // Served from the query cache until the categories table changes
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Category> findAll();
+    
     // Find category by name
     Category findByName(String name);
     
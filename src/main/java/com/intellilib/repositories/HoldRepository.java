@@ -0,0 +1,63 @@
+package com.intellilib.repositories;
+
+import com.intellilib.models.Hold;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface HoldRepository extends JpaRepository<Hold, Long> {
+
+    // The queue for one book, oldest first, with members loaded for the canBorrow() check
+    @Query("SELECT h FROM Hold h WHERE h.book.id = :bookId AND h.status = 'WAITING' ORDER BY h.id")
+    @EntityGraph(attributePaths = "member")
+    List<Hold> findWaitingByBook(@Param("bookId") Long bookId);
+
+    @Query("SELECT COUNT(h) FROM Hold h WHERE h.book.id = :bookId AND h.member.id = :memberId " +
+           "AND h.status IN ('WAITING', 'READY')")
+    long countActiveHolds(@Param("bookId") Long bookId, @Param("memberId") Long memberId);
+
+    @Query("SELECT h FROM Hold h WHERE h.member.id = :memberId AND h.status IN ('WAITING', 'READY') ORDER BY h.id")
+    @EntityGraph(attributePaths = "book")
+    List<Hold> findActiveByMember(@Param("memberId") Long memberId);
+
+    // Place in the queue, 1 for the first waiting member
+    @Query("SELECT COUNT(h) FROM Hold h WHERE h.book.id = :bookId AND h.status = 'WAITING' AND h.id <= :holdId")
+    long queuePosition(@Param("bookId") Long bookId, @Param("holdId") Long holdId);
+
+    long countByBookIdAndStatus(Long bookId, Hold.HoldStatus status);
+
+    List<Hold> findByStatus(Hold.HoldStatus status);
+
+    // Changes nothing; makes the transaction take SQLite's write lock before it reads the queue
+    @Modifying
+    @Query("UPDATE Hold h SET h.status = h.status WHERE h.book.id = :bookId AND h.status = 'WAITING'")
+    int lockQueue(@Param("bookId") Long bookId);
+
+    // State changes are conditional, so a hold cannot be allocated, expired or cancelled twice
+    @Modifying
+    @Query("UPDATE Hold h SET h.status = 'READY', h.readyAt = :now, h.expiresAt = :expiresAt " +
+           "WHERE h.id = :id AND h.status = 'WAITING'")
+    int markReady(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE Hold h SET h.status = 'FULFILLED', h.closedAt = :now " +
+           "WHERE h.book.id = :bookId AND h.member.id = :memberId AND h.status = 'READY'")
+    int markFulfilled(@Param("bookId") Long bookId, @Param("memberId") Long memberId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Hold h SET h.status = 'EXPIRED', h.closedAt = :now " +
+           "WHERE h.id = :id AND h.status = 'READY' AND h.expiresAt <= :now")
+    int markExpired(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Hold h SET h.status = 'CANCELLED', h.closedAt = :now " +
+           "WHERE h.id = :id AND h.status = :status")
+    int markCancelled(@Param("id") Long id, @Param("status") Hold.HoldStatus status, @Param("now") LocalDateTime now);
+}
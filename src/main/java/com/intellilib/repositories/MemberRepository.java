@@ -41,4 +41,8 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
     
     @Query("SELECT m FROM Member m WHERE m.active = true AND m.isBanned = false")
     List<Member> findActiveMembers();
+
+    // Member profile linked to a login
+    @Query("SELECT u.member FROM User u WHERE u.id = :userId")
+    Optional<Member> findByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.intellilib.repositories;
+
+import com.intellilib.models.OutboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    // Pending messages whose next attempt is due, oldest first
+    @Query("SELECT o FROM OutboxMessage o WHERE o.status = 'PENDING' AND o.nextAttemptAt <= :now ORDER BY o.id")
+    List<OutboxMessage> findDueMessages(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Takes due messages for one dispatcher. Only rows still pending and due get the token, and pushing
+    // next_attempt_at to the end of the lease hides them from any other process sharing the database file;
+    // if the dispatcher dies mid-batch they become due again once the lease runs out.
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxMessage o SET o.claimToken = :token, o.nextAttemptAt = :leaseUntil " +
+           "WHERE o.id IN :ids AND o.status = 'PENDING' AND o.nextAttemptAt <= :now")
+    int claim(@Param("ids") List<Long> ids, @Param("token") String token,
+              @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    List<OutboxMessage> findByClaimTokenOrderById(String claimToken);
+
+    // Items waiting to be merged into a digest, grouped by member
+    @Query("SELECT o FROM OutboxMessage o WHERE o.status = 'QUEUED' AND o.createdAt <= :cutoff ORDER BY o.memberId, o.id")
+    List<OutboxMessage> findQueuedForDigest(@Param("cutoff") LocalDateTime cutoff);
+
+    long countByStatus(OutboxMessage.OutboxStatus status);
+}
@@ -0,0 +1,223 @@
+package com.intellilib.services;
+
+import com.intellilib.models.User;
+import com.intellilib.repositories.UserRepository;
+import com.intellilib.util.ActivityLogger;
+import com.intellilib.util.AppExecutors;
+import com.intellilib.util.ParallelGzip;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Hourly compressed backups with hourly/daily/weekly retention.
+ * Every archive is restored to a temp file and integrity-checked before older ones are pruned.
+ * In between, incremental backups store only the changed pages; their chain restarts from a
+ * full base every few dozen runs, and only the newest chains are kept.
+ */
+@Service
+@Slf4j
+public class BackupSchedulerService {
+
+    private static final String ARCHIVE_DIR = "database_backups/scheduled";
+    private static final String ARCHIVE_PREFIX = "intellilib_backup_";
+    private static final String ARCHIVE_SUFFIX = ".db.gz";
+    private static final DateTimeFormatter ARCHIVE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    private final DatabaseService databaseService;
+    private final FineService fineService;
+    private final UserRepository userRepository;
+    private final ActivityLogger activityLogger;
+    private final AppExecutors appExecutors;
+
+    private final int hourlyRetention;
+    private final int dailyRetention;
+    private final int weeklyRetention;
+    private final int incrementalChains;
+
+    public BackupSchedulerService(DatabaseService databaseService,
+                                  FineService fineService,
+                                  UserRepository userRepository,
+                                  ActivityLogger activityLogger,
+                                  AppExecutors appExecutors,
+                                  @Value("${intellilib.backup.retention.hourly:24}") int hourlyRetention,
+                                  @Value("${intellilib.backup.retention.daily:7}") int dailyRetention,
+                                  @Value("${intellilib.backup.retention.weekly:4}") int weeklyRetention,
+                                  @Value("${intellilib.backup.incremental.chains:2}") int incrementalChains) {
+        this.databaseService = databaseService;
+        this.fineService = fineService;
+        this.userRepository = userRepository;
+        this.activityLogger = activityLogger;
+        this.appExecutors = appExecutors;
+        this.hourlyRetention = hourlyRetention;
+        this.dailyRetention = dailyRetention;
+        this.weeklyRetention = weeklyRetention;
+        this.incrementalChains = incrementalChains;
+    }
+
+    /**
+     * Scheduled backup, the default cron skips the 2-4 AM fine calculation window
+     */
+    @Scheduled(cron = "${intellilib.backup.cron:0 30 0-1,4-23 * * ?}")
+    public void runScheduledBackup() {
+        if (fineService.isFineJobRunning()) {
+            log.info("Fine calculation still running, skipping scheduled backup");
+            return;
+        }
+
+        try {
+            Path archive = createVerifiedArchive();
+            int pruned = applyRetentionPolicy();
+            log.info("Scheduled backup {} verified, {} old archive(s) pruned", archive.getFileName(), pruned);
+        } catch (Exception e) {
+            log.error("Scheduled backup failed: {}", e.getMessage());
+            recordFailure(e.getMessage());
+        }
+    }
+
+    /**
+     * Scheduled incremental backup, rebuilt and verified right away. A backup that fails
+     * verification makes the next one a new full base instead of a delta on top of it.
+     */
+    @Scheduled(cron = "${intellilib.backup.incremental.cron:0 0/15 0-1,4-23 * * ?}")
+    public void runIncrementalBackup() {
+        if (fineService.isFineJobRunning()) {
+            log.info("Fine calculation still running, skipping incremental backup");
+            return;
+        }
+
+        try {
+            DatabaseService.BackupManifest manifest = databaseService.createIncrementalBackup(progress -> { });
+            if (!databaseService.verifyIncrementalBackup(manifest.getId())) {
+                databaseService.startNewIncrementalChain();
+                throw new IOException("Incremental backup " + manifest.getId() + " failed verification");
+            }
+            int pruned = databaseService.pruneIncrementalBackups(incrementalChains);
+            log.info("Incremental backup {} verified, {} old backup(s) pruned", manifest.getId(), pruned);
+        } catch (Exception e) {
+            log.error("Incremental backup failed: {}", e.getMessage());
+            recordFailure(e.getMessage());
+        }
+    }
+
+    /**
+     * Back up, compress and verify one archive
+     */
+    public Path createVerifiedArchive() throws Exception {
+        Path archiveDir = Paths.get(ARCHIVE_DIR).toAbsolutePath();
+        Files.createDirectories(archiveDir);
+
+        String timestamp = LocalDateTime.now().format(ARCHIVE_TIMESTAMP);
+        Path archive = archiveDir.resolve(ARCHIVE_PREFIX + timestamp + ARCHIVE_SUFFIX);
+        Path rawBackup = Files.createTempFile(archiveDir, "backup_", ".db");
+        Path restored = Files.createTempFile("intellilib_restore_", ".db");
+
+        try {
+            databaseService.backupTo(rawBackup, progress -> { });
+            ParallelGzip.compress(rawBackup, archive, appExecutors.cpu(), appExecutors.getCpuParallelism());
+
+            ParallelGzip.decompress(archive, restored);
+            if (!databaseService.verifyIntegrity(restored)) {
+                Files.deleteIfExists(archive);
+                throw new IOException("Restored archive " + archive.getFileName() + " failed PRAGMA integrity_check");
+            }
+            return archive;
+        } finally {
+            Files.deleteIfExists(rawBackup);
+            Files.deleteIfExists(restored);
+        }
+    }
+
+    /**
+     * Keep the newest archive of each of the last N hours, days and weeks, delete the rest
+     */
+    public int applyRetentionPolicy() throws IOException {
+        List<Archive> archives = listArchives();
+
+        Set<Path> keep = new HashSet<>();
+        keepNewestPerBucket(archives, a -> a.createdAt().truncatedTo(ChronoUnit.HOURS), hourlyRetention, keep);
+        keepNewestPerBucket(archives, a -> a.createdAt().toLocalDate(), dailyRetention, keep);
+        keepNewestPerBucket(archives, a -> a.createdAt().toLocalDate()
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)), weeklyRetention, keep);
+
+        int pruned = 0;
+        for (Archive archive : archives) {
+            if (!keep.contains(archive.path())) {
+                Files.deleteIfExists(archive.path());
+                pruned++;
+            }
+        }
+        return pruned;
+    }
+
+    private void keepNewestPerBucket(List<Archive> newestFirst, Function<Archive, Object> bucketOf,
+                                     int bucketsToKeep, Set<Path> keep) {
+        Set<Object> seenBuckets = new HashSet<>();
+        for (Archive archive : newestFirst) {
+            if (seenBuckets.size() >= bucketsToKeep) {
+                return;
+            }
+            if (seenBuckets.add(bucketOf.apply(archive))) {
+                keep.add(archive.path());
+            }
+        }
+    }
+
+    private List<Archive> listArchives() throws IOException {
+        Path archiveDir = Paths.get(ARCHIVE_DIR).toAbsolutePath();
+        if (!Files.isDirectory(archiveDir)) {
+            return List.of();
+        }
+
+        List<Archive> archives = new ArrayList<>();
+        try (Stream<Path> files = Files.list(archiveDir)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.startsWith(ARCHIVE_PREFIX) && name.endsWith(ARCHIVE_SUFFIX)) {
+                    String timestamp = name.substring(ARCHIVE_PREFIX.length(), name.length() - ARCHIVE_SUFFIX.length());
+                    try {
+                        archives.add(new Archive(file, LocalDateTime.parse(timestamp, ARCHIVE_TIMESTAMP)));
+                    } catch (DateTimeParseException e) {
+                        log.warn("Ignoring backup archive with unexpected name: {}", name);
+                    }
+                }
+            });
+        }
+        archives.sort(Comparator.comparing(Archive::createdAt).reversed());
+        return archives;
+    }
+
+    private void recordFailure(String reason) {
+        try {
+            // Scheduled jobs have no session user, attribute the failure to an administrator
+            User admin = userRepository.findByRole(User.UserRole.ADMIN).stream().findFirst().orElse(null);
+            if (admin != null) {
+                activityLogger.logDatabaseBackupFailed(admin, reason);
+            }
+        } catch (Exception e) {
+            log.error("Could not record backup failure activity: {}", e.getMessage());
+        }
+    }
+
+    private record Archive(Path path, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,265 @@
+package com.intellilib.services;
+
+import com.intellilib.models.Book;
+import com.intellilib.util.AppExecutors;
+import com.intellilib.util.LruCache;
+import jakarta.annotation.PreDestroy;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.RandomAccessReadMemoryMappedFile;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.stereotype.Service;
+
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Renders stored book files page by page for the in-app reader.
+ * Files are memory-mapped, so opening a large book only touches the pages actually displayed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookReaderService {
+
+    private static final float BASE_DPI = 72f;
+    private static final int PREFETCH_PAGES = 2;
+    private static final long PAGE_CACHE_BYTES = 128L * 1024 * 1024;
+    private static final long THUMBNAIL_CACHE_BYTES = 16L * 1024 * 1024;
+
+    private final BookService bookService;
+    private final AppExecutors appExecutors;
+
+    private final LruCache<PageKey, Image> pageCache =
+            new LruCache<>(PAGE_CACHE_BYTES, BookReaderService::imageBytes);
+    private final LruCache<ThumbnailKey, Image> thumbnailCache =
+            new LruCache<>(THUMBNAIL_CACHE_BYTES, BookReaderService::imageBytes);
+    private final Map<ThumbnailKey, CompletableFuture<Image>> thumbnailsInFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Open a book's stored file in the background
+     */
+    public CompletableFuture<ReaderDocument> open(Long bookId) {
+        return CompletableFuture.supplyAsync(() -> {
+            Path file = bookService.getBookFilePath(bookId);
+            if (file == null || !Files.isRegularFile(file)) {
+                throw new IllegalStateException("No readable file for book " + bookId);
+            }
+            try {
+                RandomAccessRead source = new RandomAccessReadMemoryMappedFile(file);
+                try {
+                    return new ReaderDocument(file, Loader.loadPDF(source));
+                } catch (IOException e) {
+                    source.close();
+                    throw e;
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not open book file: " + e.getMessage(), e);
+            }
+        }, appExecutors.io());
+    }
+
+    /**
+     * First page of a book's file, rendered to the given width for the cover of a book card.
+     * Completes with null when the book has no PDF file.
+     */
+    public CompletableFuture<Image> thumbnail(Book book, int width) {
+        if (book.getFilePath() == null || book.getFilePath().isEmpty() || !"pdf".equalsIgnoreCase(book.getFileType())) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.supplyAsync(() -> bookService.getBookFilePath(book.getId()), appExecutors.io())
+                .thenCompose(file -> file == null || !Files.isRegularFile(file)
+                        ? CompletableFuture.completedFuture(null)
+                        : requestThumbnail(new ThumbnailKey(file, width)));
+    }
+
+    // Called on an io thread, so a full cpu queue makes it render there rather than on the FX thread
+    private CompletableFuture<Image> requestThumbnail(ThumbnailKey key) {
+        Image cached = thumbnailCache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<Image> future = new CompletableFuture<>();
+        CompletableFuture<Image> existing = thumbnailsInFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            appExecutors.cpu().execute(() -> {
+                try {
+                    Image image = renderThumbnail(key);
+                    thumbnailCache.put(key, image);
+                    future.complete(image);
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    thumbnailsInFlight.remove(key, future);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            thumbnailsInFlight.remove(key, future);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private static Image renderThumbnail(ThumbnailKey key) throws IOException {
+        try (PDDocument document = Loader.loadPDF(new RandomAccessReadMemoryMappedFile(key.file()))) {
+            if (document.getNumberOfPages() == 0) {
+                throw new IOException("No pages in " + key.file());
+            }
+            PDRectangle page = document.getPage(0).getCropBox();
+            float scale = key.width() / page.getWidth();
+            return toFxImage(new PDFRenderer(document).renderImage(0, scale, ImageType.RGB));
+        }
+    }
+
+    public int getCachedPageCount() {
+        return pageCache.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pageCache.clear();
+        thumbnailCache.clear();
+    }
+
+    private static long imageBytes(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4L;
+    }
+
+    private static Image toFxImage(BufferedImage buffered) {
+        int width = buffered.getWidth();
+        int height = buffered.getHeight();
+        int[] pixels = buffered.getRGB(0, 0, width, height, null, 0, width);
+
+        WritableImage image = new WritableImage(width, height);
+        image.getPixelWriter().setPixels(0, 0, width, height,
+                PixelFormat.getIntArgbInstance(), pixels, 0, width);
+        return image;
+    }
+
+    // Keyed by file path so a re-uploaded book never serves stale pages
+    private record PageKey(Path file, int pageIndex, int zoomPercent) {
+    }
+
+    private record ThumbnailKey(Path file, int width) {
+    }
+
+    /**
+     * An open book. PDFBox documents are not thread-safe, so rendering is serialized per document
+     * while different documents render in parallel on the shared pool.
+     */
+    public final class ReaderDocument implements Closeable {
+
+        private final Path file;
+        private final PDDocument document;
+        private final PDFRenderer renderer;
+        private final int pageCount;
+        private final Map<PageKey, CompletableFuture<Image>> inFlight = new ConcurrentHashMap<>();
+        private volatile boolean closed;
+
+        private ReaderDocument(Path file, PDDocument document) {
+            this.file = file;
+            this.document = document;
+            this.renderer = new PDFRenderer(document);
+            this.pageCount = document.getNumberOfPages();
+        }
+
+        public int getPageCount() {
+            return pageCount;
+        }
+
+        /**
+         * Render a page and queue the following pages so they are cached before the reader gets there
+         */
+        public CompletableFuture<Image> renderPage(int pageIndex, float zoom) {
+            CompletableFuture<Image> page = requestPage(pageIndex, zoom);
+            for (int i = 1; i <= PREFETCH_PAGES && pageIndex + i < pageCount; i++) {
+                requestPage(pageIndex + i, zoom);
+            }
+            return page;
+        }
+
+        private CompletableFuture<Image> requestPage(int pageIndex, float zoom) {
+            if (pageIndex < 0 || pageIndex >= pageCount) {
+                return CompletableFuture.failedFuture(
+                        new IndexOutOfBoundsException("Page " + (pageIndex + 1) + " does not exist"));
+            }
+
+            PageKey key = new PageKey(file, pageIndex, Math.round(zoom * 100));
+            Image cached = pageCache.get(key);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+
+            CompletableFuture<Image> future = new CompletableFuture<>();
+            CompletableFuture<Image> existing = inFlight.putIfAbsent(key, future);
+            if (existing != null) {
+                return existing;
+            }
+
+            try {
+                appExecutors.cpu().execute(() -> {
+                    try {
+                        Image image = render(key);
+                        pageCache.put(key, image);
+                        future.complete(image);
+                    } catch (Throwable e) {
+                        future.completeExceptionally(e);
+                    } finally {
+                        inFlight.remove(key, future);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                inFlight.remove(key, future);
+                future.completeExceptionally(e);
+            }
+            return future;
+        }
+
+        private Image render(PageKey key) throws IOException {
+            BufferedImage buffered;
+            synchronized (document) {
+                if (closed) {
+                    throw new IOException("Document is closed");
+                }
+                buffered = renderer.renderImageWithDPI(key.pageIndex(),
+                        BASE_DPI * key.zoomPercent() / 100f, ImageType.RGB);
+            }
+            return toFxImage(buffered);
+        }
+
+        @Override
+        public void close() {
+            synchronized (document) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                try {
+                    document.close();
+                } catch (IOException e) {
+                    log.warn("Failed to close book file {}: {}", file, e.getMessage());
+                }
+            }
+        }
+    }
+}
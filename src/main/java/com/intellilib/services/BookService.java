@@ -1,9 +1,14 @@
 package com.intellilib.services;
 
+import com.intellilib.diagnostics.SearchEvent;
 import com.intellilib.models.Book;
 import com.intellilib.repositories.BookRepository;
 import com.intellilib.util.SimpleMultipartFile;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -19,10 +24,13 @@ import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class BookService {
 
     private final BookRepository bookRepository;
     private final FileStorageService fileStorageService;
+    private final InventoryService inventoryService;
+    private final HoldService holdService;
 
     @Transactional
     public Book saveBookWithFile(Book book, File file) throws IOException {
@@ -70,12 +78,13 @@ public class BookService {
         if (optionalBook.isEmpty()) throw new RuntimeException("Book not found");
 
         Book book = optionalBook.get();
+        Integer previousQuantity = book.getQuantity();
         updateBookFields(book, bookDetails);
 
         if (file != null && !file.isEmpty()) {
             if (book.getFilePath() != null) {
                 try { fileStorageService.deleteFile(book.getFilePath()); }
-                catch (IOException e) { System.err.println("Warning: Could not delete old file: " + e.getMessage()); }
+                catch (IOException e) { log.warn("Could not delete old file of book {}: {}", id, e.getMessage()); }
             }
             String storedFilePath = fileStorageService.storeFile(file, book.getIsbn());
             book.setFilePath(storedFilePath);
@@ -84,7 +93,13 @@ public class BookService {
             book.setFileType(fileStorageService.getMimeType(file.getOriginalFilename()));
         }
 
-        return bookRepository.save(book);
+        Book saved = bookRepository.save(book);
+        int quantity = bookDetails.getQuantity() != null ? bookDetails.getQuantity() : 1;
+        if (previousQuantity == null || previousQuantity != quantity) {
+            inventoryService.changeQuantity(id, quantity);
+            return bookRepository.findById(id).orElseThrow();
+        }
+        return saved;
     }
 
     @Transactional
@@ -103,9 +118,10 @@ public class BookService {
             Book book = optionalBook.get();
             if (book.getFilePath() != null) {
                 try { fileStorageService.deleteFile(book.getFilePath()); }
-                catch (IOException e) { System.err.println("Warning: Could not delete file: " + e.getMessage()); }
+                catch (IOException e) { log.warn("Could not delete file of book {}: {}", id, e.getMessage()); }
             }
             bookRepository.deleteById(id);
+            inventoryService.evict(id);
         }
     }
 
@@ -118,31 +134,37 @@ public class BookService {
     }
 
     public List<Book> searchBooks(String keyword) {
-        return bookRepository.searchByTitleOrAuthor(keyword);
+        SearchEvent event = SearchEvent.start("catalogue", keyword);
+        List<Book> books = bookRepository.searchByTitleOrAuthor(keyword);
+        event.complete(books.size());
+        return books;
+    }
+
+    /**
+     * One page of the catalogue by title, filters left null are not applied
+     */
+    public Page<Book> browseBooks(String keyword, String category, Boolean available, int page, int size) {
+        // Later pages come from scrolling, only the first one is a search
+        SearchEvent event = page == 0 ? SearchEvent.start("browse", keyword) : null;
+        Page<Book> books = bookRepository.browse(keyword, category, available,
+                PageRequest.of(page, size, Sort.by("title", "id")));
+        if (event != null) {
+            event.complete((int) Math.min(books.getTotalElements(), Integer.MAX_VALUE));
+        }
+        // Loaded here, off the FX thread, so the cards can show availability without a query each
+        inventoryService.track(books.map(Book::getId).getContent());
+        return books;
     }
 
+    // Same copy counters as BorrowService, so a copy can never be handed out twice
     @Transactional
     public boolean borrowBook(Long bookId) {
-        Optional<Book> optionalBook = bookRepository.findById(bookId);
-        if (optionalBook.isPresent() && optionalBook.get().isAvailable()) {
-            Book book = optionalBook.get();
-            book.setAvailable(false);
-            bookRepository.save(book);
-            return true;
-        }
-        return false;
+        return inventoryService.takeCopy(bookId);
     }
 
     @Transactional
     public boolean returnBook(Long bookId) {
-        Optional<Book> optionalBook = bookRepository.findById(bookId);
-        if (optionalBook.isPresent() && !optionalBook.get().isAvailable()) {
-            Book book = optionalBook.get();
-            book.setAvailable(true);
-            bookRepository.save(book);
-            return true;
-        }
-        return false;
+        return holdService.releaseCopy(bookId);
     }
 
     public long getTotalBooksCount() {
@@ -167,7 +189,9 @@ public class BookService {
 
     public Path getBookFilePath(Long bookId) {
         Optional<Book> book = bookRepository.findById(bookId);
-        return book.map(b -> fileStorageService.loadFile(b.getFilePath())).orElse(null);
+        return book.filter(b -> b.getFilePath() != null && !b.getFilePath().isEmpty())
+                .map(b -> fileStorageService.loadFile(b.getFilePath()))
+                .orElse(null);
     }
 
     public double getTotalBooksChangeFromLastMonth() {
@@ -207,9 +231,8 @@ public class BookService {
         book.setIsbn(bookDetails.getIsbn());
         book.setPublicationYear(bookDetails.getPublicationYear());
         book.setPublisher(bookDetails.getPublisher());
-        book.setQuantity(bookDetails.getQuantity());
         book.setCategory(bookDetails.getCategory());
         book.setDescription(bookDetails.getDescription());
-        book.setAvailable(bookDetails.isAvailable());
+        // quantity and availability go through InventoryService, never a plain field copy
     }
 }
@@ -1,16 +1,32 @@
 package com.intellilib.services;
 
-import com.intellilib.models.Borrow;
+import com.intellilib.diagnostics.CirculationEvent;
 import com.intellilib.models.Book;
+import com.intellilib.models.Borrow;
+import com.intellilib.models.BorrowRowView;
+import com.intellilib.models.FineRowView;
 import com.intellilib.models.Member;
+import com.intellilib.models.User;
 import com.intellilib.repositories.BorrowRepository;
 import com.intellilib.repositories.BookRepository;
 import com.intellilib.repositories.MemberRepository;
+import com.intellilib.util.ActivityLogger;
+import lombok.Builder;
+import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -19,17 +35,57 @@ public class BorrowService {
     private final BorrowRepository borrowRepository;
     private final BookRepository bookRepository;
     private final MemberRepository memberRepository;
+    private final InventoryService inventoryService;
+    private final HoldService holdService;
+    private final FineService fineService;
+    private final ActivityLogger activityLogger;
 
     public List<Borrow> getAllBorrows(){
         return borrowRepository.findAll();
     }
     
+    public Optional<Borrow> getBorrowById(Long borrowId) {
+        return borrowRepository.findById(borrowId);
+    }
+    
+    // Projections for the admin tables, one query per table load
+    public List<BorrowRowView> getBorrowRows() {
+        return borrowRepository.findBorrowRows();
+    }
+    
+    public List<FineRowView> getFineRows() {
+        return borrowRepository.findFineRows();
+    }
+    
+    @Transactional
     public Borrow saveBorrow(Borrow borrow) {
-        Optional<Book> book = bookRepository.findById(borrow.getBook().getId());
-        Optional<Member> member = memberRepository.findById(borrow.getMember().getId());
+        Long bookId = borrow.getBook().getId();
+        Long memberId = borrow.getMember().getId();
+        if (borrow.getId() == null) {
+            // New borrow, claim the copy first
+            if (!claimCopy(bookId, memberId)) {
+                throw new OperationRefusedException("Cannot borrow book");
+            }
+        } else {
+            // A read before the first write would have to upgrade SQLite's lock
+            borrowRepository.lockBorrow(borrow.getId());
+            Long previousBookId = borrowRepository.findOpenBookId(borrow.getId()).orElse(null);
+            if (previousBookId != null && !previousBookId.equals(bookId)) {
+                // The open borrow moves to another book: take a copy of it and give the old one back
+                if (!claimCopy(bookId, memberId)) {
+                    throw new OperationRefusedException("Cannot borrow book");
+                }
+                holdService.releaseCopy(previousBookId);
+            }
+            if (borrow.isReturned()
+                    && borrowRepository.markReturned(borrow.getId(), borrow.getReturnDate()) == 1) {
+                // This save closes the borrow, the copy goes to the hold queue or the shelf
+                holdService.releaseCopy(bookId);
+            }
+        }
         
-        if (book.isEmpty() || member.isEmpty() || !book.get().isAvailable()) {
-            throw new RuntimeException("Cannot borrow book");
+        if (!memberRepository.existsById(memberId)) {
+            throw new OperationRefusedException("Cannot borrow book");
         }
         return borrowRepository.save(borrow);
     }
@@ -38,37 +94,180 @@ public class BorrowService {
         borrowRepository.deleteById(borrowId);
     }
     
+    /**
+     * Check a copy out. Taking the copy is a conditional update and runs first, so the
+     * transaction takes SQLite's write lock up front instead of upgrading from a read lock,
+     * and concurrent callers can never take more copies than are on the shelf.
+     * Throws NoCopyAvailableException only when the member could borrow but no copy is left.
+     */
+    @Transactional
     public Borrow borrowBook(Long bookId, Long memberId, LocalDate dueDate) {
-        Optional<Book> book = bookRepository.findById(bookId);
-        Optional<Member> member = memberRepository.findById(memberId);
-        
-        if (book.isEmpty() || member.isEmpty() || !book.get().isAvailable()) {
-            throw new RuntimeException("Cannot borrow book");
+        CirculationEvent event = CirculationEvent.start(CirculationEvent.CHECKOUT);
+        int processed = 0;
+        try {
+            boolean claimed = claimCopy(bookId, memberId);
+            
+            // Refusing rolls the copy back with the transaction
+            Member member = memberRepository.findById(memberId)
+                    .orElseThrow(() -> new NoSuchElementException("Member not found"));
+            if (!member.canBorrow()) {
+                throw new OperationRefusedException("Member cannot borrow books");
+            }
+            if (!claimed) {
+                throw new NoCopyAvailableException("Cannot borrow book");
+            }
+            // Loaded rather than referenced, so the returned borrow is usable outside the transaction
+            Book book = bookRepository.findById(bookId)
+                    .orElseThrow(() -> new OperationRefusedException("Cannot borrow book"));
+            
+            Borrow borrow = borrowRepository.save(new Borrow(book, member, dueDate));
+            processed = 1;
+            return borrow;
+        } finally {
+            event.complete(processed);
         }
-        
-        Book bookToBorrow = book.get();
-        bookToBorrow.setAvailable(false);
-        bookRepository.save(bookToBorrow);
-        
-        Borrow borrow = new Borrow(bookToBorrow, member.get(), dueDate);
-        return borrowRepository.save(borrow);
     }
 
+    @Transactional
     public boolean returnBook(Long borrowId) {
-        Optional<Borrow> borrow = borrowRepository.findById(borrowId);
-        if (borrow.isPresent() && !borrow.get().isReturned()) {
-            Borrow borrowRecord = borrow.get();
-            borrowRecord.setReturned(true);
-            borrowRecord.setReturnDate(LocalDate.now());
-            
-            Book book = borrowRecord.getBook();
-            book.setAvailable(true);
+        CirculationEvent event = CirculationEvent.start(CirculationEvent.RETURN);
+        int processed = 0;
+        try {
+            if (borrowRepository.markReturned(borrowId, LocalDate.now()) == 0) {
+                return false;
+            }
             
-            bookRepository.save(book);
-            borrowRepository.save(borrowRecord);
+            Borrow borrowRecord = borrowRepository.findById(borrowId).orElseThrow();
+            holdService.releaseCopy(borrowRecord.getBook().getId());
+            processed = 1;
             return true;
+        } finally {
+            event.complete(processed);
+        }
+    }
+    
+    /**
+     * Check several books out to one member in a single transaction. The books are validated
+     * with one query; books that cannot be lent are reported and the rest still go out.
+     * One activity record covers the whole batch.
+     */
+    @Transactional
+    public BulkResult borrowBooks(List<Long> bookIds, Long memberId, LocalDate dueDate, User performedBy) {
+        CirculationEvent event = CirculationEvent.start(CirculationEvent.CHECKOUT);
+        BulkResult result = null;
+        try {
+            result = checkOut(bookIds, memberId, dueDate, performedBy);
+            return result;
+        } finally {
+            event.complete(result != null ? result.getProcessed().size() : 0, performedBy);
+        }
+    }
+    
+    private BulkResult checkOut(List<Long> bookIds, Long memberId, LocalDate dueDate, User performedBy) {
+        Member member = memberRepository.findById(memberId)
+                .orElseThrow(() -> new NoSuchElementException("Member not found"));
+        if (!member.canBorrow()) {
+            throw new OperationRefusedException("Member cannot borrow books");
+        }
+        
+        Set<Long> requested = new LinkedHashSet<>(bookIds);
+        Map<Long, Book> books = bookRepository.findAllById(requested).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        
+        Map<Long, String> rejected = new LinkedHashMap<>();
+        List<Borrow> borrows = new ArrayList<>(requested.size());
+        for (Long bookId : requested) {
+            Book book = books.get(bookId);
+            if (book == null) {
+                rejected.put(bookId, "Book not found");
+            } else if (!claimCopy(bookId, memberId)) {
+                rejected.put(bookId, "No copy available");
+            } else {
+                borrows.add(new Borrow(book, member, dueDate));
+            }
+        }
+        
+        List<Borrow> saved = borrowRepository.saveAll(borrows);
+        if (!saved.isEmpty() && performedBy != null) {
+            activityLogger.logBooksBorrowed(performedBy, member.getFullName(), titles(saved));
         }
-        return false;
+        return BulkResult.builder().processed(saved).rejected(rejected).build();
+    }
+    
+    /**
+     * Return several borrows in a single transaction: one query loads and validates them,
+     * fines are settled once per member, entity changes are flushed as JDBC batches, and one
+     * activity record covers the whole batch. Borrows that are unknown or already returned
+     * are reported and skipped.
+     */
+    @Transactional
+    public BulkResult returnBooks(List<Long> borrowIds, User performedBy) {
+        CirculationEvent event = CirculationEvent.start(CirculationEvent.RETURN);
+        BulkResult result = null;
+        try {
+            result = checkIn(borrowIds, performedBy);
+            return result;
+        } finally {
+            event.complete(result != null ? result.getProcessed().size() : 0, performedBy);
+        }
+    }
+    
+    private BulkResult checkIn(List<Long> borrowIds, User performedBy) {
+        Set<Long> requested = new LinkedHashSet<>(borrowIds);
+        Map<Long, Borrow> found = borrowRepository.findAllById(requested).stream()
+                .collect(Collectors.toMap(Borrow::getId, Function.identity()));
+        
+        Map<Long, String> rejected = new LinkedHashMap<>();
+        List<Borrow> returning = new ArrayList<>(requested.size());
+        for (Long borrowId : requested) {
+            Borrow borrow = found.get(borrowId);
+            if (borrow == null) {
+                rejected.put(borrowId, "Borrow not found");
+            } else if (borrow.isReturned()) {
+                rejected.put(borrowId, "Already returned");
+            } else {
+                returning.add(borrow);
+            }
+        }
+        if (returning.isEmpty()) {
+            return BulkResult.builder().processed(List.of()).rejected(rejected).build();
+        }
+        
+        // Fines are computed from the due date, so before the borrows are closed
+        fineService.updateFinesForReturn(returning);
+        
+        LocalDate today = LocalDate.now();
+        List<Long> returningIds = returning.stream().map(Borrow::getId).toList();
+        // One conditional statement closes them all; a concurrent return of any of them fails the batch
+        if (borrowRepository.markAllReturned(returningIds, today) != returningIds.size()) {
+            throw new OperationRefusedException("Some borrows were returned concurrently, please retry");
+        }
+        
+        for (Borrow borrow : returning) {
+            borrow.setReturned(true);
+            borrow.setReturnDate(today);
+            holdService.releaseCopy(borrow.getBook().getId());
+        }
+        
+        if (performedBy != null) {
+            String memberNames = returning.stream()
+                    .map(borrow -> borrow.getMember().getFullName())
+                    .distinct()
+                    .collect(Collectors.joining(", "));
+            activityLogger.logBooksReturned(performedBy, memberNames, titles(returning));
+        }
+        return BulkResult.builder().processed(returning).rejected(rejected).build();
+    }
+    
+    private static List<String> titles(List<Borrow> borrows) {
+        return borrows.stream()
+                .map(borrow -> borrow.getBook().getTitle())
+                .toList();
+    }
+    
+    // A member collecting a ready hold already owns a copy, everyone else takes one off the shelf
+    private boolean claimCopy(Long bookId, Long memberId) {
+        return holdService.fulfilHold(bookId, memberId) || inventoryService.takeCopy(bookId);
     }
 
     public List<Borrow> getBorrowsByMember(Long memberId) {
@@ -84,13 +283,12 @@ public class BorrowService {
     }
 
     public long countOverdueBooks() {
-        return borrowRepository.findOverdueBorrows(LocalDate.now()).size();
+        return borrowRepository.countOverdueBooksByDate(LocalDate.now());
     }
 
     public double calculateTotalFines() {
-        return borrowRepository.findAll().stream()
-            .mapToDouble(Borrow::getFineAmount)
-            .sum();
+        Double total = borrowRepository.sumAllFines();
+        return total != null ? total : 0.0;
     }
 
     public List<Borrow> getOverdueBorrows() {
@@ -223,4 +421,16 @@ public class BorrowService {
         }
         return ((current - previous) / previous) * 100;
     }
+
+    // Outcome of a bulk checkout or return, rejected maps book or borrow ids to the reason
+    @Data
+    @Builder
+    public static class BulkResult {
+        private List<Borrow> processed;
+        private Map<Long, String> rejected;
+        
+        public boolean isComplete() {
+            return rejected.isEmpty();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.intellilib.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hit/miss figures of the Hibernate second-level and query caches, for tuning ehcache.xml
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public List<RegionStatistics> getRegionStatistics() {
+        Statistics statistics = statistics();
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+
+        List<RegionStatistics> regions = new ArrayList<>(regionNames.length);
+        for (String regionName : regionNames) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+            regions.add(RegionStatistics.builder()
+                    .region(regionName)
+                    .hits(region.getHitCount())
+                    .misses(region.getMissCount())
+                    .puts(region.getPutCount())
+                    .elementsInMemory(region.getElementCountInMemory())
+                    .build());
+        }
+        return regions;
+    }
+
+    public RegionStatistics getQueryCacheStatistics() {
+        Statistics statistics = statistics();
+        return RegionStatistics.builder()
+                .region("query cache")
+                .hits(statistics.getQueryCacheHitCount())
+                .misses(statistics.getQueryCacheMissCount())
+                .puts(statistics.getQueryCachePutCount())
+                .elementsInMemory(-1)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return statistics().isStatisticsEnabled();
+    }
+
+    public void reset() {
+        statistics().clear();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Data
+    @Builder
+    public static class RegionStatistics {
+        private String region;
+        private long hits;
+        private long misses;
+        private long puts;
+        private long elementsInMemory;
+
+        public double getHitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+    }
+}
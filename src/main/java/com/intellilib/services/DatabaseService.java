@@ -1,45 +1,499 @@
 package com.intellilib.services;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteConnection;
+import org.sqlite.SQLiteErrorCode;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import java.io.File;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.DoubleConsumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @Service
+@Slf4j
 public class DatabaseService {
-    
+
     private static final String DB_BACKUP_DIR = "database_backups";
-    
+    private static final String SQLITE_URL_PREFIX = "jdbc:sqlite:";
+
+    // Online backup tuning: copy a few pages, then let the application use the database again
+    private static final int PAGES_PER_STEP = 256;
+    private static final int STEP_PAUSE_MILLIS = 20;
+    private static final int BUSY_RETRY_MILLIS = 100;
+    private static final int BUSY_RETRIES = 50;
+
+    // Incremental backups: page deltas chained back to a full base
+    private static final String PAGE_HASH_INDEX = "page-hashes.bin";
+    private static final int PAGE_HASH_BYTES = 16;
+    private static final int MAX_CHAIN_LENGTH = 30;
+    private static final int END_OF_DELTA = -1;
+    private static final ObjectMapper MANIFEST_MAPPER = new ObjectMapper();
+
+    private final DataSource dataSource;
+    private final String datasourceUrl;
+    private final Path incrementalDir;
+
+    public DatabaseService(DataSource dataSource,
+                           @Value("${spring.datasource.url}") String datasourceUrl,
+                           @Value("${intellilib.backup.incremental.dir:database_backups/incremental}") String incrementalDir) {
+        this.dataSource = dataSource;
+        this.datasourceUrl = datasourceUrl;
+        this.incrementalDir = Paths.get(incrementalDir).toAbsolutePath();
+    }
+
     public boolean backupDatabase() {
         try {
-            // Create backup directory if it doesn't exist
-            File backupDir = new File(DB_BACKUP_DIR);
-            if (!backupDir.exists()) {
-                backupDir.mkdirs();
-            }
-            
-            // Generate timestamp for the backup file
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String backupFileName = String.format("intellilib_backup_%s.db", timestamp);
-            
-            // Get the database file path (adjust this based on your actual database configuration)
-            String dbFilePath = "intellilib.db"; // Default SQLite database file
-            
-            // Copy the database file to the backup location
-            Path source = Paths.get(dbFilePath);
-            Path target = Paths.get(DB_BACKUP_DIR, backupFileName);
-            
-            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
-            
+            createBackup(progress -> { });
             return true;
+        } catch (Exception e) {
+            log.error("Database backup failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Copy the live database with SQLite's online backup API and verify the copy.
+     * Progress (0.0 to 1.0) is reported after every step on the calling thread.
+     */
+    public Path createBackup(DoubleConsumer progressListener) throws SQLException, IOException {
+        Path backupDir = Paths.get(DB_BACKUP_DIR);
+        Files.createDirectories(backupDir);
+
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        Path target = backupDir.resolve(String.format("intellilib_backup_%s.db", timestamp)).toAbsolutePath();
+
+        backupTo(target, progressListener);
+
+        if (!verifyIntegrity(target)) {
+            Files.deleteIfExists(target);
+            throw new SQLException("Integrity check failed for backup " + target.getFileName());
+        }
+
+        log.info("Database backup created at {}", target);
+        return target;
+    }
+
+    /**
+     * Run the online backup of the main database into the given file
+     */
+    public void backupTo(Path target, DoubleConsumer progressListener) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            SQLiteConnection sqliteConnection = connection.unwrap(SQLiteConnection.class);
+
+            int result = sqliteConnection.getDatabase().backup("main", target.toString(),
+                    (remaining, pageCount) -> {
+                        progressListener.accept(pageCount == 0 ? 1.0 : (double) (pageCount - remaining) / pageCount);
+                        if (remaining > 0) {
+                            pauseBetweenSteps();
+                        }
+                    },
+                    BUSY_RETRY_MILLIS, BUSY_RETRIES, PAGES_PER_STEP);
+
+            if (result != SQLiteErrorCode.SQLITE_OK.code) {
+                throw new SQLException("Backup failed: " + SQLiteErrorCode.getErrorCode(result));
+            }
+        }
+    }
+
+    /**
+     * Store only the pages that changed since the previous incremental backup.
+     * A full base is written when there is no usable previous state or the chain grows too long.
+     */
+    public synchronized BackupManifest createIncrementalBackup(DoubleConsumer progressListener)
+            throws SQLException, IOException {
+        Files.createDirectories(incrementalDir);
+
+        String backupId = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmssSSS"));
+        Path snapshot = incrementalDir.resolve(backupId + ".snapshot");
+
+        try {
+            // Consistent copy first, the page scan then runs without touching the live database
+            backupTo(snapshot, progress -> progressListener.accept(progress * 0.5));
+
+            int pageSize = readPageSize(snapshot);
+            long fileSize = Files.size(snapshot);
+            int pageCount = (int) (fileSize / pageSize);
+
+            Optional<BackupManifest> parent = listIncrementalBackups().stream()
+                    .reduce((first, second) -> second)
+                    .filter(previous -> previous.getPageSize() == pageSize)
+                    .filter(previous -> previous.getChainLength() < MAX_CHAIN_LENGTH);
+            byte[] previousHashes = parent.map(previous -> readPageHashes(incrementalDir, previous))
+                    .orElse(new byte[0]);
+            if (parent.isPresent() && previousHashes.length == 0) {
+                parent = Optional.empty();
+            }
+
+            byte[] pageHashes = new byte[pageCount * PAGE_HASH_BYTES];
+            MessageDigest fileDigest = sha256();
+            String deltaFileName = backupId + ".delta.gz";
+            int changedPages = 0;
+
+            try (FileChannel in = FileChannel.open(snapshot, StandardOpenOption.READ);
+                 DataOutputStream delta = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(
+                         Files.newOutputStream(incrementalDir.resolve(deltaFileName)))))) {
+
+                delta.writeInt(pageSize);
+                delta.writeInt(pageCount);
+
+                ByteBuffer page = ByteBuffer.allocate(pageSize);
+                for (int pageNo = 0; pageNo < pageCount; pageNo++) {
+                    page.clear();
+                    while (page.hasRemaining() && in.read(page) > 0) {
+                        // keep filling the page buffer
+                    }
+                    byte[] pageBytes = page.array();
+                    fileDigest.update(pageBytes);
+
+                    byte[] hash = Arrays.copyOf(sha256().digest(pageBytes), PAGE_HASH_BYTES);
+                    System.arraycopy(hash, 0, pageHashes, pageNo * PAGE_HASH_BYTES, PAGE_HASH_BYTES);
+
+                    int offset = pageNo * PAGE_HASH_BYTES;
+                    boolean unchanged = offset + PAGE_HASH_BYTES <= previousHashes.length
+                            && Arrays.equals(previousHashes, offset, offset + PAGE_HASH_BYTES,
+                                             hash, 0, PAGE_HASH_BYTES);
+                    if (!unchanged) {
+                        delta.writeInt(pageNo);
+                        delta.write(pageBytes);
+                        changedPages++;
+                    }
+
+                    if (pageNo % 1024 == 0) {
+                        progressListener.accept(0.5 + 0.5 * pageNo / Math.max(1, pageCount));
+                    }
+                }
+                delta.writeInt(END_OF_DELTA);
+            }
+
+            BackupManifest manifest = BackupManifest.builder()
+                    .id(backupId)
+                    .parentId(parent.map(BackupManifest::getId).orElse(null))
+                    .chainLength(parent.map(previous -> previous.getChainLength() + 1).orElse(1))
+                    .createdAt(System.currentTimeMillis())
+                    .pageSize(pageSize)
+                    .pageCount(pageCount)
+                    .changedPages(changedPages)
+                    .deltaFile(deltaFileName)
+                    .snapshotSha256(HexFormat.of().formatHex(fileDigest.digest()))
+                    .build();
+
+            writePageHashes(incrementalDir, backupId, pageHashes);
+            writeManifest(incrementalDir, manifest);
+            progressListener.accept(1.0);
+
+            log.info("Incremental backup {} written: {}/{} pages changed (parent: {})",
+                    backupId, changedPages, pageCount, manifest.getParentId());
+            return manifest;
+        } finally {
+            Files.deleteIfExists(snapshot);
+        }
+    }
+
+    /**
+     * All incremental backups, oldest first
+     */
+    public List<BackupManifest> listIncrementalBackups() throws IOException {
+        if (!Files.isDirectory(incrementalDir)) {
+            return List.of();
+        }
+
+        List<BackupManifest> manifests = new ArrayList<>();
+        try (Stream<Path> files = Files.list(incrementalDir)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(".json")).toList()) {
+                manifests.add(MANIFEST_MAPPER.readValue(file.toFile(), BackupManifest.class));
+            }
+        }
+        manifests.sort(Comparator.comparing(BackupManifest::getId));
+        return manifests;
+    }
+
+    /**
+     * Rebuild the database as it was at the given incremental backup and verify its checksum
+     */
+    public void restoreIncrementalBackup(String backupId, Path target) throws IOException {
+        List<BackupManifest> chain = resolveChain(backupId);
+        BackupManifest head = chain.get(chain.size() - 1);
+
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (BackupManifest manifest : chain) {
+                applyDelta(incrementalDir.resolve(manifest.getDeltaFile()), out);
+            }
+            out.truncate((long) head.getPageCount() * head.getPageSize());
+        }
+
+        String checksum = sha256Hex(target);
+        if (!checksum.equals(head.getSnapshotSha256())) {
+            throw new IOException("Rebuilt database does not match backup " + backupId + " checksum");
+        }
+    }
+
+    /**
+     * Rebuild a backup into a temporary file and check both its checksum and SQLite integrity
+     */
+    public boolean verifyIncrementalBackup(String backupId) {
+        Path rebuilt = null;
+        try {
+            rebuilt = Files.createTempFile("intellilib_verify_", ".db");
+            restoreIncrementalBackup(backupId, rebuilt);
+            return verifyIntegrity(rebuilt);
         } catch (IOException e) {
-            e.printStackTrace();
+            log.error("Verification of incremental backup {} failed: {}", backupId, e.getMessage());
             return false;
+        } finally {
+            if (rebuilt != null) {
+                try {
+                    Files.deleteIfExists(rebuilt);
+                } catch (IOException e) {
+                    log.warn("Could not delete temporary file {}", rebuilt);
+                }
+            }
+        }
+    }
+
+    /**
+     * Make the next incremental backup a full base, e.g. after a backup failed verification
+     */
+    public synchronized void startNewIncrementalChain() throws IOException {
+        Files.deleteIfExists(incrementalDir.resolve(PAGE_HASH_INDEX));
+    }
+
+    /**
+     * Delete every chain but the newest ones, a chain being a full base and the deltas on top
+     * of it. Returns the number of backups deleted.
+     */
+    public synchronized int pruneIncrementalBackups(int chainsToKeep) throws IOException {
+        List<BackupManifest> manifests = listIncrementalBackups();
+        List<String> bases = manifests.stream()
+                .filter(manifest -> manifest.getParentId() == null)
+                .map(BackupManifest::getId)
+                .toList();
+        Set<String> keptBases = new HashSet<>(bases.subList(Math.max(0, bases.size() - chainsToKeep), bases.size()));
+
+        Map<String, BackupManifest> byId = new HashMap<>();
+        manifests.forEach(manifest -> byId.put(manifest.getId(), manifest));
+
+        int pruned = 0;
+        for (BackupManifest manifest : manifests) {
+            // A delta whose chain is broken cannot be restored either
+            BackupManifest base = manifest;
+            while (base != null && base.getParentId() != null) {
+                base = byId.get(base.getParentId());
+            }
+            if (base == null || !keptBases.contains(base.getId())) {
+                Files.deleteIfExists(incrementalDir.resolve(manifest.getId() + ".json"));
+                Files.deleteIfExists(incrementalDir.resolve(manifest.getDeltaFile()));
+                pruned++;
+            }
+        }
+        return pruned;
+    }
+
+    /**
+     * Run PRAGMA integrity_check on a database file opened read-only
+     */
+    public boolean verifyIntegrity(Path databaseFile) {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setReadOnly(true);
+
+        try (Connection connection = DriverManager.getConnection(
+                SQLITE_URL_PREFIX + databaseFile.toAbsolutePath(), config.toProperties());
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("PRAGMA integrity_check")) {
+
+            return resultSet.next() && "ok".equalsIgnoreCase(resultSet.getString(1));
+        } catch (SQLException e) {
+            log.error("Integrity check failed for {}: {}", databaseFile, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Location of the live database file, taken from spring.datasource.url
+     */
+    public Path getDatabaseFile() {
+        String location = datasourceUrl.startsWith(SQLITE_URL_PREFIX)
+                ? datasourceUrl.substring(SQLITE_URL_PREFIX.length())
+                : datasourceUrl;
+
+        int queryStart = location.indexOf('?');
+        if (queryStart >= 0) {
+            location = location.substring(0, queryStart);
+        }
+        if (location.startsWith("file:")) {
+            location = location.substring("file:".length());
+        }
+        return Paths.get(location).toAbsolutePath();
+    }
+
+    private List<BackupManifest> resolveChain(String backupId) throws IOException {
+        List<BackupManifest> manifests = listIncrementalBackups();
+        List<BackupManifest> chain = new ArrayList<>();
+
+        String currentId = backupId;
+        while (currentId != null) {
+            String lookupId = currentId;
+            BackupManifest manifest = manifests.stream()
+                    .filter(m -> m.getId().equals(lookupId))
+                    .findFirst()
+                    .orElseThrow(() -> new IOException("Missing incremental backup manifest: " + lookupId));
+            chain.add(0, manifest);
+            currentId = manifest.getParentId();
+        }
+        return chain;
+    }
+
+    private void applyDelta(Path deltaFile, FileChannel out) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(deltaFile))))) {
+            int pageSize = in.readInt();
+            in.readInt(); // page count, the head manifest decides the final size
+
+            byte[] page = new byte[pageSize];
+            int pageNo;
+            while ((pageNo = in.readInt()) != END_OF_DELTA) {
+                in.readFully(page);
+                ByteBuffer buffer = ByteBuffer.wrap(page);
+                long position = (long) pageNo * pageSize;
+                while (buffer.hasRemaining()) {
+                    position += out.write(buffer, position);
+                }
+            }
+        } catch (EOFException e) {
+            throw new IOException("Truncated delta file " + deltaFile.getFileName(), e);
+        }
+    }
+
+    private int readPageSize(Path databaseFile) throws IOException {
+        // Page size is a big-endian short at offset 16 of the header, 1 means 65536
+        try (FileChannel channel = FileChannel.open(databaseFile, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(2);
+            channel.read(header, 16);
+            int pageSize = Short.toUnsignedInt(header.flip().getShort());
+            return pageSize == 1 ? 65536 : pageSize;
         }
     }
+
+    private byte[] readPageHashes(Path incrementalDir, BackupManifest manifest) {
+        Path index = incrementalDir.resolve(PAGE_HASH_INDEX);
+        if (!Files.exists(index)) {
+            return new byte[0];
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(index))))) {
+            // The index only describes the newest backup, anything else forces a new base
+            if (!manifest.getId().equals(in.readUTF())) {
+                return new byte[0];
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            log.warn("Unreadable page hash index, starting a new base backup: {}", e.getMessage());
+            return new byte[0];
+        }
+    }
+
+    private void writePageHashes(Path incrementalDir, String backupId, byte[] pageHashes) throws IOException {
+        Path temp = incrementalDir.resolve(PAGE_HASH_INDEX + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(temp))))) {
+            out.writeUTF(backupId);
+            out.write(pageHashes);
+        }
+        Files.move(temp, incrementalDir.resolve(PAGE_HASH_INDEX),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void writeManifest(Path incrementalDir, BackupManifest manifest) throws IOException {
+        Path temp = incrementalDir.resolve(manifest.getId() + ".json.tmp");
+        MANIFEST_MAPPER.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), manifest);
+        Files.move(temp, incrementalDir.resolve(manifest.getId() + ".json"),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private String sha256Hex(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            while (channel.read(buffer) > 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void pauseBetweenSteps() {
+        try {
+            Thread.sleep(STEP_PAUSE_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Manifest of one incremental backup, stored as JSON next to its delta file
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BackupManifest {
+        private String id;
+        private String parentId;
+        private int chainLength;
+        private long createdAt;
+        private int pageSize;
+        private int pageCount;
+        private int changedPages;
+        private String deltaFile;
+        private String snapshotSha256;
+    }
 }
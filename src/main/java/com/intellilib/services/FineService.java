@@ -1,5 +1,6 @@
 package com.intellilib.services;
 
+import com.intellilib.diagnostics.FineJobChunkEvent;
 import com.intellilib.models.*;
 import com.intellilib.repositories.*;
 import lombok.RequiredArgsConstructor;
@@ -12,7 +13,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
 @Service
 @RequiredArgsConstructor
@@ -22,14 +27,14 @@ public class FineService {
     private final BorrowRepository borrowRepository;
     private final MemberRepository memberRepository;
     private final FineTransactionRepository fineTransactionRepository;
-    private final SystemSettingsRepository systemSettingsRepository;
+    private final SystemSettingsService systemSettingsService;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
     
-    // Default values (can be overridden by system settings)
-    private static final double DEFAULT_FINE_PER_DAY = 2.0;
-    private static final int DEFAULT_MAX_OVERDUE_DAYS = 30;
-    private static final double DEFAULT_CREDIT_LIMIT = 50.0;
+    private static final int FINE_JOB_CHUNK_SIZE = 500;
+    
+    // Lets other background jobs (e.g. scheduled backups) stay out of the fine run
+    private volatile boolean fineJobRunning;
     
     /**
      * Scheduled job to calculate fines daily at 2 AM
@@ -38,22 +43,44 @@ public class FineService {
     @Transactional
     public void calculateDailyFines() {
         log.info("Starting daily fine calculation...");
+        fineJobRunning = true;
         
-        // Get active overdue borrows
-        List<Borrow> overdueBorrows = borrowRepository.findOverdueBorrows(LocalDate.now());
-        
-        for (Borrow borrow : overdueBorrows) {
+        try {
+            // Get active overdue borrows
+            List<Borrow> overdueBorrows = borrowRepository.findOverdueBorrows(LocalDate.now());
+            
+            for (int from = 0; from < overdueBorrows.size(); from += FINE_JOB_CHUNK_SIZE) {
+                List<Borrow> chunk = overdueBorrows.subList(from, Math.min(from + FINE_JOB_CHUNK_SIZE, overdueBorrows.size()));
+                updateFinesForChunk(chunk, from / FINE_JOB_CHUNK_SIZE);
+            }
+            
+            // Check for bans
+            checkAndApplyBans();
+            
+            log.info("Daily fine calculation completed. Processed {} borrows.", overdueBorrows.size());
+        } finally {
+            fineJobRunning = false;
+        }
+    }
+    
+    // Processed in chunks so a slow run shows up in a flight recording as a series of FineJobChunk events
+    private void updateFinesForChunk(List<Borrow> chunk, int index) {
+        FineJobChunkEvent event = FineJobChunkEvent.start(index);
+        int failed = 0;
+        for (Borrow borrow : chunk) {
             try {
                 updateFineForBorrow(borrow);
             } catch (Exception e) {
+                failed++;
                 log.error("Error calculating fine for borrow ID {}: {}", borrow.getId(), e.getMessage());
             }
         }
-        
-        // Check for bans
-        checkAndApplyBans();
-        
-        log.info("Daily fine calculation completed. Processed {} borrows.", overdueBorrows.size());
+        event.setFailed(failed);
+        event.complete(chunk.size() - failed);
+    }
+    
+    public boolean isFineJobRunning() {
+        return fineJobRunning;
     }
     
     /**
@@ -113,6 +140,63 @@ public class FineService {
         }
     }
     
+    /**
+     * Bring the fines of borrows that are about to be returned up to date. Each member is
+     * updated once for the whole batch, and every change is flushed with the transaction.
+     */
+    @Transactional
+    public void updateFinesForReturn(Collection<Borrow> borrows) {
+        LocalDate today = LocalDate.now();
+        Map<Long, Member> members = new LinkedHashMap<>();
+        Map<Long, Double> fineIncrease = new LinkedHashMap<>();
+        Map<Long, Integer> overdueReturned = new LinkedHashMap<>();
+        Map<Long, Borrow> lastChangedBorrow = new LinkedHashMap<>();
+        
+        for (Borrow borrow : borrows) {
+            if (!borrow.isOverdue()) {
+                continue;
+            }
+            
+            Member member = borrow.getMember();
+            members.putIfAbsent(member.getId(), member);
+            // The book comes back, so it no longer counts as overdue for the member, exempt or not
+            overdueReturned.merge(member.getId(), 1, Integer::sum);
+            
+            if (borrow.getIsFineExempt()) {
+                continue;
+            }
+            int daysOverdue = borrow.calculateDaysOverdue();
+            double newFine = daysOverdue * borrow.getFinePerDay();
+            borrow.setDaysOverdue(daysOverdue);
+            if (newFine != borrow.getFineAmount()) {
+                fineIncrease.merge(member.getId(), newFine - borrow.getFineAmount(), Double::sum);
+                borrow.setFineAmount(newFine);
+                borrow.setFineUpdatedDate(today);
+                borrow.setLastFineCalculationDate(today);
+                if (borrow.getFineStatus() == Borrow.FineStatus.NONE) {
+                    borrow.setFineStatus(Borrow.FineStatus.PENDING);
+                }
+                lastChangedBorrow.put(member.getId(), borrow);
+            }
+        }
+        
+        double creditLimit = getCreditLimit();
+        for (Member member : members.values()) {
+            member.setCurrentFinesDue(member.getCurrentFinesDue() + fineIncrease.getOrDefault(member.getId(), 0.0));
+            member.setOverdueBooksCount(Math.max(0,
+                    member.getOverdueBooksCount() - overdueReturned.getOrDefault(member.getId(), 0)));
+            
+            Borrow changed = lastChangedBorrow.get(member.getId());
+            if (changed != null && member.getCurrentFinesDue() > creditLimit) {
+                notificationService.sendFineWarningNotification(member, changed);
+            }
+        }
+        
+        if (!members.isEmpty()) {
+            log.info("Updated fines of {} returned borrows for {} members", borrows.size(), members.size());
+        }
+    }
+    
     /**
      * Check and apply bans for members exceeding max overdue days
      */
@@ -151,18 +235,18 @@ public class FineService {
                                               String paymentReference, String notes, Long userId) {
 
         Borrow borrow = borrowRepository.findById(borrowId)
-                .orElseThrow(() -> new RuntimeException("Borrow not found"));
+                .orElseThrow(() -> new NoSuchElementException("Borrow not found"));
 
         if (borrow.getFineStatus() == Borrow.FineStatus.PAID) {
-            throw new RuntimeException("Fine already paid");
+            throw new OperationRefusedException("Fine already paid");
         }
 
         if (borrow.getFineStatus() == Borrow.FineStatus.WAIVED) {
-            throw new RuntimeException("Fine has been waived");
+            throw new OperationRefusedException("Fine has been waived");
         }
 
         if (amount < borrow.getFineAmount()) {
-            throw new RuntimeException("Payment amount less than fine amount");
+            throw new OperationRefusedException("Payment amount less than fine amount");
         }
 
         // Create transaction
@@ -218,7 +302,7 @@ public class FineService {
     @Transactional
     public void waiveFine(Long borrowId, String reason, Long userId) {
         Borrow borrow = borrowRepository.findById(borrowId)
-                .orElseThrow(() -> new RuntimeException("Borrow not found"));
+                .orElseThrow(() -> new NoSuchElementException("Borrow not found"));
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -282,7 +366,7 @@ public class FineService {
      */
     public FineSummary getFineSummary(Long memberId) {
         Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new RuntimeException("Member not found"));
+                .orElseThrow(() -> new NoSuchElementException("Member not found"));
         
         List<Borrow> pendingFines = borrowRepository.findPendingFinesByMember(memberId);
         
@@ -304,22 +388,17 @@ public class FineService {
     }
     
     // Helper methods to get system settings
+    // Settings are read from the in-memory snapshot, these run once per borrow in the fine loop
     private double getFinePerDay() {
-        return systemSettingsRepository.findByKey("FINE_PER_DAY")
-                .map(SystemSettings::getDoubleValue)
-                .orElse(DEFAULT_FINE_PER_DAY);
+        return systemSettingsService.current().finePerDay();
     }
     
     private int getMaxOverdueDays() {
-        return systemSettingsRepository.findByKey("MAX_OVERDUE_DAYS")
-                .map(SystemSettings::getIntValue)
-                .orElse(DEFAULT_MAX_OVERDUE_DAYS);
+        return systemSettingsService.current().maxOverdueDays();
     }
     
     private double getCreditLimit() {
-        return systemSettingsRepository.findByKey("CREDIT_LIMIT")
-                .map(SystemSettings::getDoubleValue)
-                .orElse(DEFAULT_CREDIT_LIMIT);
+        return systemSettingsService.current().creditLimit();
     }
     
     // DTO for fine summary
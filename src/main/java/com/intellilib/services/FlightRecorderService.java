@@ -0,0 +1,108 @@
+package com.intellilib.services;
+
+import jakarta.annotation.PostConstruct;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * On-demand Flight Recorder recordings: the JVM's "profile" settings plus the application's
+ * own events (package com.intellilib.diagnostics), written to a .jfr file once the recording
+ * ends, for JDK Mission Control or {@code jfr print}.
+ */
+@Service
+@Slf4j
+public class FlightRecorderService {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path recordingDirectory;
+
+    private Recording active;
+    private CompletableFuture<Path> completion;
+
+    public FlightRecorderService(@Value("${intellilib.jfr.directory:recordings}") String recordingDirectory) {
+        this.recordingDirectory = Path.of(recordingDirectory);
+    }
+
+    /**
+     * Start a recording of the given length. The future completes with the written file once
+     * the recording has stopped; only one recording runs at a time.
+     */
+    public synchronized CompletableFuture<Path> record(Duration duration) throws IOException {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("Flight Recorder is not available in this JVM");
+        }
+        if (active != null) {
+            throw new IllegalStateException("A recording is already running");
+        }
+
+        Files.createDirectories(recordingDirectory);
+        Path file = recordingDirectory.resolve(
+                "intellilib-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr").toAbsolutePath();
+
+        Recording recording;
+        try {
+            recording = new Recording(Configuration.getConfiguration("profile"));
+        } catch (ParseException e) {
+            throw new IllegalStateException("Cannot read the JFR profile settings", e);
+        }
+        recording.setName("IntelliLib " + duration.toSeconds() + "s");
+        recording.setToDisk(true);
+        recording.setDestination(file);
+        recording.setDuration(duration);
+
+        CompletableFuture<Path> future = new CompletableFuture<>();
+        active = recording;
+        completion = future;
+        recording.start();
+        log.info("Flight recording started for {}s, writing {}", duration.toSeconds(), file);
+        return future;
+    }
+
+    public synchronized boolean isRecording() {
+        return active != null;
+    }
+
+    /**
+     * The recording is written to its destination when it stops at the end of its duration
+     */
+    private synchronized void recordingStopped(Recording recording) {
+        if (recording != active) {
+            return;
+        }
+        Path file = recording.getDestination();
+        CompletableFuture<Path> future = completion;
+        active = null;
+        completion = null;
+        recording.close();
+        log.info("Flight recording written to {}", file);
+        future.complete(file);
+    }
+
+    @PostConstruct
+    public void watchRecordings() {
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recordingStateChanged(Recording recording) {
+                if (recording.getState() == RecordingState.STOPPED || recording.getState() == RecordingState.CLOSED) {
+                    recordingStopped(recording);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,220 @@
+package com.intellilib.services;
+
+import com.intellilib.models.Hold;
+import com.intellilib.models.Member;
+import com.intellilib.repositories.BookRepository;
+import com.intellilib.repositories.HoldRepository;
+import com.intellilib.repositories.MemberRepository;
+import com.intellilib.util.AfterTransaction;
+import com.intellilib.util.TimerWheel;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Hold queues: members queue per book in FIFO order, a returned copy goes to the first
+ * waiting member who can borrow instead of back on the shelf, and that member has a few
+ * days to collect it. All state changes are conditional updates, so concurrent returns,
+ * checkouts and cancellations can never hand one copy to two members.
+ * Pickup deadlines live in one timer wheel advanced by a single scheduled tick; notices go
+ * through the notification digest like every other member notification.
+ */
+@Service
+@Slf4j
+public class HoldService {
+
+    private static final int DEFAULT_PICKUP_DAYS = 3;
+
+    private final HoldRepository holdRepository;
+    private final BookRepository bookRepository;
+    private final MemberRepository memberRepository;
+    private final InventoryService inventoryService;
+    private final NotificationService notificationService;
+    private final SystemSettingsService systemSettingsService;
+    private final TimerWheel<Long> expiryWheel;
+
+    public HoldService(HoldRepository holdRepository,
+                       BookRepository bookRepository,
+                       MemberRepository memberRepository,
+                       InventoryService inventoryService,
+                       NotificationService notificationService,
+                       SystemSettingsService systemSettingsService,
+                       @Value("${intellilib.holds.tick-ms:60000}") long tickMillis,
+                       @Value("${intellilib.holds.wheel-slots:1024}") int wheelSlots) {
+        this.holdRepository = holdRepository;
+        this.bookRepository = bookRepository;
+        this.memberRepository = memberRepository;
+        this.inventoryService = inventoryService;
+        this.notificationService = notificationService;
+        this.systemSettingsService = systemSettingsService;
+        this.expiryWheel = new TimerWheel<>(Duration.ofMillis(tickMillis), wheelSlots, System.currentTimeMillis());
+    }
+
+    /**
+     * Put the pickup deadlines of holds that were ready before a restart back on the wheel
+     */
+    @PostConstruct
+    public void init() {
+        List<Hold> ready = holdRepository.findByStatus(Hold.HoldStatus.READY);
+        ready.forEach(hold -> scheduleExpiry(hold.getId(), hold.getExpiresAt()));
+        if (!ready.isEmpty()) {
+            log.info("Tracking pickup deadlines of {} ready holds", ready.size());
+        }
+    }
+
+    /**
+     * Queue a member for a book. If a copy happens to be on the shelf it is allocated
+     * right away, to whoever is first in line.
+     */
+    @Transactional
+    public Hold placeHold(Long bookId, Long memberId) {
+        // The insert comes first so the transaction holds SQLite's write lock before it reads
+        Hold hold = holdRepository.save(new Hold(bookRepository.getReferenceById(bookId),
+                memberRepository.getReferenceById(memberId)));
+
+        if (!bookRepository.existsById(bookId) || !memberRepository.existsById(memberId)) {
+            throw new OperationRefusedException("Cannot place hold");
+        }
+        // The queue passes over members who cannot borrow, such a hold would never be served
+        if (!memberRepository.findById(memberId).orElseThrow().canBorrow()) {
+            throw new OperationRefusedException("Member cannot borrow books");
+        }
+        if (holdRepository.countActiveHolds(bookId, memberId) > 1) {
+            throw new OperationRefusedException("Member already has a hold on this book");
+        }
+
+        // A copy can be on the shelf when everyone waiting was unable to borrow at return time
+        if (inventoryService.takeCopy(bookId) && !allocateToQueue(bookId)) {
+            inventoryService.putCopyBack(bookId);
+        }
+        return hold;
+    }
+
+    /**
+     * Cancel a hold; a copy already put aside for it goes to the next member in line
+     */
+    @Transactional
+    public boolean cancelHold(Long holdId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (holdRepository.markCancelled(holdId, Hold.HoldStatus.WAITING, now) == 1) {
+            return true;
+        }
+        if (holdRepository.markCancelled(holdId, Hold.HoldStatus.READY, now) == 1) {
+            releaseCopy(holdRepository.findById(holdId).orElseThrow().getBook().getId());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Close the member's ready hold on a book, true if there was one. The copy was taken off
+     * the shelf when the hold became ready, so the checkout must not take another.
+     */
+    @Transactional
+    public boolean fulfilHold(Long bookId, Long memberId) {
+        return holdRepository.markFulfilled(bookId, memberId, LocalDateTime.now()) == 1;
+    }
+
+    /**
+     * A copy came back: give it to the first eligible waiting member, otherwise shelve it.
+     * Members who cannot borrow right now keep their place in the queue.
+     */
+    @Transactional
+    public boolean releaseCopy(Long bookId) {
+        // A read first would have to upgrade to the write lock, which SQLite refuses under contention
+        holdRepository.lockQueue(bookId);
+        if (allocateToQueue(bookId)) {
+            return true;
+        }
+        return inventoryService.putCopyBack(bookId);
+    }
+
+    public List<Hold> getActiveHolds(Long memberId) {
+        return holdRepository.findActiveByMember(memberId);
+    }
+
+    public long getQueueLength(Long bookId) {
+        return holdRepository.countByBookIdAndStatus(bookId, Hold.HoldStatus.WAITING);
+    }
+
+    public long getQueuePosition(Hold hold) {
+        return holdRepository.queuePosition(hold.getBook().getId(), hold.getId());
+    }
+
+    public int getPendingExpiryCount() {
+        return expiryWheel.size();
+    }
+
+    /**
+     * One tick of the timer wheel: expire every hold whose pickup deadline passed and pass
+     * its copy on, all in one transaction
+     */
+    @Scheduled(fixedDelayString = "${intellilib.holds.tick-ms:60000}",
+               initialDelayString = "${intellilib.holds.tick-ms:60000}")
+    @Transactional
+    public void expireDueHolds() {
+        List<Long> due = expiryWheel.advance(System.currentTimeMillis());
+        if (due.isEmpty()) {
+            return;
+        }
+
+        // Nothing is lost if the batch fails, the deadlines fire again on the next tick
+        AfterTransaction.rollback(() -> due.forEach(holdId ->
+                expiryWheel.schedule(holdId, System.currentTimeMillis())));
+
+        LocalDateTime now = LocalDateTime.now();
+        int expired = 0;
+        for (Long holdId : due) {
+            // Already collected or cancelled
+            if (holdRepository.markExpired(holdId, now) == 0) {
+                continue;
+            }
+            Hold hold = holdRepository.findById(holdId).orElseThrow();
+            notificationService.sendHoldExpiredNotification(hold.getMember(), hold);
+            releaseCopy(hold.getBook().getId());
+            expired++;
+        }
+
+        if (expired > 0) {
+            log.info("Expired {} uncollected holds", expired);
+        }
+    }
+
+    private boolean allocateToQueue(Long bookId) {
+        for (Hold hold : holdRepository.findWaitingByBook(bookId)) {
+            Member member = hold.getMember();
+            if (!member.canBorrow()) {
+                continue;
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime expiresAt = now.plusDays(pickupDays());
+            // Loses only if a concurrent cancel got there first, then try the next member
+            if (holdRepository.markReady(hold.getId(), now, expiresAt) == 1) {
+                hold.setStatus(Hold.HoldStatus.READY);
+                hold.setReadyAt(now);
+                hold.setExpiresAt(expiresAt);
+                notificationService.sendHoldReadyNotification(member, hold);
+                AfterTransaction.commit(() -> scheduleExpiry(hold.getId(), expiresAt));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void scheduleExpiry(Long holdId, LocalDateTime expiresAt) {
+        expiryWheel.schedule(holdId, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private int pickupDays() {
+        return systemSettingsService.current().getInt(SystemSettingsService.HOLD_PICKUP_DAYS, DEFAULT_PICKUP_DAYS);
+    }
+}
@@ -0,0 +1,170 @@
+package com.intellilib.services;
+
+import com.intellilib.models.Book;
+import com.intellilib.repositories.BookRepository;
+import com.intellilib.util.AfterTransaction;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Available copy counts per book, held in memory in front of books.available_count.
+ * Once a book has been seen, availability reads never touch the database. Counters are only
+ * ever loaded from the row, never from an entity a caller holds, which may be stale.
+ * Checkouts claim a copy from the in-memory counter with a CAS loop before the conditional
+ * update. The database stays authoritative: a counter at zero may be behind the row (another
+ * process on the same database returned a copy), so the update still runs and decides, and
+ * whenever the update disagrees with the counter, the counter is reloaded.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryService {
+
+    private final BookRepository bookRepository;
+
+    // One counter per book, CAS updates never block and never drop below zero
+    private final ConcurrentHashMap<Long, AtomicInteger> counters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        int initialized = bookRepository.initializeAvailableCounts();
+        if (initialized > 0) {
+            log.info("Initialized available copy counts for {} books", initialized);
+        }
+    }
+
+    /**
+     * Copies on the shelf; the entity's own count is not used, it may be stale
+     */
+    public int getAvailableCount(Book book) {
+        return getAvailableCount(book.getId());
+    }
+
+    public boolean isAvailable(Book book) {
+        return getAvailableCount(book) > 0;
+    }
+
+    public int getAvailableCount(Long bookId) {
+        return counter(bookId).get();
+    }
+
+    /**
+     * Load the counters of the books not tracked yet in one query, so a page of books can be
+     * checked afterwards without a query per row
+     */
+    public void track(Collection<Long> bookIds) {
+        List<Long> missing = bookIds.stream().filter(id -> !counters.containsKey(id)).toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+        for (Object[] row : bookRepository.findAvailableCounts(missing)) {
+            counters.putIfAbsent((Long) row[0], new AtomicInteger(((Number) row[1]).intValue()));
+        }
+    }
+
+    /**
+     * Take one copy off the shelf, false when none is left. Runs inside the caller's
+     * transaction; the counter is given back if that transaction rolls back.
+     */
+    public boolean takeCopy(Long bookId) {
+        AtomicInteger counter = counter(bookId);
+        if (tryDecrement(counter)) {
+            if (bookRepository.takeCopy(bookId) == 0) {
+                // The row disagrees with the counter, trust the row
+                resync(bookId);
+                return false;
+            }
+            AfterTransaction.rollback(counter::incrementAndGet);
+            return true;
+        }
+
+        // Only the row can refuse: the counter may have missed a copy coming back
+        if (bookRepository.takeCopy(bookId) == 0) {
+            return false;
+        }
+        AfterTransaction.commit(() -> resync(bookId));
+        AfterTransaction.rollback(() -> resync(bookId));
+        return true;
+    }
+
+    /**
+     * Put one copy back, false if every copy was already on the shelf. The counter moves
+     * once the transaction has committed, so readers never see an uncommitted copy.
+     */
+    public boolean putCopyBack(Long bookId) {
+        if (bookRepository.putCopyBack(bookId) == 0) {
+            return false;
+        }
+
+        AfterTransaction.commit(() -> {
+            AtomicInteger counter = counters.get(bookId);
+            if (counter != null) {
+                counter.incrementAndGet();
+            } else {
+                resync(bookId);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Change the number of copies owned; copies already out stay out
+     */
+    public void changeQuantity(Long bookId, int quantity) {
+        bookRepository.changeQuantity(bookId, quantity);
+        AfterTransaction.commit(() -> resync(bookId));
+    }
+
+    public void resync(Long bookId) {
+        Optional<Integer> count = bookRepository.findAvailableCount(bookId);
+        if (count.isPresent()) {
+            counter(bookId).set(count.get());
+        } else {
+            counters.remove(bookId);
+        }
+    }
+
+    public void evict(Long bookId) {
+        counters.remove(bookId);
+    }
+
+    // Titles with a counter in memory
+    public int getTrackedCount() {
+        return counters.size();
+    }
+
+    private AtomicInteger counter(Long bookId) {
+        AtomicInteger counter = counters.get(bookId);
+        if (counter != null) {
+            return counter;
+        }
+
+        Optional<Integer> count = bookRepository.findAvailableCount(bookId);
+        if (count.isEmpty()) {
+            // Unknown book, not worth remembering
+            return new AtomicInteger();
+        }
+        AtomicInteger loaded = new AtomicInteger(count.get());
+        AtomicInteger existing = counters.putIfAbsent(bookId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private static boolean tryDecrement(AtomicInteger counter) {
+        int current;
+        do {
+            current = counter.get();
+            if (current <= 0) {
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current - 1));
+        return true;
+    }
+}
@@ -0,0 +1,202 @@
+package com.intellilib.services;
+
+import com.intellilib.models.OutboxMessage;
+import com.intellilib.repositories.OutboxMessageRepository;
+import com.intellilib.util.AppExecutors;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drains the notification outbox in batches, each batch over a single SMTP connection.
+ * Sending is paced to a maximum rate and failed messages are retried with exponential backoff.
+ * The drain runs on the io executor, so a long or slow outbox never holds up the other
+ * scheduled jobs, which share Spring's single scheduler thread.
+ * Each batch is claimed in the database before anything is sent, so the desktop app and the
+ * server profile can drain the same database file without sending a message twice.
+ */
+@Service
+@Slf4j
+public class MailDispatcherService {
+
+    private static final int MAX_ATTEMPTS = 8;
+    private static final long BASE_RETRY_SECONDS = 30;
+    private static final long MAX_RETRY_SECONDS = TimeUnit.HOURS.toSeconds(6);
+    // Far longer than a batch takes at the configured rate, including SMTP timeouts
+    private static final Duration CLAIM_LEASE = Duration.ofMinutes(15);
+
+    private final JavaMailSenderImpl mailSender;
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final SystemSettingsService systemSettingsService;
+    private final AppExecutors appExecutors;
+    private final int batchSize;
+    private final long minSendIntervalNanos;
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+
+    public MailDispatcherService(JavaMailSenderImpl mailSender,
+                                 OutboxMessageRepository outboxMessageRepository,
+                                 SystemSettingsService systemSettingsService,
+                                 AppExecutors appExecutors,
+                                 @Value("${intellilib.mail.batch-size:50}") int batchSize,
+                                 @Value("${intellilib.mail.max-per-second:5}") double maxPerSecond) {
+        this.mailSender = mailSender;
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.systemSettingsService = systemSettingsService;
+        this.appExecutors = appExecutors;
+        this.batchSize = batchSize;
+        this.minSendIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / maxPerSecond);
+    }
+
+    /**
+     * Scheduled drain, hands the work to the io executor and returns; a tick while the previous
+     * drain is still sending does nothing
+     */
+    @Scheduled(fixedDelayString = "${intellilib.mail.dispatch-interval-ms:30000}",
+               initialDelayString = "${intellilib.mail.dispatch-interval-ms:30000}")
+    public void dispatchPending() {
+        if (!dispatching.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            appExecutors.io().execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // Shutting down, the messages stay in the outbox for the next start
+            dispatching.set(false);
+        }
+    }
+
+    // Keeps taking batches until nothing is due
+    private void drain() {
+        try {
+            while (dispatchBatch() == batchSize) {
+                // a full batch means more messages may be waiting
+            }
+        } catch (Exception e) {
+            log.error("Outbox dispatch failed: {}", e.getMessage());
+        } finally {
+            dispatching.set(false);
+        }
+    }
+
+    /**
+     * Claim and send one batch of due messages. Returns how many were due, including any another
+     * process claimed first, so the drain goes on while full batches keep coming.
+     */
+    public int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> due = outboxMessageRepository.findDueMessages(now, PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        String token = UUID.randomUUID().toString();
+        List<Long> ids = due.stream().map(OutboxMessage::getId).toList();
+        if (outboxMessageRepository.claim(ids, token, now, now.plus(CLAIM_LEASE)) == 0) {
+            return due.size();
+        }
+        List<OutboxMessage> batch = outboxMessageRepository.findByClaimTokenOrderById(token);
+
+        String from = systemSettingsService.current().emailFrom();
+        int index = 0;
+        try (Transport transport = connect()) {
+            long nextSendAt = System.nanoTime();
+            for (; index < batch.size(); index++) {
+                OutboxMessage message = batch.get(index);
+                nextSendAt = awaitSendSlot(nextSendAt);
+                try {
+                    MimeMessage mimeMessage = toMimeMessage(message, from);
+                    transport.sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+                    markSent(message);
+                } catch (SendFailedException | AddressException e) {
+                    // Rejected message, the connection itself is still usable
+                    markFailed(message, e);
+                }
+            }
+        } catch (MessagingException e) {
+            log.warn("SMTP session failed after {} of {} messages: {}", index, batch.size(), e.getMessage());
+            for (int i = index; i < batch.size(); i++) {
+                markFailed(batch.get(i), e);
+            }
+        } finally {
+            batch.forEach(message -> message.setClaimToken(null));
+            outboxMessageRepository.saveAll(batch);
+        }
+
+        log.info("Outbox batch dispatched: {} message(s)", batch.size());
+        return due.size();
+    }
+
+    public long countPendingMessages() {
+        return outboxMessageRepository.countByStatus(OutboxMessage.OutboxStatus.PENDING);
+    }
+
+    private Transport connect() throws MessagingException {
+        String protocol = mailSender.getProtocol() != null ? mailSender.getProtocol() : "smtp";
+        Transport transport = mailSender.getSession().getTransport(protocol);
+        transport.connect(mailSender.getHost(), mailSender.getPort(),
+                mailSender.getUsername(), mailSender.getPassword());
+        return transport;
+    }
+
+    private MimeMessage toMimeMessage(OutboxMessage message, String from) throws MessagingException {
+        MimeMessage mimeMessage = new MimeMessage(mailSender.getSession());
+        mimeMessage.setFrom(new InternetAddress(from));
+        mimeMessage.setRecipients(Message.RecipientType.TO, InternetAddress.parse(message.getRecipient()));
+        mimeMessage.setSubject(message.getSubject(), "UTF-8");
+        mimeMessage.setText(message.getBody(), "UTF-8");
+        mimeMessage.setSentDate(new Date());
+        mimeMessage.saveChanges();
+        return mimeMessage;
+    }
+
+    private void markSent(OutboxMessage message) {
+        message.setStatus(OutboxMessage.OutboxStatus.SENT);
+        message.setSentAt(LocalDateTime.now());
+        message.setAttempts(message.getAttempts() + 1);
+        message.setLastError(null);
+    }
+
+    private void markFailed(OutboxMessage message, Exception error) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(error.getMessage());
+
+        if (attempts >= MAX_ATTEMPTS) {
+            message.setStatus(OutboxMessage.OutboxStatus.FAILED);
+            log.error("Giving up on outbox message {} to {} after {} attempts",
+                    message.getId(), message.getRecipient(), attempts);
+        } else {
+            long delay = Math.min(MAX_RETRY_SECONDS, BASE_RETRY_SECONDS << (attempts - 1));
+            message.setNextAttemptAt(LocalDateTime.now().plusSeconds(delay));
+        }
+    }
+
+    // Simple pacing limiter: at most one message per minSendIntervalNanos
+    private long awaitSendSlot(long nextSendAt) {
+        long wait = nextSendAt - System.nanoTime();
+        if (wait > 0) {
+            LockSupport.parkNanos(wait);
+        }
+        return Math.max(nextSendAt, System.nanoTime()) + minSendIntervalNanos;
+    }
+}
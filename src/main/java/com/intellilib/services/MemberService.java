@@ -94,6 +94,10 @@ public class MemberService {
         return memberRepository.findByEmail(email);
     }
 
+    public Optional<Member> getMemberForUser(Long userId) {
+        return memberRepository.findByUserId(userId);
+    }
+
     public Optional<Member> getMemberByPhone(String phone) {
         return memberRepository.findByPhone(phone);
     }
@@ -0,0 +1,204 @@
+package com.intellilib.services;
+
+import com.intellilib.config.ServiceMetricsAspect;
+import com.intellilib.diagnostics.FxStallDetector;
+import com.intellilib.util.SearchPipeline;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Read side of the Micrometer registry: per-method timing tables and gauge values for the
+ * metrics panel, and a Prometheus text file rewritten on a fixed delay for scrapers that
+ * cannot reach the desktop app (node_exporter's textfile collector). The headless server
+ * exposes the same registry at /actuator/prometheus.
+ */
+@Service
+@Slf4j
+public class MetricsService {
+
+    private static final String REPOSITORY_METRIC = "spring.data.repository.invocations";
+    private static final List<String> GAUGE_PREFIXES = List.of(
+            "intellilib.executor", "intellilib.cache", "intellilib.outbox", "intellilib.holds",
+            "intellilib.inventory", "hikaricp.connections", "jvm.threads.live", "process.cpu.usage");
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<PrometheusMeterRegistry> prometheusRegistry;
+    private final String metricsFile;
+
+    public MetricsService(MeterRegistry meterRegistry,
+                         ObjectProvider<PrometheusMeterRegistry> prometheusRegistry,
+                         @Value("${intellilib.metrics.file:}") String metricsFile) {
+        this.meterRegistry = meterRegistry;
+        this.prometheusRegistry = prometheusRegistry;
+        this.metricsFile = metricsFile;
+    }
+
+    public List<TimingStatistics> getServiceTimings() {
+        return timings(ServiceMetricsAspect.METRIC, "service", "method", "exception", "none");
+    }
+
+    public List<TimingStatistics> getRepositoryTimings() {
+        return timings(REPOSITORY_METRIC, "repository", "method", "state", "SUCCESS");
+    }
+
+    /**
+     * FX thread stalls per screen and handler; calls is the number of stalls
+     */
+    public List<TimingStatistics> getFxStalls() {
+        return timings(FxStallDetector.METRIC, "screen", "handler", null, null);
+    }
+
+    /**
+     * Filter field searches per pipeline; errors are the superseded and failed queries
+     */
+    public List<TimingStatistics> getSearchTimings() {
+        return timings(SearchPipeline.METRIC, "pipeline", null, "outcome", "delivered");
+    }
+
+    /**
+     * Current value of every pool, queue and cache gauge, and of the matching counters
+     */
+    public List<GaugeValue> getGauges() {
+        List<GaugeValue> values = new ArrayList<>();
+        for (Meter meter : meterRegistry.getMeters()) {
+            String name = meter.getId().getName();
+            if (meter instanceof Timer || GAUGE_PREFIXES.stream().noneMatch(name::startsWith)) {
+                continue;
+            }
+            String tags = meter.getId().getTags().stream()
+                    .filter(tag -> !tag.getKey().equals("application"))
+                    .map(tag -> tag.getKey() + "=" + tag.getValue())
+                    .collect(Collectors.joining(", "));
+            meter.measure().forEach(measurement -> values.add(GaugeValue.builder()
+                    .name(tags.isEmpty() ? name : name + " {" + tags + "}")
+                    .value(measurement.getValue())
+                    .build()));
+        }
+        values.sort(Comparator.comparing(GaugeValue::getName));
+        return values;
+    }
+
+    public String getMetricsFile() {
+        return metricsFile;
+    }
+
+    /**
+     * Rewrite the Prometheus text file; written next to the target and moved over it, so a
+     * scraper never reads half a file
+     */
+    @Scheduled(fixedDelayString = "${intellilib.metrics.file-interval-ms:15000}",
+               initialDelayString = "${intellilib.metrics.file-interval-ms:15000}")
+    public void writePrometheusFile() {
+        PrometheusMeterRegistry registry = prometheusRegistry.getIfAvailable();
+        if (registry == null || metricsFile == null || metricsFile.isBlank()) {
+            return;
+        }
+
+        Path target = Path.of(metricsFile).toAbsolutePath();
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            Files.writeString(temp, registry.scrape(), StandardCharsets.UTF_8);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write metrics file {}: {}", target, e.getMessage());
+        }
+    }
+
+    /**
+     * One row per owner and method, summed over outcomes; percentiles come from the
+     * successful calls. Without an outcome tag every timer counts as successful, without a
+     * method tag there is one row per owner.
+     */
+    private List<TimingStatistics> timings(String metric, String ownerTag, String methodTag,
+                                           String outcomeTag, String success) {
+        Map<String, List<Timer>> byMethod = new LinkedHashMap<>();
+        for (Timer timer : meterRegistry.find(metric).timers()) {
+            String key = methodTag == null ? timer.getId().getTag(ownerTag)
+                    : timer.getId().getTag(ownerTag) + "." + timer.getId().getTag(methodTag);
+            byMethod.computeIfAbsent(key, k -> new ArrayList<>()).add(timer);
+        }
+
+        List<TimingStatistics> rows = new ArrayList<>(byMethod.size());
+        byMethod.forEach((name, timers) -> {
+            long calls = 0;
+            long errors = 0;
+            double totalMillis = 0;
+            double maxMillis = 0;
+            double p95Millis = 0;
+            for (Timer timer : timers) {
+                calls += timer.count();
+                totalMillis += timer.totalTime(TimeUnit.MILLISECONDS);
+                maxMillis = Math.max(maxMillis, timer.max(TimeUnit.MILLISECONDS));
+                if (outcomeTag == null || success.equals(timer.getId().getTag(outcomeTag))) {
+                    p95Millis = percentile(timer, 0.95);
+                } else {
+                    errors += timer.count();
+                }
+            }
+            rows.add(TimingStatistics.builder()
+                    .name(name)
+                    .calls(calls)
+                    .errors(errors)
+                    .totalMillis(totalMillis)
+                    .meanMillis(calls == 0 ? 0 : totalMillis / calls)
+                    .p95Millis(p95Millis)
+                    .maxMillis(maxMillis)
+                    .build());
+        });
+        rows.sort(Comparator.comparingDouble(TimingStatistics::getTotalMillis).reversed());
+        return rows;
+    }
+
+    private static double percentile(Timer timer, double percentile) {
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return Double.NaN;
+    }
+
+    @Data
+    @Builder
+    public static class TimingStatistics {
+        private String name;
+        private long calls;
+        private long errors;
+        private double totalMillis;
+        private double meanMillis;
+        private double p95Millis;
+        // Recent maximum, decays after a couple of minutes
+        private double maxMillis;
+    }
+
+    @Data
+    @Builder
+    public static class GaugeValue {
+        private String name;
+        private double value;
+    }
+}
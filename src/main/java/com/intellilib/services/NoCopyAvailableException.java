@@ -0,0 +1,12 @@
+package com.intellilib.services;
+
+/**
+ * A checkout refused only because every copy is out or put aside for a hold. Unlike other
+ * refusals, the member may join the hold queue for the book instead.
+ */
+public class NoCopyAvailableException extends OperationRefusedException {
+
+    public NoCopyAvailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,131 @@
+package com.intellilib.services;
+
+import com.intellilib.models.Member;
+import com.intellilib.models.OutboxMessage;
+import com.intellilib.repositories.MemberRepository;
+import com.intellilib.repositories.OutboxMessageRepository;
+import com.intellilib.util.FormatTemplate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Merges the queued notification items of each member into a single digest mail per window.
+ * A member with five overdue books gets one mail listing all five instead of five mails.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationDigestService {
+
+    private static final FormatTemplate GREETING = FormatTemplate.compile("Dear %s,\n\n");
+    private static final FormatTemplate FINES_DUE = FormatTemplate.compile(
+            "You have accumulated fines of $%.2f for overdue books.\n\n");
+    private static final FormatTemplate DIGEST_SUBJECT = FormatTemplate.compile("Library Notifications (%d updates)");
+    private static final String FOOTER = "\nThank you,\nLibrary Management System";
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final MemberRepository memberRepository;
+    private final FineService fineService;
+
+    /**
+     * Scheduled digest, one run per window
+     */
+    @Scheduled(fixedDelayString = "${intellilib.mail.digest-window-ms:1800000}",
+               initialDelayString = "${intellilib.mail.digest-window-ms:1800000}")
+    @Transactional
+    public void runScheduledDigest() {
+        // Wait for the nightly fine run to finish so its warnings land in one digest
+        if (fineService.isFineJobRunning()) {
+            log.info("Fine calculation still running, postponing notification digest");
+            return;
+        }
+        buildDigests(LocalDateTime.now());
+    }
+
+    /**
+     * Turn every item queued up to the cutoff into one PENDING digest per recipient
+     */
+    @Transactional
+    public int buildDigests(LocalDateTime cutoff) {
+        List<OutboxMessage> items = outboxMessageRepository.findQueuedForDigest(cutoff);
+        if (items.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<OutboxMessage>> byRecipient = items.stream()
+                .collect(Collectors.groupingBy(OutboxMessage::getRecipient, LinkedHashMap::new, Collectors.toList()));
+
+        Map<Long, Member> members = memberRepository.findAllById(items.stream()
+                        .map(OutboxMessage::getMemberId)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Member::getId, Function.identity()));
+
+        List<OutboxMessage> digests = new ArrayList<>(byRecipient.size());
+        for (List<OutboxMessage> memberItems : byRecipient.values()) {
+            OutboxMessage first = memberItems.get(0);
+            digests.add(buildDigest(first.getMemberId(), first.getRecipient(),
+                    latestPerReference(memberItems), members.get(first.getMemberId())));
+            memberItems.forEach(item -> item.setStatus(OutboxMessage.OutboxStatus.COALESCED));
+        }
+
+        outboxMessageRepository.saveAll(digests);
+        outboxMessageRepository.saveAll(items);
+        log.info("Coalesced {} notification(s) into {} digest(s)", items.size(), digests.size());
+        return digests.size();
+    }
+
+    private OutboxMessage buildDigest(Long memberId, String recipient, Collection<OutboxMessage> items, Member member) {
+        StringBuilder body = new StringBuilder(256 * items.size());
+        GREETING.renderTo(body, member != null ? member.getFullName() : recipient);
+
+        boolean hasFineWarning = items.stream()
+                .anyMatch(item -> item.getType() == OutboxMessage.NotificationType.FINE_WARNING);
+        if (hasFineWarning && member != null && member.getCurrentFinesDue() != null) {
+            FINES_DUE.renderTo(body, member.getCurrentFinesDue());
+        }
+
+        for (OutboxMessage item : items) {
+            body.append(item.getBody()).append('\n');
+        }
+        body.append(FOOTER);
+
+        String subject = items.size() == 1
+                ? items.iterator().next().getSubject()
+                : DIGEST_SUBJECT.render(items.size());
+
+        return OutboxMessage.builder()
+                .memberId(memberId)
+                .type(OutboxMessage.NotificationType.DIGEST)
+                .recipient(recipient)
+                .subject(subject)
+                .body(body.toString())
+                .build();
+    }
+
+    // Newer items replace older ones about the same thing, e.g. yesterday's fine for the same borrow
+    private Collection<OutboxMessage> latestPerReference(List<OutboxMessage> items) {
+        Map<String, OutboxMessage> latest = new LinkedHashMap<>();
+        for (OutboxMessage item : items) {
+            String key = item.getReferenceKey() != null ? item.getReferenceKey() : "item:" + item.getId();
+            latest.remove(key);
+            latest.put(key, item);
+        }
+        return latest.values();
+    }
+}
@@ -1,142 +1,145 @@
 package com.intellilib.services;
 
 import com.intellilib.models.*;
+import com.intellilib.repositories.OutboxMessageRepository;
+import com.intellilib.util.FormatTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import com.intellilib.repositories.SystemSettingsRepository;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Notifications are written to the outbox in the caller's transaction, so a mail only
+ * goes out if the fine, ban or payment that caused it was committed. A failed write fails
+ * the caller's transaction too, rather than committing the change without its notice.
+ * Each call queues one digest item; {@link NotificationDigestService} merges a member's items
+ * into one mail per window and {@link MailDispatcherService} delivers it.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Transactional
 public class NotificationService {
+
+    private static final FormatTemplate FINE_WARNING_ITEM = FormatTemplate.compile(
+            "Overdue book: %s\n" +
+            "  Due Date: %s\n" +
+            "  Days Overdue: %d\n" +
+            "  Current Fine: $%.2f\n" +
+            "  Please return the book and pay your fines to avoid restrictions.\n");
+
+    private static final FormatTemplate BAN_ITEM = FormatTemplate.compile(
+            "Your library membership has been suspended due to excessive overdue items.\n" +
+            "  Reason: %s\n" +
+            "  Book: %s (Overdue by %d days)\n" +
+            "  Ban Period: %s to %s\n" +
+            "  Please contact the library to resolve this issue.\n");
+
+    private static final FormatTemplate PAYMENT_RECEIPT_ITEM = FormatTemplate.compile(
+            "Payment Receipt\n" +
+            "  Receipt #: %s\n" +
+            "  Date: %s\n" +
+            "  Amount: $%.2f\n" +
+            "  Payment Method: %s\n" +
+            "  Reference: %s\n" +
+            "  Thank you for your payment.\n");
+
+    private static final FormatTemplate HOLD_READY_ITEM = FormatTemplate.compile(
+            "Your hold is ready for pickup: %s\n" +
+            "  Please collect it at the desk before %s.\n");
+
+    private static final FormatTemplate HOLD_EXPIRED_ITEM = FormatTemplate.compile(
+            "Your hold has expired: %s\n" +
+            "  The copy was not collected in time and has been passed on.\n");
+
+    private static final String BAN_LIFTED_ITEM =
+            "Your library membership has been restored.\n" +
+            "  You can now borrow books again.\n";
+
+    private final OutboxMessageRepository outboxMessageRepository;
     
-    private final JavaMailSender mailSender;
-    private final SystemSettingsRepository systemSettingsRepository;
-    
-    @Async
     public void sendFineWarningNotification(Member member, Borrow borrow) {
-        try {
-            String subject = "Library Fine Warning";
-            String message = String.format(
-                "Dear %s,\n\n" +
-                "You have accumulated fines of $%.2f for overdue books.\n" +
-                "Book: %s\n" +
-                "Due Date: %s\n" +
-                "Days Overdue: %d\n" +
-                "Current Fine: $%.2f\n\n" +
-                "Please return the book and pay your fines to avoid restrictions.\n\n" +
-                "Thank you,\nLibrary Management System",
-                member.getFullName(),
-                member.getCurrentFinesDue(),
-                borrow.getBook().getTitle(),
-                borrow.getDueDate(),
-                borrow.getDaysOverdue(),
-                borrow.getFineAmount()
-            );
-            
-            sendEmail(member.getEmail(), subject, message);
-            log.info("Fine warning sent to {}", member.getEmail());
-        } catch (Exception e) {
-            log.error("Failed to send fine warning: {}", e.getMessage());
-        }
+        String item = FINE_WARNING_ITEM.render(
+            borrow.getBook().getTitle(),
+            borrow.getDueDate(),
+            borrow.getDaysOverdue(),
+            borrow.getFineAmount()
+        );
+        
+        // One warning per borrow per digest, the latest amount wins
+        enqueue(member, OutboxMessage.NotificationType.FINE_WARNING, "Library Fine Warning",
+                item, "borrow:" + borrow.getId());
+        log.debug("Fine warning queued for {}", member.getEmail());
     }
     
-    @Async
     public void sendBanNotification(Member member, Borrow borrow) {
-        try {
-            String subject = "Library Membership Suspended";
-            String message = String.format(
-                "Dear %s,\n\n" +
-                "Your library membership has been suspended due to excessive overdue items.\n" +
-                "Reason: %s\n" +
-                "Book: %s (Overdue by %d days)\n" +
-                "Ban Period: %s to %s\n\n" +
-                "Please contact the library to resolve this issue.\n\n" +
-                "Thank you,\nLibrary Management System",
-                member.getFullName(),
-                member.getBanReason(),
-                borrow.getBook().getTitle(),
-                borrow.getDaysOverdue(),
-                member.getBanStartDate(),
-                member.getBanEndDate()
-            );
-            
-            sendEmail(member.getEmail(), subject, message);
-            log.info("Ban notification sent to {}", member.getEmail());
-        } catch (Exception e) {
-            log.error("Failed to send ban notification: {}", e.getMessage());
-        }
+        String item = BAN_ITEM.render(
+            member.getBanReason(),
+            borrow.getBook().getTitle(),
+            borrow.getDaysOverdue(),
+            member.getBanStartDate(),
+            member.getBanEndDate()
+        );
+        
+        enqueue(member, OutboxMessage.NotificationType.BAN, "Library Membership Suspended",
+                item, "membership");
+        log.info("Ban notification queued for {}", member.getEmail());
     }
     
-    @Async
     public void sendPaymentReceipt(Member member, FineTransaction transaction) {
-        try {
-            String subject = "Fine Payment Receipt";
-            String message = String.format(
-                "Dear %s,\n\n" +
-                "Payment Receipt\n" +
-                "Receipt #: %s\n" +
-                "Date: %s\n" +
-                "Amount: $%.2f\n" +
-                "Payment Method: %s\n" +
-                "Reference: %s\n\n" +
-                "Thank you for your payment.\n\n" +
-                "Library Management System",
-                member.getFullName(),
-                transaction.getReceiptNumber(),
-                transaction.getTransactionDate(),
-                transaction.getAmount(),
-                transaction.getPaymentMethod(),
-                transaction.getPaymentReference()
-            );
-            
-            sendEmail(member.getEmail(), subject, message);
-            log.info("Payment receipt sent to {}", member.getEmail());
-        } catch (Exception e) {
-            log.error("Failed to send payment receipt: {}", e.getMessage());
-        }
+        String item = PAYMENT_RECEIPT_ITEM.render(
+            transaction.getReceiptNumber(),
+            transaction.getTransactionDate(),
+            transaction.getAmount(),
+            transaction.getPaymentMethod(),
+            transaction.getPaymentReference()
+        );
+        
+        enqueue(member, OutboxMessage.NotificationType.PAYMENT_RECEIPT, "Fine Payment Receipt",
+                item, "receipt:" + transaction.getReceiptNumber());
+        log.info("Payment receipt queued for {}", member.getEmail());
     }
     
-    @Async
     public void sendBanLiftedNotification(Member member) {
-        try {
-            String subject = "Library Membership Restored";
-            String message = String.format(
-                "Dear %s,\n\n" +
-                "Your library membership has been restored.\n" +
-                "You can now borrow books again.\n\n" +
-                "Thank you,\nLibrary Management System",
-                member.getFullName()
-            );
-            
-            sendEmail(member.getEmail(), subject, message);
-            log.info("Ban lifted notification sent to {}", member.getEmail());
-        } catch (Exception e) {
-            log.error("Failed to send ban lifted notification: {}", e.getMessage());
-        }
+        // Shares the ban's reference key, so a ban lifted within the same window replaces the notice
+        enqueue(member, OutboxMessage.NotificationType.BAN_LIFTED, "Library Membership Restored",
+                BAN_LIFTED_ITEM, "membership");
+        log.info("Ban lifted notification queued for {}", member.getEmail());
+    }
+    
+    public void sendHoldReadyNotification(Member member, Hold hold) {
+        String item = HOLD_READY_ITEM.render(
+            hold.getBook().getTitle(),
+            hold.getExpiresAt().toLocalDate()
+        );
+        
+        // Ready and expired notices of one hold replace each other within a digest
+        enqueue(member, OutboxMessage.NotificationType.HOLD_READY, "Hold Ready for Pickup",
+                item, "hold:" + hold.getId());
+        log.debug("Hold ready notification queued for {}", member.getEmail());
     }
     
-    private void sendEmail(String to, String subject, String text) {
+    public void sendHoldExpiredNotification(Member member, Hold hold) {
+        enqueue(member, OutboxMessage.NotificationType.HOLD_EXPIRED, "Hold Expired",
+                HOLD_EXPIRED_ITEM.render(hold.getBook().getTitle()), "hold:" + hold.getId());
+        log.debug("Hold expired notification queued for {}", member.getEmail());
+    }
+    
+    private void enqueue(Member member, OutboxMessage.NotificationType type, String subject,
+                         String item, String referenceKey) {
+        String to = member.getEmail();
         if (to == null || to.isEmpty()) {
             return;
         }
         
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject(subject);
-        message.setText(text);
-        message.setFrom(getFromEmail());
-        
-        mailSender.send(message);
-    }
-    
-    private String getFromEmail() {
-        return systemSettingsRepository.findByKey("EMAIL_FROM")
-                .map(SystemSettings::getValue)
-                .orElse("noreply@library.com");
+        outboxMessageRepository.save(OutboxMessage.builder()
+                .memberId(member.getId())
+                .type(type)
+                .recipient(to)
+                .subject(subject)
+                .body(item)
+                .referenceKey(referenceKey)
+                .status(OutboxMessage.OutboxStatus.QUEUED)
+                .build());
     }
-}
\ No newline at end of file
+}
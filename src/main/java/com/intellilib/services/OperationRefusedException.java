@@ -0,0 +1,13 @@
+package com.intellilib.services;
+
+/**
+ * A request the library rules turn down, such as a checkout with no copy left or a second
+ * payment of a fine. The message is meant for the user; anything else a service throws is
+ * a fault.
+ */
+public class OperationRefusedException extends RuntimeException {
+
+    public OperationRefusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,188 @@
+package com.intellilib.services;
+
+import com.intellilib.models.SystemSettings;
+import com.intellilib.repositories.SystemSettingsRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Keeps system_settings in memory as an immutable, already-parsed snapshot.
+ * Readers get the current snapshot without touching the database; updates go through
+ * {@link #updateSetting} which saves, swaps the snapshot and notifies listeners.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SystemSettingsService {
+
+    public static final String FINE_PER_DAY = "FINE_PER_DAY";
+    public static final String MAX_OVERDUE_DAYS = "MAX_OVERDUE_DAYS";
+    public static final String CREDIT_LIMIT = "CREDIT_LIMIT";
+    public static final String EMAIL_FROM = "EMAIL_FROM";
+    public static final String HOLD_PICKUP_DAYS = "HOLD_PICKUP_DAYS";
+
+    private static final double DEFAULT_FINE_PER_DAY = 2.0;
+    private static final int DEFAULT_MAX_OVERDUE_DAYS = 30;
+    private static final double DEFAULT_CREDIT_LIMIT = 50.0;
+    private static final String DEFAULT_EMAIL_FROM = "noreply@library.com";
+
+    private final SystemSettingsRepository systemSettingsRepository;
+
+    private final AtomicReference<Settings> current = new AtomicReference<>(Settings.from(List.of()));
+    private final List<SettingsListener> listeners = new CopyOnWriteArrayList<>();
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    /**
+     * The current settings, a plain volatile read
+     */
+    public Settings current() {
+        return current.get();
+    }
+
+    public void addListener(SettingsListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(SettingsListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Save a setting, creating it if needed, then publish the new snapshot
+     */
+    public Settings updateSetting(String key, String value) {
+        SystemSettings setting = systemSettingsRepository.findByKey(key)
+                .orElseGet(() -> new SystemSettings(key, value));
+        if (Boolean.FALSE.equals(setting.getIsEditable())) {
+            throw new RuntimeException("Setting " + key + " is not editable");
+        }
+        setting.setValue(value);
+        setting.setLastModified(LocalDateTime.now());
+        systemSettingsRepository.save(setting);
+        return refresh();
+    }
+
+    /**
+     * Reload every setting from the database, e.g. after an external edit
+     */
+    public synchronized Settings refresh() {
+        Settings next = Settings.from(systemSettingsRepository.findAll());
+        Settings previous = current.getAndSet(next);
+
+        Set<String> changedKeys = previous.changedKeys(next);
+        if (!changedKeys.isEmpty()) {
+            log.info("System settings changed: {}", changedKeys);
+            for (SettingsListener listener : listeners) {
+                try {
+                    listener.onSettingsChanged(previous, next, changedKeys);
+                } catch (Exception e) {
+                    log.error("Settings listener failed: {}", e.getMessage());
+                }
+            }
+        }
+        return next;
+    }
+
+    @FunctionalInterface
+    public interface SettingsListener {
+        void onSettingsChanged(Settings previous, Settings current, Set<String> changedKeys);
+    }
+
+    /**
+     * Immutable snapshot. The settings used on hot paths are parsed once into fields,
+     * everything else is reachable through the typed getters.
+     */
+    public static final class Settings {
+
+        private final Map<String, SystemSettings> byKey;
+        private final double finePerDay;
+        private final int maxOverdueDays;
+        private final double creditLimit;
+        private final String emailFrom;
+
+        private Settings(Map<String, SystemSettings> byKey) {
+            this.byKey = byKey;
+            this.finePerDay = typed(FINE_PER_DAY, SystemSettings::getDoubleValue, DEFAULT_FINE_PER_DAY);
+            this.maxOverdueDays = typed(MAX_OVERDUE_DAYS, SystemSettings::getIntValue, DEFAULT_MAX_OVERDUE_DAYS);
+            this.creditLimit = typed(CREDIT_LIMIT, SystemSettings::getDoubleValue, DEFAULT_CREDIT_LIMIT);
+            this.emailFrom = typed(EMAIL_FROM, SystemSettings::getValue, DEFAULT_EMAIL_FROM);
+        }
+
+        static Settings from(List<SystemSettings> rows) {
+            Map<String, SystemSettings> byKey = new HashMap<>();
+            for (SystemSettings row : rows) {
+                // Detached copies, so later changes to managed entities cannot leak into the snapshot
+                SystemSettings copy = new SystemSettings(row.getKey(), row.getValue(), row.getDescription());
+                copy.setType(row.getType());
+                copy.setCategory(row.getCategory());
+                byKey.put(row.getKey(), copy);
+            }
+            return new Settings(Map.copyOf(byKey));
+        }
+
+        public double finePerDay() {
+            return finePerDay;
+        }
+
+        public int maxOverdueDays() {
+            return maxOverdueDays;
+        }
+
+        public double creditLimit() {
+            return creditLimit;
+        }
+
+        public String emailFrom() {
+            return emailFrom;
+        }
+
+        public String getString(String key, String defaultValue) {
+            return typed(key, SystemSettings::getValue, defaultValue);
+        }
+
+        public int getInt(String key, int defaultValue) {
+            return typed(key, SystemSettings::getIntValue, defaultValue);
+        }
+
+        public double getDouble(String key, double defaultValue) {
+            return typed(key, SystemSettings::getDoubleValue, defaultValue);
+        }
+
+        public boolean getBoolean(String key, boolean defaultValue) {
+            return typed(key, SystemSettings::getBooleanValue, defaultValue);
+        }
+
+        public boolean contains(String key) {
+            return byKey.containsKey(key);
+        }
+
+        private <T> T typed(String key, Function<SystemSettings, T> parser, T defaultValue) {
+            SystemSettings setting = byKey.get(key);
+            return setting != null ? parser.apply(setting) : defaultValue;
+        }
+
+        private Set<String> changedKeys(Settings other) {
+            Set<String> keys = new HashSet<>(byKey.keySet());
+            keys.addAll(other.byKey.keySet());
+            keys.removeIf(key -> Objects.equals(getString(key, null), other.getString(key, null)));
+            return keys;
+        }
+    }
+}
@@ -6,7 +6,10 @@ import org.springframework.stereotype.Component;
 @Component
 public class SessionManager {
     
-    private User currentUser;
+    private volatile User currentUser;
+    
+    // User captured when a background task was submitted, see wrap()
+    private final ThreadLocal<User> taskUser = new ThreadLocal<>();
     
     public void login(User user) {
         this.currentUser = user;
@@ -20,15 +23,45 @@ public class SessionManager {
     }
     
     public User getCurrentUser() {
-        return currentUser;
+        User user = taskUser.get();
+        return user != null ? user : currentUser;
     }
     
     public boolean isLoggedIn() {
-        return currentUser != null;
+        return getCurrentUser() != null;
     }
     
     public boolean hasRole(User.UserRole role) {
-        return currentUser != null && currentUser.getRole() == role;
+        User user = getCurrentUser();
+        return user != null && user.getRole() == role;
+    }
+    
+    /**
+     * Bind the user logged in at submission time to the task, so it still acts
+     * for that user if the session changes while it runs.
+     */
+    public Runnable wrap(Runnable task) {
+        User captured = getCurrentUser();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            User previous = taskUser.get();
+            taskUser.set(captured);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+    
+    private void restore(User previous) {
+        if (previous == null) {
+            taskUser.remove();
+        } else {
+            taskUser.set(previous);
+        }
     }
     
     public boolean isAdmin() {
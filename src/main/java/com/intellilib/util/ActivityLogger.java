@@ -5,6 +5,8 @@ import com.intellilib.models.User;
 import com.intellilib.services.ActivityService;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class ActivityLogger {
     
@@ -72,6 +74,25 @@ public class ActivityLogger {
             String.format("Returned book: %s", bookTitle));
     }
     
+    // A batch of one is logged like a single checkout
+    public void logBooksBorrowed(User user, String memberName, List<String> bookTitles) {
+        if (bookTitles.size() == 1) {
+            logBookBorrow(user, bookTitles.get(0));
+            return;
+        }
+        activityService.logActivity(user, "BOOKS_BORROWED",
+            String.format("Borrowed %d books for %s: %s", bookTitles.size(), memberName, String.join(", ", bookTitles)));
+    }
+    
+    public void logBooksReturned(User user, String memberNames, List<String> bookTitles) {
+        if (bookTitles.size() == 1) {
+            logBookReturn(user, bookTitles.get(0));
+            return;
+        }
+        activityService.logActivity(user, "BOOKS_RETURNED",
+            String.format("Returned %d books for %s: %s", bookTitles.size(), memberNames, String.join(", ", bookTitles)));
+    }
+    
     public void logBookAdd(User user, String bookTitle) {
         activityService.logActivity(user, "BOOK_ADDED", 
             String.format("Added new book: %s", bookTitle));
@@ -123,6 +144,11 @@ public class ActivityLogger {
         activityService.logActivity(user, "DATABASE_BACKUP", 
             "Database backup created");
     }
+
+    public void logDatabaseBackupFailed(User user, String reason) {
+        activityService.logActivity(user, "DATABASE_BACKUP_FAILED",
+            String.format("Scheduled database backup failed: %s", reason));
+    }
     
     public void logFinePayment(User user, String memberName, double amount, String paymentMethod, String reference, String notes) {
         activityService.logActivity(user, "FINE_PAID",
@@ -0,0 +1,47 @@
+package com.intellilib.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs in-memory side effects once the surrounding transaction is decided, so caches and
+ * timers never get ahead of what was actually committed.
+ */
+public final class AfterTransaction {
+
+    private AfterTransaction() {
+    }
+
+    /**
+     * Run after a commit; outside a transaction the change is already committed, so run now
+     */
+    public static void commit(Runnable action) {
+        register(action, null);
+    }
+
+    /**
+     * Run after a rollback; outside a transaction there is nothing to roll back
+     */
+    public static void rollback(Runnable action) {
+        register(null, action);
+    }
+
+    private static void register(Runnable onCommit, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (onCommit != null) {
+                onCommit.run();
+            }
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                Runnable action = status == STATUS_COMMITTED ? onCommit : onRollback;
+                if (action != null) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
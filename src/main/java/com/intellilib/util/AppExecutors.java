@@ -0,0 +1,129 @@
+package com.intellilib.util;
+
+import com.intellilib.session.SessionManager;
+import jakarta.annotation.PreDestroy;
+import javafx.application.Platform;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Application-wide executors. Use {@link #io()} for blocking work (database, files, network)
+ * and {@link #cpu()} for computation. Tasks see the submitting user through {@link SessionManager}.
+ * Both are shut down from MainApp.stop() before the Spring context closes.
+ */
+@Component
+@Slf4j
+public class AppExecutors {
+
+    private final InstrumentedExecutor io;
+    private final InstrumentedExecutor cpu;
+    private final int cpuParallelism;
+
+    public AppExecutors(SessionManager sessionManager,
+                        @Value("${intellilib.executor.cpu.threads:0}") int cpuThreads,
+                        @Value("${intellilib.executor.cpu.queue-capacity:256}") int cpuQueueCapacity) {
+        this.cpuParallelism = cpuThreads > 0
+                ? cpuThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+        // One virtual thread per task, blocking is cheap
+        this.io = new InstrumentedExecutor("io",
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("io-", 0).factory()),
+                sessionManager::wrap);
+
+        // Bounded pool and queue; when full a background submitter runs the task itself, which throttles producers
+        ThreadPoolExecutor cpuPool = new ThreadPoolExecutor(cpuParallelism, cpuParallelism,
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(cpuQueueCapacity),
+                daemonThreadFactory("cpu-"), new CallerRunsOffFxThreadPolicy());
+        this.cpu = new InstrumentedExecutor("cpu", cpuPool, sessionManager::wrap);
+    }
+
+    public InstrumentedExecutor io() {
+        return io;
+    }
+
+    public InstrumentedExecutor cpu() {
+        return cpu;
+    }
+
+    public int getCpuParallelism() {
+        return cpuParallelism;
+    }
+
+    public List<InstrumentedExecutor.Stats> getStats() {
+        return List.of(io.getStats(), cpu.getStats());
+    }
+
+    /**
+     * Stop accepting work, give running tasks the timeout to finish, then interrupt them
+     */
+    public void shutdown(Duration timeout) {
+        if (io.isShutdown() && cpu.isShutdown()) {
+            return;
+        }
+        io.shutdown();
+        cpu.shutdown();
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            for (InstrumentedExecutor executor : List.of(io, cpu)) {
+                long remaining = deadline - System.nanoTime();
+                if (!executor.awaitTermination(Math.max(0, remaining), TimeUnit.NANOSECONDS)) {
+                    log.warn("Executor {} did not finish in time, interrupting remaining tasks", executor.getName());
+                    executor.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            io.shutdownNow();
+            cpu.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        getStats().forEach(stats -> log.info("Executor stats {}", stats));
+    }
+
+    @PreDestroy
+    public void close() {
+        shutdown(Duration.ofSeconds(2));
+    }
+
+    /**
+     * Caller-runs throttling for background producers. The FX thread must never render a page itself,
+     * and tasks arriving after shutdown must fail rather than vanish, so both are rejected and the
+     * submitter completes its future exceptionally.
+     */
+    private static final class CallerRunsOffFxThreadPolicy implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("cpu executor is shut down");
+            }
+            if (Platform.isFxApplicationThread()) {
+                throw new RejectedExecutionException("cpu queue is full");
+            }
+            task.run();
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package com.intellilib.util;
 
+import com.intellilib.diagnostics.SceneLoadEvent;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.function.Consumer;
 
 @Component
 public class FXMLLoaderUtil {
@@ -20,21 +22,7 @@ public class FXMLLoaderUtil {
     }
     
     public static Scene loadScene(String fxmlPath) throws IOException {
-        URL fxmlUrl = FXMLLoaderUtil.class.getResource(fxmlPath);
-        
-        if (fxmlUrl == null) {
-            throw new IOException("FXML file not found: " + fxmlPath);
-        }
-        
-        FXMLLoader loader = new FXMLLoader(fxmlUrl);
-        
-        // Use Spring to create controllers
-        if (applicationContext != null) {
-            loader.setControllerFactory(applicationContext::getBean);
-        }
-        
-        Parent root = loader.load();
-        return new Scene(root);
+        return new Scene(load(fxmlPath).getRoot());
     }
     
     public static Stage loadStage(String fxmlPath, String title, boolean maximized) throws IOException {
@@ -50,20 +38,46 @@ public class FXMLLoaderUtil {
         return stage;
     }
     
+    public static <T> Stage loadStage(String fxmlPath, String title, boolean maximized,
+                                      Consumer<T> controllerSetup) throws IOException {
+        FXMLLoader loader = load(fxmlPath);
+        Stage stage = new Stage();
+        stage.setScene(new Scene(loader.getRoot()));
+        stage.setTitle(title);
+        
+        if (maximized) {
+            stage.setMaximized(true);
+        }
+        
+        // Controller is configured once its scene is attached to the stage
+        controllerSetup.accept(loader.getController());
+        return stage;
+    }
+    
     public static <T> T loadController(String fxmlPath) throws IOException {
+        return load(fxmlPath).getController();
+    }
+    
+    /**
+     * Parse an FXML file with Spring-created controllers, recorded as a SceneLoadEvent
+     */
+    static FXMLLoader load(String fxmlPath) throws IOException {
         URL fxmlUrl = FXMLLoaderUtil.class.getResource(fxmlPath);
         
         if (fxmlUrl == null) {
             throw new IOException("FXML file not found: " + fxmlPath);
         }
         
+        SceneLoadEvent event = SceneLoadEvent.start(fxmlPath);
         FXMLLoader loader = new FXMLLoader(fxmlUrl);
         
+        // Use Spring to create controllers
         if (applicationContext != null) {
             loader.setControllerFactory(applicationContext::getBean);
         }
         
-        loader.load();
-        return loader.getController();
+        Parent root = loader.load();
+        event.complete(root);
+        return loader;
     }
 }
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.intellilib.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A {@code String.format} template parsed once and rendered many times.
+ * Supports the subset used by the mail templates: {@code %s}, {@code %d}, {@code %.Nf}, {@code %n} and {@code %%}.
+ * Output matches {@code String.format} in the default locale for these conversions.
+ */
+public final class FormatTemplate {
+
+    private final String pattern;
+    private final Segment[] segments;
+    private final int argumentCount;
+    private final int estimatedLength;
+
+    private FormatTemplate(String pattern, Segment[] segments, int argumentCount) {
+        this.pattern = pattern;
+        this.segments = segments;
+        this.argumentCount = argumentCount;
+        this.estimatedLength = pattern.length() + argumentCount * 16;
+    }
+
+    public static FormatTemplate compile(String pattern) {
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int argumentIndex = 0;
+
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            if (i + 1 >= pattern.length()) {
+                throw new IllegalArgumentException("Dangling % at end of template: " + pattern);
+            }
+
+            char next = pattern.charAt(++i);
+            if (next == '%') {
+                literal.append('%');
+                continue;
+            }
+            if (next == 'n') {
+                literal.append(System.lineSeparator());
+                continue;
+            }
+
+            if (!literal.isEmpty()) {
+                segments.add(new Literal(literal.toString()));
+                literal.setLength(0);
+            }
+
+            int index = argumentIndex++;
+            switch (next) {
+                case 's' -> segments.add(new StringArgument(index));
+                case 'd' -> segments.add(new IntegerArgument(index));
+                case '.' -> {
+                    int start = i + 1;
+                    while (i + 1 < pattern.length() && Character.isDigit(pattern.charAt(i + 1))) {
+                        i++;
+                    }
+                    if (start > i || i + 1 >= pattern.length() || pattern.charAt(i + 1) != 'f') {
+                        throw new IllegalArgumentException("Unsupported specifier in template: " + pattern);
+                    }
+                    int scale = Integer.parseInt(pattern.substring(start, i + 1));
+                    i++;
+                    segments.add(new FixedArgument(index, scale));
+                }
+                default -> throw new IllegalArgumentException("Unsupported specifier %" + next + " in template: " + pattern);
+            }
+        }
+
+        if (!literal.isEmpty()) {
+            segments.add(new Literal(literal.toString()));
+        }
+        return new FormatTemplate(pattern, segments.toArray(new Segment[0]), argumentIndex);
+    }
+
+    public String render(Object... args) {
+        StringBuilder out = new StringBuilder(estimatedLength);
+        renderTo(out, args);
+        return out.toString();
+    }
+
+    public void renderTo(StringBuilder out, Object... args) {
+        if (args.length < argumentCount) {
+            throw new IllegalArgumentException("Template expects " + argumentCount + " arguments, got " + args.length);
+        }
+        for (Segment segment : segments) {
+            segment.append(out, args);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    private interface Segment {
+        void append(StringBuilder out, Object[] args);
+    }
+
+    private record Literal(String text) implements Segment {
+        @Override
+        public void append(StringBuilder out, Object[] args) {
+            out.append(text);
+        }
+    }
+
+    private record StringArgument(int index) implements Segment {
+        @Override
+        public void append(StringBuilder out, Object[] args) {
+            out.append(args[index]);
+        }
+    }
+
+    private record IntegerArgument(int index) implements Segment {
+        @Override
+        public void append(StringBuilder out, Object[] args) {
+            Object value = args[index];
+            if (value != null && !(value instanceof Integer || value instanceof Long
+                    || value instanceof Short || value instanceof Byte)) {
+                throw new IllegalArgumentException("%d expects an integral value, got " + value.getClass().getSimpleName());
+            }
+            out.append(value);
+        }
+    }
+
+    private record FixedArgument(int index, int scale) implements Segment {
+        @Override
+        public void append(StringBuilder out, Object[] args) {
+            Object value = args[index];
+            if (value == null) {
+                out.append("null");
+                return;
+            }
+            if (!(value instanceof Number number)) {
+                throw new IllegalArgumentException("%f expects a number, got " + value.getClass().getSimpleName());
+            }
+
+            // String.format rounds HALF_UP and uses the locale's decimal separator without grouping
+            String digits = new BigDecimal(number.toString()).setScale(scale, RoundingMode.HALF_UP).toPlainString();
+            char separator = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT)).getDecimalSeparator();
+            out.append(separator == '.' ? digits : digits.replace('.', separator));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.intellilib.util;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.function.UnaryOperator;
+
+/**
+ * ExecutorService decorator that applies a task decorator (context propagation)
+ * and keeps submission, completion, failure, queue-wait and run-time counters.
+ */
+public class InstrumentedExecutor extends AbstractExecutorService {
+
+    private final String name;
+    private final ExecutorService delegate;
+    private final UnaryOperator<Runnable> decorator;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong totalRunNanos = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+    public InstrumentedExecutor(String name, ExecutorService delegate, UnaryOperator<Runnable> decorator) {
+        this.name = name;
+        this.delegate = delegate;
+        this.decorator = decorator;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        Runnable task = decorator.apply(command);
+        long queuedAt = System.nanoTime();
+        submitted.incrementAndGet();
+        try {
+            delegate.execute(() -> run(command, task, queuedAt));
+        } catch (RuntimeException e) {
+            submitted.decrementAndGet();
+            rejected.incrementAndGet();
+            throw e;
+        }
+    }
+
+    private void run(Runnable command, Runnable task, long queuedAt) {
+        long startedAt = System.nanoTime();
+        long waited = startedAt - queuedAt;
+        totalWaitNanos.addAndGet(waited);
+        maxWaitNanos.accumulate(waited);
+        active.incrementAndGet();
+        boolean success = false;
+        try {
+            task.run();
+            // submit() hands us a FutureTask that swallows the exception, ask it how it ended
+            success = !(command instanceof Future<?> future) || future.state() != Future.State.FAILED;
+        } finally {
+            active.decrementAndGet();
+            totalRunNanos.addAndGet(System.nanoTime() - startedAt);
+            (success ? completed : failed).incrementAndGet();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Stats getStats() {
+        long done = completed.get() + failed.get();
+        int queued = delegate instanceof ThreadPoolExecutor pool ? pool.getQueue().size() : 0;
+        return new Stats(
+                name,
+                submitted.get(),
+                completed.get(),
+                failed.get(),
+                rejected.get(),
+                active.get(),
+                queued,
+                done == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalRunNanos.get() / done),
+                done == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalWaitNanos.get() / done),
+                TimeUnit.NANOSECONDS.toMicros(maxWaitNanos.get()));
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    public record Stats(String name, long submitted, long completed, long failed, long rejected,
+                        int active, int queued, long avgRunMicros, long avgWaitMicros, long maxWaitMicros) {
+
+        @Override
+        public String toString() {
+            return String.format("%s: submitted=%d completed=%d failed=%d rejected=%d active=%d queued=%d "
+                            + "avgRun=%dus avgWait=%dus maxWait=%dus",
+                    name, submitted, completed, failed, rejected, active, queued,
+                    avgRunMicros, avgWaitMicros, maxWaitMicros);
+        }
+    }
+}
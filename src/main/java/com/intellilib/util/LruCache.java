@@ -0,0 +1,78 @@
+package com.intellilib.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Thread-safe least-recently-used cache bounded by a total weight.
+ * With the single-argument constructor every entry weighs 1, so the bound is an entry count.
+ */
+public class LruCache<K, V> {
+
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentWeight;
+
+    public LruCache(long maxEntries) {
+        this(maxEntries, value -> 1L);
+    }
+
+    public LruCache(long maxWeight, ToLongFunction<V> weigher) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("maxWeight must be positive");
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized boolean containsKey(K key) {
+        return entries.containsKey(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        V previous = entries.put(key, value);
+        if (previous != null) {
+            currentWeight -= weigher.applyAsLong(previous);
+        }
+        currentWeight += weigher.applyAsLong(value);
+        evictIfNeeded();
+    }
+
+    public synchronized V remove(K key) {
+        V removed = entries.remove(key);
+        if (removed != null) {
+            currentWeight -= weigher.applyAsLong(removed);
+        }
+        return removed;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        currentWeight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long weight() {
+        return currentWeight;
+    }
+
+    // Evict from the eldest end, but always keep the most recent entry
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<K, V>> iterator = entries.entrySet().iterator();
+        while (currentWeight > maxWeight && entries.size() > 1 && iterator.hasNext()) {
+            Map.Entry<K, V> eldest = iterator.next();
+            currentWeight -= weigher.applyAsLong(eldest.getValue());
+            iterator.remove();
+        }
+    }
+}
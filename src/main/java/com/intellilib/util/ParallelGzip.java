@@ -0,0 +1,80 @@
+package com.intellilib.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * pigz-style compressor: the input is cut into blocks that are gzipped in parallel
+ * and written as consecutive gzip members, which any gzip reader (including GZIPInputStream)
+ * decodes as a single stream.
+ */
+public final class ParallelGzip {
+
+    private static final int BLOCK_SIZE = 1024 * 1024;
+
+    private ParallelGzip() {
+    }
+
+    public static void compress(Path source, Path target, ExecutorService pool, int parallelism) throws IOException {
+        // Bound the blocks held in memory to a couple per worker
+        int maxInFlight = Math.max(2, parallelism * 2);
+        Deque<Future<byte[]>> pending = new ArrayDeque<>();
+
+        try (InputStream in = Files.newInputStream(source);
+             OutputStream out = Files.newOutputStream(target)) {
+
+            byte[] block;
+            while ((block = in.readNBytes(BLOCK_SIZE)).length > 0) {
+                byte[] input = block;
+                pending.addLast(pool.submit(() -> gzipBlock(input)));
+                if (pending.size() >= maxInFlight) {
+                    out.write(await(pending.removeFirst()));
+                }
+            }
+            while (!pending.isEmpty()) {
+                out.write(await(pending.removeFirst()));
+            }
+        } catch (IOException | RuntimeException e) {
+            pending.forEach(future -> future.cancel(true));
+            Files.deleteIfExists(target);
+            throw e;
+        }
+    }
+
+    public static void decompress(Path source, Path target) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(source), 64 * 1024);
+             OutputStream out = Files.newOutputStream(target)) {
+            in.transferTo(out);
+        }
+    }
+
+    private static byte[] gzipBlock(byte[] input) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(input.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(input);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Compression interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Compression failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+}
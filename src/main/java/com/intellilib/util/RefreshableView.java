@@ -0,0 +1,10 @@
+package com.intellilib.util;
+
+/**
+ * Controller of a view cached by {@link ViewNavigator}. Called on the FX thread each time the
+ * view is shown again, to reload what may have changed since it was last on screen.
+ */
+public interface RefreshableView {
+
+    void refresh();
+}
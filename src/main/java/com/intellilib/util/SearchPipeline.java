@@ -0,0 +1,207 @@
+package com.intellilib.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import javafx.animation.Animation;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * The search behind a filter field. Each keystroke restarts the debounce; once typing pauses
+ * the query runs on a background executor. A newer query supersedes it: a queued one never
+ * starts, a running one can give up early through {@link #isSuperseded()}, and its result is
+ * dropped, so only the latest result reaches the FX thread. Running queries are not
+ * interrupted, which database calls do not take well.
+ * <p>
+ * The time from a query starting to its result being applied is recorded in the
+ * intellilib.search timer per pipeline, with outcome delivered, superseded or failed.
+ * Created by {@link SearchPipelines}; call from the FX thread.
+ */
+@Slf4j
+public class SearchPipeline<Q, R> {
+
+    public static final String METRIC = "intellilib.search";
+
+    private static final int CANCEL_CHECK_INTERVAL = 256;
+    private static final ThreadLocal<BooleanSupplier> SUPERSEDED = new ThreadLocal<>();
+
+    private final String name;
+    private final Function<Q, Callable<R>> search;
+    private final Consumer<R> onResult;
+    private Consumer<Exception> onError = error -> { };
+    private final ExecutorService executor;
+    private final PauseTransition debounce;
+    private final Timer delivered;
+    private final Timer superseded;
+    private final Timer failed;
+
+    private Q lastQuery;
+    private boolean submitted;
+    private Future<?> running;
+    // Written on the FX thread, read by the running query to tell whether it still matters
+    private volatile long latest;
+
+    SearchPipeline(String name, Duration debounceDelay, ExecutorService executor, MeterRegistry meterRegistry,
+                   Function<Q, Callable<R>> search, Consumer<R> onResult) {
+        this.name = name;
+        this.search = search;
+        this.onResult = onResult;
+        this.executor = executor;
+        this.debounce = new PauseTransition(javafx.util.Duration.millis(debounceDelay.toMillis()));
+        this.debounce.setOnFinished(event -> run());
+        this.delivered = timer(meterRegistry, name, "delivered");
+        this.superseded = timer(meterRegistry, name, "superseded");
+        this.failed = timer(meterRegistry, name, "failed");
+    }
+
+    /**
+     * Called on the FX thread when the latest query fails
+     */
+    public void setOnError(Consumer<Exception> onError) {
+        this.onError = onError;
+    }
+
+    /**
+     * Whether the query running on this thread has been superseded; long searches check it
+     * to give up early
+     */
+    public static boolean isSuperseded() {
+        BooleanSupplier superseded = SUPERSEDED.get();
+        return superseded != null && superseded.getAsBoolean();
+    }
+
+    /**
+     * Run the query once typing pauses
+     */
+    public void submit(Q query) {
+        lastQuery = query;
+        submitted = true;
+        debounce.playFromStart();
+    }
+
+    /**
+     * Run the query at once, e.g. from a search button or a filter combo box
+     */
+    public void submitNow(Q query) {
+        if (debounce.getStatus() == Animation.Status.RUNNING) {
+            debounce.stop();
+        }
+        lastQuery = query;
+        submitted = true;
+        run();
+    }
+
+    /**
+     * Run the last query again at once, e.g. when the data it searches has changed
+     */
+    public void resubmit() {
+        if (submitted) {
+            submitNow(lastQuery);
+        }
+    }
+
+    /**
+     * Drop the pending query and the running one
+     */
+    public void cancel() {
+        debounce.stop();
+        latest++;
+        if (running != null) {
+            running.cancel(false);
+            running = null;
+        }
+    }
+
+    private void run() {
+        // Built on the FX thread, so it can capture FX state such as a snapshot of a list
+        Callable<R> task = search.apply(lastQuery);
+        long query = ++latest;
+        if (running != null) {
+            running.cancel(false);
+        }
+
+        long start = System.nanoTime();
+        try {
+            running = executor.submit(() -> {
+                R result;
+                SUPERSEDED.set(() -> query != latest);
+                try {
+                    result = task.call();
+                } catch (Exception e) {
+                    if (query != latest || e instanceof CancellationException) {
+                        record(superseded, start);
+                        return;
+                    }
+                    log.warn("Search {} failed: {}", name, e.getMessage());
+                    Platform.runLater(() -> {
+                        if (query == latest) {
+                            running = null;
+                            onError.accept(e);
+                        }
+                        record(failed, start);
+                    });
+                    return;
+                } finally {
+                    SUPERSEDED.remove();
+                }
+                Platform.runLater(() -> {
+                    if (query != latest) {
+                        record(superseded, start);
+                        return;
+                    }
+                    running = null;
+                    onResult.accept(result);
+                    record(delivered, start);
+                });
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Search {} not run, executor is shut down", name);
+        }
+    }
+
+    private static void record(Timer timer, long start) {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String pipeline, String outcome) {
+        return Timer.builder(METRIC)
+                .description("Search latency, from the query starting to its result being applied")
+                .tag("pipeline", pipeline)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The matching items, compared by identity; gives up once the query is superseded
+     */
+    static <T> Set<T> matching(List<T> items, Predicate<T> predicate) {
+        Set<T> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < items.size(); i++) {
+            if (i % CANCEL_CHECK_INTERVAL == 0 && isSuperseded()) {
+                throw new CancellationException();
+            }
+            T item = items.get(i);
+            if (predicate.test(item)) {
+                matches.add(item);
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,81 @@
+package com.intellilib.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import javafx.beans.Observable;
+import javafx.collections.transformation.FilteredList;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Creates the {@link SearchPipeline}s behind filter fields, running on the io executor with
+ * the debounce from intellilib.search.debounce-ms
+ */
+@Component
+public class SearchPipelines {
+
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+    private final Duration debounce;
+
+    public SearchPipelines(MeterRegistry meterRegistry, AppExecutors appExecutors,
+                           @Value("${intellilib.search.debounce-ms:250}") long debounceMillis) {
+        this.meterRegistry = meterRegistry;
+        this.executor = appExecutors.io();
+        this.debounce = Duration.ofMillis(debounceMillis);
+    }
+
+    /**
+     * A pipeline whose search is built on the FX thread from the query and run in the background
+     */
+    public <Q, R> SearchPipeline<Q, R> create(String name, Function<Q, Callable<R>> search, Consumer<R> onResult) {
+        return new SearchPipeline<>(name, debounce, executor, meterRegistry, search, onResult);
+    }
+
+    /**
+     * Filter a FilteredList in the background. The matcher turns the search text into a
+     * predicate, or null to show everything; it is applied to a snapshot of the source list.
+     * Items added since the snapshot are tested on the FX thread until the search, which runs
+     * again whenever the source list changes, catches up. onFiltered, if given, runs after each
+     * result is applied.
+     */
+    public <T> SearchPipeline<String, Predicate<T>> filter(String name, FilteredList<T> list,
+                                                          Function<String, Predicate<T>> matcher,
+                                                          Runnable onFiltered) {
+        SearchPipeline<String, Predicate<T>> pipeline = create(name, text -> {
+            Predicate<T> predicate = matcher.apply(text);
+            if (predicate == null) {
+                return () -> null;
+            }
+            List<T> snapshot = List.copyOf(list.getSource());
+            return () -> {
+                Set<T> matches = SearchPipeline.matching(snapshot, predicate);
+                Set<T> searched = Collections.newSetFromMap(new IdentityHashMap<>(snapshot.size()));
+                searched.addAll(snapshot);
+                return item -> searched.contains(item) ? matches.contains(item) : predicate.test(item);
+            };
+        }, predicate -> {
+            list.setPredicate(predicate);
+            if (onFiltered != null) {
+                onFiltered.run();
+            }
+        });
+        list.getSource().addListener((Observable source) -> pipeline.resubmit());
+        return pipeline;
+    }
+
+    public <T> SearchPipeline<String, Predicate<T>> filter(String name, FilteredList<T> list,
+                                                          Function<String, Predicate<T>> matcher) {
+        return filter(name, list, matcher, null);
+    }
+}
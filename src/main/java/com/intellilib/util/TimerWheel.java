@@ -0,0 +1,94 @@
+package com.intellilib.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timer wheel: deadlines are bucketed into a fixed ring of slots, one slot per tick,
+ * and a single caller advances the wheel. Scheduling is an append to a lock-free inbox and
+ * costs the same for one timer or a million; there is no thread or task per timer.
+ * Deadlines further out than one rotation simply stay in their slot for more rounds.
+ * Items fire at most one tick late. There is no cancel: callers check on firing whether the
+ * item is still relevant.
+ */
+public class TimerWheel<T> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<Entry<T>>[] slots;
+    private final Queue<Entry<T>> inbox = new ConcurrentLinkedQueue<>();
+
+    // Last tick that has been processed, only touched under the advance lock
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(Duration tick, int slotCount, long startMillis) {
+        if (tick.toMillis() <= 0) {
+            throw new IllegalArgumentException("tick must be at least 1 ms");
+        }
+        if (slotCount <= 0 || Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("slotCount must be a power of two");
+        }
+        this.tickMillis = tick.toMillis();
+        this.mask = slotCount - 1;
+        this.slots = new List[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new ArrayList<>();
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Fire {@code item} from the first {@link #advance} at or after {@code deadlineMillis}
+     */
+    public void schedule(T item, long deadlineMillis) {
+        inbox.add(new Entry<>(item, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis)));
+    }
+
+    /**
+     * Move the wheel up to {@code nowMillis} and return every item whose deadline has passed
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        long nowTick = nowMillis / tickMillis;
+        drainInbox();
+
+        List<T> due = new ArrayList<>();
+        // After a long pause every slot is visited once, not once per missed tick
+        long ticks = Math.min(nowTick - currentTick, slots.length);
+        for (long tick = currentTick + 1; tick <= currentTick + ticks; tick++) {
+            Iterator<Entry<T>> entries = slots[(int) (tick & mask)].iterator();
+            while (entries.hasNext()) {
+                Entry<T> entry = entries.next();
+                if (entry.deadlineTick <= nowTick) {
+                    due.add(entry.item);
+                    entries.remove();
+                    size--;
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, nowTick);
+        return due;
+    }
+
+    public synchronized int size() {
+        return size + inbox.size();
+    }
+
+    private void drainInbox() {
+        Entry<T> entry;
+        while ((entry = inbox.poll()) != null) {
+            // Overdue entries go into the next slot to be visited
+            long tick = Math.max(entry.deadlineTick, currentTick + 1);
+            slots[(int) (tick & mask)].add(new Entry<>(entry.item, tick));
+            size++;
+        }
+    }
+
+    private record Entry<T>(T item, long deadlineTick) {
+    }
+}
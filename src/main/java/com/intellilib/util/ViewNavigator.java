@@ -0,0 +1,161 @@
+package com.intellilib.util;
+
+import com.intellilib.models.User;
+import com.intellilib.services.UserService;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Group;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves between views inside a window by swapping the scene root, instead of parsing the FXML
+ * again on every visit. A view is loaded once per signed-in user and kept with its controller:
+ * controllers are singletons bound to the nodes of their last load, so a cached view is never
+ * loaded a second time while it is in use. Views shown again get {@link RefreshableView#refresh()}.
+ * <p>
+ * Views can be preloaded on the io executor, since nodes may be built off the FX thread until
+ * they join a showing scene; a view whose controller needs the FX thread to initialize is
+ * loaded on first use instead. All methods must be called on the FX thread.
+ */
+@Component
+@Slf4j
+public class ViewNavigator {
+
+    private final UserService userService;
+    private final ExecutorService executor;
+
+    private final Map<String, View> views = new HashMap<>();
+    private final Map<String, Preload> preloads = new HashMap<>();
+    private Long sessionUserId;
+
+    public ViewNavigator(UserService userService, AppExecutors appExecutors) {
+        this.userService = userService;
+        this.executor = appExecutors.io();
+    }
+
+    /**
+     * Show a view in the given window, from the cache when it was loaded before
+     */
+    public void show(Stage stage, String fxmlPath, String title) throws IOException {
+        long start = System.nanoTime();
+        checkSession();
+
+        View view = views.get(fxmlPath);
+        boolean loadedNow = false;
+        if (view == null) {
+            view = takePreload(fxmlPath);
+            if (view == null) {
+                view = load(fxmlPath);
+                loadedNow = true;
+            }
+            views.put(fxmlPath, view);
+        }
+
+        attach(stage, view.root());
+        stage.setTitle(title);
+
+        // A view loaded just now has read its data in initialize
+        if (!loadedNow && view.controller() instanceof RefreshableView refreshable) {
+            refreshable.refresh();
+        }
+        log.debug("Showed {} in {} ms{}", fxmlPath,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), loadedNow ? " (loaded)" : "");
+    }
+
+    /**
+     * Load views in the background so that the first visit is a swap too
+     */
+    public void preload(String... fxmlPaths) {
+        checkSession();
+        for (String fxmlPath : fxmlPaths) {
+            if (views.containsKey(fxmlPath) || preloads.containsKey(fxmlPath)) {
+                continue;
+            }
+            CompletableFuture<View> view = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return load(fxmlPath);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, executor);
+            preloads.put(fxmlPath, new Preload(sessionUserId, view));
+        }
+    }
+
+    /**
+     * Drop the cached views, e.g. on logout
+     */
+    public void clear() {
+        views.clear();
+        sessionUserId = null;
+        dropFinishedPreloads();
+    }
+
+    // Views hold the data of the user they were loaded for
+    private void checkSession() {
+        User user = userService.getCurrentUser();
+        Long userId = user != null ? user.getId() : null;
+        if (!Objects.equals(userId, sessionUserId)) {
+            views.clear();
+            dropFinishedPreloads();
+            sessionUserId = userId;
+        }
+    }
+
+    // Running preloads stay until taken, so nothing loads their controller in the meantime
+    private void dropFinishedPreloads() {
+        preloads.values().removeIf(preload -> preload.view().isDone());
+    }
+
+    private View takePreload(String fxmlPath) {
+        Preload preload = preloads.remove(fxmlPath);
+        if (preload == null) {
+            return null;
+        }
+        try {
+            // Waiting beats loading again, which would rebind the controller under the preload
+            View view = preload.view().join();
+            return Objects.equals(preload.userId(), sessionUserId) ? view : null;
+        } catch (CompletionException e) {
+            log.debug("Preloading {} failed, loading it on the FX thread: {}", fxmlPath, e.getCause().toString());
+            return null;
+        }
+    }
+
+    private static View load(String fxmlPath) throws IOException {
+        FXMLLoader loader = FXMLLoaderUtil.load(fxmlPath);
+        return new View(loader.getRoot(), loader.getController());
+    }
+
+    private static void attach(Stage stage, Parent root) {
+        Scene scene = stage.getScene();
+        // A node is the root of one scene at most; take it from a window left behind
+        if (root.getScene() != null && root.getScene() != scene) {
+            root.getScene().setRoot(new Group());
+        }
+        if (scene == null) {
+            stage.setScene(new Scene(root));
+        } else if (scene.getRoot() != root) {
+            scene.setRoot(root);
+        }
+    }
+
+    private record View(Parent root, Object controller) {
+    }
+
+    private record Preload(Long userId, CompletableFuture<View> view) {
+    }
+}
@@ -0,0 +1,29 @@
+@echo off
+rem IntelliLib desktop launcher, built by "mvn -Pcds package" into target\app.
+rem
+rem Starts the launcher jar with the Spring AOT bean definitions and the class data sharing
+rem archive from the build's training run. CDS only maps the archive when the class path is the
+rem one it was trained with, so the JVM is started from this directory, which is also where the
+rem database\ and uploads directories are looked up.
+rem
+rem   intellilib.cmd            start the application
+rem   intellilib.cmd --train    run once up to the login screen and rebuild the archive with the
+rem                             JavaFX classes as well
+rem
+rem Extra JVM options can be passed in JAVA_OPTS.
+
+setlocal
+set JAVA=java
+if defined JAVA_HOME set JAVA=%JAVA_HOME%\bin\java
+set JAR=@project.artifactId@-@project.version@-launcher.jar
+set ARCHIVE=@project.artifactId@.jsa
+
+cd /d "%~dp0"
+
+if "%1"=="--train" (
+    shift
+    "%JAVA%" -XX:ArchiveClassesAtExit=%ARCHIVE% -Dspring.aot.enabled=true -Dintellilib.startup.exit=login %JAVA_OPTS% -jar %JAR%
+    goto :eof
+)
+
+"%JAVA%" -XX:SharedArchiveFile=%ARCHIVE% -Xshare:auto -Dspring.aot.enabled=true %JAVA_OPTS% -jar %JAR% %*
@@ -0,0 +1,30 @@
+#!/bin/sh
+# IntelliLib desktop launcher, built by "mvn -Pcds package" into target/app.
+#
+# Starts the launcher jar with the Spring AOT bean definitions and the class data sharing
+# archive from the build's training run. CDS only maps the archive when the class path is the
+# one it was trained with, so the JVM is started from this directory, which is also where the
+# database/ and uploads directories are looked up.
+#
+#   sh intellilib.sh           start the application
+#   sh intellilib.sh --train   run once up to the login screen and rebuild the archive with the
+#                              JavaFX classes as well (needs a display)
+#
+# Extra JVM options can be passed in JAVA_OPTS. Only the desktop configuration is AOT-processed;
+# start the server profile from the repackaged jar instead.
+
+APP_DIR=$(cd "$(dirname "$0")" && pwd)
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+JAR=@project.artifactId@-@project.version@-launcher.jar
+ARCHIVE=@project.artifactId@.jsa
+
+cd "$APP_DIR" || exit 1
+
+if [ "$1" = "--train" ]; then
+    shift
+    exec "$JAVA" -XX:ArchiveClassesAtExit="$ARCHIVE" -Dspring.aot.enabled=true \
+        -Dintellilib.startup.exit=login $JAVA_OPTS -jar "$JAR" "$@"
+fi
+
+exec "$JAVA" -XX:SharedArchiveFile="$ARCHIVE" -Xshare:auto -Dspring.aot.enabled=true \
+    $JAVA_OPTS -jar "$JAR" "$@"
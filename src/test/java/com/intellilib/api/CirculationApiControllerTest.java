@@ -0,0 +1,156 @@
+package com.intellilib.api;
+
+import com.intellilib.app.MainApp;
+import com.intellilib.models.Book;
+import com.intellilib.models.Member;
+import com.intellilib.repositories.BookRepository;
+import com.intellilib.repositories.BorrowRepository;
+import com.intellilib.repositories.MemberRepository;
+import com.intellilib.services.BorrowService;
+import com.intellilib.services.FineService;
+import com.intellilib.services.HoldService;
+import com.intellilib.services.InventoryService;
+import com.intellilib.services.NotificationService;
+import com.intellilib.services.SystemSettingsService;
+import com.intellilib.util.ActivityLogger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checkouts through the API against a real SQLite file. A member the library rules bar from
+ * borrowing is refused on the single and the bulk endpoint alike, and the copy stays on the shelf.
+ */
+@DataJpaTest
+@ContextConfiguration(classes = MainApp.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BorrowService.class, HoldService.class, InventoryService.class, SystemSettingsService.class})
+class CirculationApiControllerTest {
+
+    private static final int COPIES = 2;
+
+    @Autowired private BorrowService borrowService;
+    @Autowired private BookRepository bookRepository;
+    @Autowired private MemberRepository memberRepository;
+    @Autowired private BorrowRepository borrowRepository;
+
+    @MockBean private FineService fineService;
+    @MockBean private ActivityLogger activityLogger;
+    @MockBean private NotificationService notificationService;
+    @MockBean private ApiIdentity apiIdentity;
+
+    private MockMvc mockMvc;
+    private Long bookId;
+    private static int books;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        Path database = Files.createTempFile("circulation-api", ".db");
+        database.toFile().deleteOnExit();
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + database + "?busy_timeout=30000");
+    }
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new CirculationApiController(borrowService, apiIdentity))
+                .setControllerAdvice(new ApiExceptionHandler())
+                .build();
+
+        // Each test gets its own book and member, the database file is shared
+        books++;
+        Book book = new Book("On the shelf", "Author", "978-0-00-00000" + books + "-0");
+        book.setQuantity(COPIES);
+        book.setAvailableCount(COPIES);
+        book.setAvailable(true);
+        bookId = bookRepository.save(book).getId();
+    }
+
+    @Test
+    void bannedMemberCannotBorrowOneBook() throws Exception {
+        Long memberId = saveMember("Banned", member -> member.setIsBanned(true));
+
+        mockMvc.perform(post("/api/borrows")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bookId\": " + bookId + ", \"memberId\": " + memberId + "}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Member cannot borrow books"));
+
+        assertCopiesOnShelf(COPIES);
+        assertThat(borrowRepository.countByMemberId(memberId)).isZero();
+    }
+
+    @Test
+    void bannedMemberCannotBorrowInBulk() throws Exception {
+        Long memberId = saveMember("Banned in bulk", member -> member.setIsBanned(true));
+
+        mockMvc.perform(post("/api/borrows/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bookIds\": [" + bookId + "], \"memberId\": " + memberId + "}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Member cannot borrow books"));
+
+        assertCopiesOnShelf(COPIES);
+    }
+
+    @Test
+    void memberOverTheOverdueLimitCannotBorrow() throws Exception {
+        Long memberId = saveMember("Late", member -> member.setOverdueBooksCount(3));
+
+        mockMvc.perform(post("/api/borrows")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bookId\": " + bookId + ", \"memberId\": " + memberId + "}"))
+                .andExpect(status().isConflict());
+
+        assertCopiesOnShelf(COPIES);
+    }
+
+    @Test
+    void eligibleMemberBorrowsUntilNoCopyIsLeft() throws Exception {
+        Long memberId = saveMember("Eligible", member -> { });
+        String request = "{\"bookId\": " + bookId + ", \"memberId\": " + memberId + "}";
+
+        for (int i = 0; i < COPIES; i++) {
+            mockMvc.perform(post("/api/borrows").contentType(MediaType.APPLICATION_JSON).content(request))
+                    .andExpect(status().isCreated());
+        }
+        mockMvc.perform(post("/api/borrows").contentType(MediaType.APPLICATION_JSON).content(request))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Cannot borrow book"));
+
+        assertCopiesOnShelf(0);
+        assertThat(borrowRepository.countByMemberId(memberId)).isEqualTo(COPIES);
+    }
+
+    private Long saveMember(String name, Consumer<Member> setup) {
+        Member member = new Member(name, name.toLowerCase().replace(' ', '.') + "@example.com", "060000000" + books);
+        setup.accept(member);
+        return memberRepository.save(member).getId();
+    }
+
+    private void assertCopiesOnShelf(int expected) {
+        assertThat(bookRepository.findById(bookId).orElseThrow().getAvailableCount()).isEqualTo(expected);
+    }
+}
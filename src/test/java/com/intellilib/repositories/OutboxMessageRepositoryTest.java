@@ -0,0 +1,121 @@
+package com.intellilib.repositories;
+
+import com.intellilib.app.MainApp;
+import com.intellilib.models.OutboxMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Several dispatchers claim the same due messages at once against a real SQLite file, as the
+ * desktop app and the server profile do when they share one database. Every message must be
+ * claimed by exactly one of them, and a claim left behind by a dead dispatcher must expire.
+ */
+@DataJpaTest
+@ContextConfiguration(classes = MainApp.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxMessageRepositoryTest {
+
+    private static final int MESSAGES = 30;
+    private static final int DISPATCHERS = 6;
+
+    @Autowired private OutboxMessageRepository outboxMessageRepository;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        Path database = Files.createTempFile("outbox-claim", ".db");
+        database.toFile().deleteOnExit();
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + database + "?busy_timeout=30000");
+    }
+
+    @Test
+    void everyDueMessageIsClaimedOnce() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = saveDueMessages(now.minusMinutes(1));
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<List<Long>>> dispatchers = new ArrayList<>();
+        for (int i = 0; i < DISPATCHERS; i++) {
+            dispatchers.add(() -> {
+                String token = UUID.randomUUID().toString();
+                start.await();
+                outboxMessageRepository.claim(ids, token, now, now.plusMinutes(15));
+                return outboxMessageRepository.findByClaimTokenOrderById(token).stream()
+                        .map(OutboxMessage::getId)
+                        .toList();
+            });
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(DISPATCHERS);
+        List<Long> claimed = new ArrayList<>();
+        try {
+            List<Future<List<Long>>> results = dispatchers.stream().map(pool::submit).toList();
+            start.countDown();
+            for (Future<List<Long>> result : results) {
+                claimed.addAll(result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(claimed).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(outboxMessageRepository.findDueMessages(now, PageRequest.of(0, 1000)))
+                .extracting(OutboxMessage::getId)
+                .doesNotContainAnyElementsOf(ids);
+    }
+
+    @Test
+    void abandonedClaimIsDueAgainAfterTheLease() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = saveDueMessages(now.minusMinutes(1));
+        LocalDateTime leaseUntil = now.plusMinutes(15);
+
+        assertThat(outboxMessageRepository.claim(ids, "dead-dispatcher", now, leaseUntil)).isEqualTo(MESSAGES);
+        assertThat(outboxMessageRepository.claim(ids, "second", now, leaseUntil)).isZero();
+
+        // The database file is shared, messages claimed by the other test come back too
+        LocalDateTime afterLease = leaseUntil.plusSeconds(1);
+        assertThat(outboxMessageRepository.findDueMessages(afterLease, PageRequest.of(0, 1000)))
+                .extracting(OutboxMessage::getId)
+                .containsAll(ids);
+        assertThat(outboxMessageRepository.claim(ids, "second", afterLease, afterLease.plusMinutes(15)))
+                .isEqualTo(MESSAGES);
+    }
+
+    private List<Long> saveDueMessages(LocalDateTime dueAt) {
+        List<OutboxMessage> messages = new ArrayList<>();
+        for (int i = 0; i < MESSAGES; i++) {
+            messages.add(OutboxMessage.builder()
+                    .type(OutboxMessage.NotificationType.HOLD_READY)
+                    .recipient("member" + i + "@example.com")
+                    .subject("Hold ready")
+                    .body("Your book is waiting")
+                    .nextAttemptAt(dueAt)
+                    .build());
+        }
+        return outboxMessageRepository.saveAll(messages).stream().map(OutboxMessage::getId).toList();
+    }
+}
@@ -0,0 +1,185 @@
+package com.intellilib.services;
+
+import com.intellilib.services.DatabaseService.BackupManifest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteDataSource;
+
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Incremental backups of a live SQLite file: pages change, rows come and go and the file
+ * shrinks between backups. Every backup in the chain must rebuild into a database with
+ * exactly the rows the live one had when the backup was taken.
+ */
+class DatabaseServiceIncrementalBackupTest {
+
+    private static final int ROWS = 400;
+    private static final int PAYLOAD_BYTES = 600;
+
+    @TempDir
+    private Path directory;
+
+    private Path database;
+    private DatabaseService databaseService;
+    private final Random random = new Random(42);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = directory.resolve("live.db");
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + database);
+        databaseService = new DatabaseService(dataSource, dataSource.getUrl(),
+                directory.resolve("incremental").toString());
+
+        execute("CREATE TABLE pages (id INTEGER PRIMARY KEY, payload BLOB NOT NULL)");
+        insertRows(1, ROWS);
+    }
+
+    @Test
+    void everyBackupInTheChainRebuildsItsRows() throws Exception {
+        BackupManifest base = databaseService.createIncrementalBackup(progress -> { });
+        String baseRows = rowChecksum(database);
+        assertThat(base.getParentId()).isNull();
+        assertThat(base.getChangedPages()).isEqualTo(base.getPageCount());
+
+        // A few rows rewritten: only their pages go into the delta
+        execute("UPDATE pages SET payload = randomblob(" + PAYLOAD_BYTES + ") WHERE id % 50 = 0");
+        BackupManifest updated = databaseService.createIncrementalBackup(progress -> { });
+        String updatedRows = rowChecksum(database);
+        assertThat(updated.getParentId()).isEqualTo(base.getId());
+        assertThat(updated.getChangedPages()).isPositive().isLessThan(updated.getPageCount());
+
+        // Rows appended, the file grows
+        insertRows(ROWS + 1, ROWS / 2);
+        BackupManifest grown = databaseService.createIncrementalBackup(progress -> { });
+        String grownRows = rowChecksum(database);
+        assertThat(grown.getPageCount()).isGreaterThan(updated.getPageCount());
+
+        // Half the rows deleted and the file vacuumed, the rebuild must be cut back
+        execute("DELETE FROM pages WHERE id % 2 = 0");
+        execute("VACUUM");
+        BackupManifest shrunk = databaseService.createIncrementalBackup(progress -> { });
+        String shrunkRows = rowChecksum(database);
+        assertThat(shrunk.getPageCount()).isLessThan(grown.getPageCount());
+        assertThat(shrunk.getChainLength()).isEqualTo(4);
+
+        assertRebuildsTo(base, baseRows);
+        assertRebuildsTo(updated, updatedRows);
+        assertRebuildsTo(grown, grownRows);
+        assertRebuildsTo(shrunk, shrunkRows);
+    }
+
+    @Test
+    void corruptedDeltaFailsVerification() throws Exception {
+        databaseService.createIncrementalBackup(progress -> { });
+        execute("UPDATE pages SET payload = randomblob(" + PAYLOAD_BYTES + ") WHERE id < 20");
+        BackupManifest delta = databaseService.createIncrementalBackup(progress -> { });
+        assertThat(databaseService.verifyIncrementalBackup(delta.getId())).isTrue();
+
+        // Same page numbers, different content
+        Path deltaFile = directory.resolve("incremental").resolve(delta.getDeltaFile());
+        try (DataOutputStream data = new DataOutputStream(new GZIPOutputStream(
+                Files.newOutputStream(deltaFile, StandardOpenOption.TRUNCATE_EXISTING)))) {
+            data.writeInt(delta.getPageSize());
+            data.writeInt(delta.getPageCount());
+            data.writeInt(delta.getPageCount() - 1);
+            data.write(new byte[delta.getPageSize()]);
+            data.writeInt(-1);
+        }
+        assertThat(databaseService.verifyIncrementalBackup(delta.getId())).isFalse();
+
+        // The next backup starts a new chain instead of building on the bad one
+        databaseService.startNewIncrementalChain();
+        BackupManifest rebased = databaseService.createIncrementalBackup(progress -> { });
+        assertThat(rebased.getParentId()).isNull();
+        assertThat(databaseService.verifyIncrementalBackup(rebased.getId())).isTrue();
+    }
+
+    @Test
+    void pruningKeepsOnlyTheNewestChains() throws Exception {
+        BackupManifest oldBase = databaseService.createIncrementalBackup(progress -> { });
+        execute("UPDATE pages SET payload = randomblob(" + PAYLOAD_BYTES + ") WHERE id = 1");
+        databaseService.createIncrementalBackup(progress -> { });
+
+        databaseService.startNewIncrementalChain();
+        BackupManifest newBase = databaseService.createIncrementalBackup(progress -> { });
+        execute("UPDATE pages SET payload = randomblob(" + PAYLOAD_BYTES + ") WHERE id = 2");
+        BackupManifest newDelta = databaseService.createIncrementalBackup(progress -> { });
+
+        assertThat(databaseService.pruneIncrementalBackups(1)).isEqualTo(2);
+        List<BackupManifest> left = databaseService.listIncrementalBackups();
+        assertThat(left).extracting(BackupManifest::getId).containsExactly(newBase.getId(), newDelta.getId());
+        assertThat(Files.exists(directory.resolve("incremental").resolve(oldBase.getDeltaFile()))).isFalse();
+        assertThat(databaseService.verifyIncrementalBackup(newDelta.getId())).isTrue();
+    }
+
+    private void assertRebuildsTo(BackupManifest manifest, String expectedRows) throws Exception {
+        Path rebuilt = directory.resolve(manifest.getId() + ".rebuilt.db");
+        databaseService.restoreIncrementalBackup(manifest.getId(), rebuilt);
+
+        assertThat(sha256(rebuilt)).isEqualTo(manifest.getSnapshotSha256());
+        assertThat(Files.size(rebuilt)).isEqualTo((long) manifest.getPageCount() * manifest.getPageSize());
+        assertThat(databaseService.verifyIntegrity(rebuilt)).isTrue();
+        assertThat(rowChecksum(rebuilt)).isEqualTo(expectedRows);
+        assertThat(databaseService.verifyIncrementalBackup(manifest.getId())).isTrue();
+    }
+
+    private void insertRows(int firstId, int count) throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database);
+             PreparedStatement insert = connection.prepareStatement("INSERT INTO pages (id, payload) VALUES (?, ?)")) {
+            connection.setAutoCommit(false);
+            for (int id = firstId; id < firstId + count; id++) {
+                byte[] payload = new byte[PAYLOAD_BYTES];
+                random.nextBytes(payload);
+                insert.setInt(1, id);
+                insert.setBytes(2, payload);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database);
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    // Digest of every row in id order, independent of how the rows are laid out in pages
+    private static String rowChecksum(Path file) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT id, payload FROM pages ORDER BY id")) {
+            while (rows.next()) {
+                digest.update(Integer.toString(rows.getInt(1)).getBytes());
+                digest.update(rows.getBytes(2));
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String sha256(Path file) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file)));
+    }
+}
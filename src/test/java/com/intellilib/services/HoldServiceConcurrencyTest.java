@@ -0,0 +1,162 @@
+package com.intellilib.services;
+
+import com.intellilib.app.MainApp;
+import com.intellilib.models.Book;
+import com.intellilib.models.Hold;
+import com.intellilib.models.Member;
+import com.intellilib.repositories.BookRepository;
+import com.intellilib.repositories.HoldRepository;
+import com.intellilib.repositories.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Members queue, copies come back and pickup deadlines pass all at once, against a real
+ * SQLite file. With a pickup window of zero days every allocated copy expires on the next
+ * tick and moves down the queue, so copies change hands as often as possible. A copy must
+ * never be allocated twice: shelf copies plus ready holds never exceed the copies returned.
+ */
+@DataJpaTest
+@ContextConfiguration(classes = MainApp.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({HoldService.class, InventoryService.class, SystemSettingsService.class})
+class HoldServiceConcurrencyTest {
+
+    private static final int COPIES = 3;
+    private static final int MEMBERS = 40;
+    private static final int THREADS = 8;
+
+    @Autowired private HoldService holdService;
+    @Autowired private SystemSettingsService systemSettingsService;
+    @Autowired private BookRepository bookRepository;
+    @Autowired private MemberRepository memberRepository;
+    @Autowired private HoldRepository holdRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @MockBean private NotificationService notificationService;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        Path database = Files.createTempFile("hold-concurrency", ".db");
+        database.toFile().deleteOnExit();
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + database + "?busy_timeout=30000");
+        registry.add("intellilib.holds.tick-ms", () -> "1");
+    }
+
+    @Test
+    void copyIsNeverAllocatedTwice() throws Exception {
+        systemSettingsService.updateSetting(SystemSettingsService.HOLD_PICKUP_DAYS, "0");
+
+        // Every copy is out when the queue starts to form
+        Book book = new Book("Contended", "Author", "978-0-00-000000-0");
+        book.setQuantity(COPIES);
+        book.setAvailableCount(0);
+        book.setAvailable(false);
+        Long bookId = bookRepository.save(book).getId();
+
+        List<Long> memberIds = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            memberIds.add(memberRepository.save(
+                    new Member("Member " + i, "member" + i + "@example.com", "06000000" + i)).getId());
+        }
+
+        List<Callable<Object>> tasks = new ArrayList<>();
+        memberIds.forEach(memberId -> tasks.add(() -> holdService.placeHold(bookId, memberId)));
+        for (int i = 0; i < COPIES; i++) {
+            tasks.add(() -> holdService.releaseCopy(bookId));
+        }
+        Collections.shuffle(tasks);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        try {
+            // Expiry ticks run the whole time, passing copies on while holds are placed
+            Future<?> ticker = executor.submit(() -> {
+                start.await();
+                while (running.get()) {
+                    holdService.expireDueHolds();
+                    assertNoCopyAllocatedTwice(bookId);
+                }
+                return null;
+            });
+
+            List<Future<Object>> results = new ArrayList<>();
+            for (Callable<Object> task : tasks) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Object> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+
+            // Every member gets a copy once, then the queue runs dry and the copies are shelved
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+            while (activeHolds(bookId) > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            running.set(false);
+            ticker.get(60, TimeUnit.SECONDS);
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+
+        assertThat(activeHolds(bookId)).isZero();
+        assertThat(holdRepository.countByBookIdAndStatus(bookId, Hold.HoldStatus.EXPIRED)).isEqualTo(MEMBERS);
+        assertThat(bookRepository.findAvailableCount(bookId)).contains(COPIES);
+
+        // Each hold was made ready exactly once
+        ArgumentCaptor<Hold> ready = ArgumentCaptor.forClass(Hold.class);
+        verify(notificationService, atLeastOnce()).sendHoldReadyNotification(any(Member.class), ready.capture());
+        assertThat(ready.getAllValues().stream().map(Hold::getId)).doesNotHaveDuplicates().hasSize(MEMBERS);
+    }
+
+    // One statement, so shelf count and ready holds come from the same snapshot
+    private void assertNoCopyAllocatedTwice(Long bookId) {
+        Integer allocated = jdbcTemplate.queryForObject(
+                "SELECT (SELECT available_count FROM books WHERE id = ?) + " +
+                "(SELECT COUNT(*) FROM holds WHERE book_id = ? AND status = 'READY')",
+                Integer.class, bookId, bookId);
+        assertThat(allocated).isLessThanOrEqualTo(COPIES);
+    }
+
+    private long activeHolds(Long bookId) {
+        return holdRepository.countByBookIdAndStatus(bookId, Hold.HoldStatus.WAITING)
+                + holdRepository.countByBookIdAndStatus(bookId, Hold.HoldStatus.READY);
+    }
+}